@@ -0,0 +1,56 @@
+package com.archipellibre.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import jakarta.persistence.Entity;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.io.IOException;
+
+@Configuration
+public class JsonConfig {
+
+    /**
+     * Refuses to serialize JPA entities, including Hibernate proxies of them.
+     * Responses and push messages are built from the records in
+     * {@code com.archipellibre.dto}; an entity reaching Jackson would walk
+     * its lazy associations and expose columns such as the password hash.
+     * The check runs once per type, when Jackson builds its serializer.
+     */
+    @Bean
+    public SimpleModule entitySerializationGuard() {
+        SimpleModule module = new SimpleModule("EntitySerializationGuard");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                                                      JsonSerializer<?> serializer) {
+                Class<?> type = description.getBeanClass();
+                return AnnotationUtils.findAnnotation(type, Entity.class) != null
+                        ? new EntitySerializer(type)
+                        : serializer;
+            }
+        });
+        return module;
+    }
+
+    private static final class EntitySerializer extends StdSerializer<Object> {
+
+        private final String entityName;
+
+        EntitySerializer(Class<?> type) {
+            super(Object.class);
+            this.entityName = type.getSimpleName();
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            throw JsonMappingException.from(generator,
+                    "Entity " + entityName + " must be mapped to a DTO before serialization");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.archipellibre.config;
+
+import com.archipellibre.persistence.SqlStatementTracker;
+import com.archipellibre.persistence.SqlTimingListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    /**
+     * Hooks per-request SQL tracking into every Hibernate session.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlTrackingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementTracker());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.archipellibre.config;
+
+import com.archipellibre.persistence.ReadWriteRoutingDataSource;
+import com.archipellibre.persistence.ReplicaLagTimestampsCacheFactory;
+import com.archipellibre.persistence.ReplicationLagGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write split, active when {@code app.datasource.replica.jdbc-url} is set;
+ * the replica pool inherits the primary's driver and credentials.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.jdbc-url:}'.isEmpty()")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setUsername(properties.determineUsername());
+        dataSource.setPassword(properties.determinePassword());
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Also a transaction listener: Spring Boot registers it with the JPA
+     * transaction manager.
+     */
+    @Bean
+    public ReplicationLagGuard replicationLagGuard(@Value("${app.datasource.replica-lag:2s}") Duration lag) {
+        return new ReplicationLagGuard(lag);
+    }
+
+    /**
+     * The DataSource everything else uses: Hibernate, Flyway and JDBC
+     * templates. Connections are only taken from a pool at the first
+     * statement, once the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicationLagGuard lagGuard, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, lagGuard, meterRegistry));
+    }
+
+    /**
+     * Hibernate otherwise keeps a session's first connection until the session
+     * closes. With open-in-view that is the end of the request, so a write
+     * following a read-only transaction would reuse the replica connection.
+     * The query cache also has to allow for the lag, see
+     * {@link ReplicaLagTimestampsCacheFactory}.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaRoutingCustomizer(
+            @Value("${app.datasource.replica-lag:2s}") Duration lag) {
+        return properties -> {
+            properties.put(AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            properties.put(AvailableSettings.QUERY_CACHE_FACTORY, new ReplicaLagTimestampsCacheFactory(lag));
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.archipellibre.config;
+
+import com.archipellibre.persistence.ConnectionAdmissionDataSource;
+import com.archipellibre.persistence.ReadWriteRoutingDataSource;
+import com.archipellibre.persistence.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Guards that only apply when requests run on virtual threads
+ * ({@code spring.threads.virtual.enabled=true}).
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    /**
+     * Wraps each Hikari pool so that at most pool size + max-connection-waiters
+     * threads hold or wait for one of its connections. With a replica
+     * configured the routing DataSource is left alone: its two pools are
+     * wrapped individually.
+     */
+    @Bean
+    public static BeanPostProcessor connectionAdmissionPostProcessor(
+            @Value("${app.virtual-threads.max-connection-waiters:200}") int maxWaiters,
+            @Value("${app.virtual-threads.connection-admission-timeout:500}") long admissionTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionAdmissionDataSource)
+                        && DataSourceUnwrapper.unwrap(dataSource, ReadWriteRoutingDataSource.class) == null) {
+                    HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+                    if (hikari != null) {
+                        String pool = hikari.getPoolName() != null ? hikari.getPoolName() : beanName;
+                        return new ConnectionAdmissionDataSource(dataSource, pool,
+                                hikari.getMaximumPoolSize() + maxWaiters, admissionTimeoutMs);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionAdmissionMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream().forEach(dataSource -> {
+            if (dataSource instanceof ConnectionAdmissionDataSource admission) {
+                admission.bindTo(registry);
+            }
+        });
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinning-threshold:20ms}") Duration threshold, MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+}
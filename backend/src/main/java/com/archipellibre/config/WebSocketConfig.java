@@ -0,0 +1,28 @@
+package com.archipellibre.config;
+
+import com.archipellibre.push.PushHandshakeInterceptor;
+import com.archipellibre.push.PushWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Push channel endpoint. Authentication happens in the security filter chain
+ * like any other request; same-origin handshakes are always accepted.
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private PushWebSocketHandler pushWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(pushWebSocketHandler, PushWebSocketHandler.PATH)
+                .addInterceptors(new PushHandshakeInterceptor())
+                .setAllowedOrigins(SecurityConfig.ALLOWED_ORIGINS.toArray(String[]::new));
+    }
+}
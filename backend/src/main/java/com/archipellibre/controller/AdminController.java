@@ -0,0 +1,87 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.dto.ProposalReviewRequest;
+import com.archipellibre.recommend.RecommendationRebuildService;
+import com.archipellibre.search.SearchReindexService;
+import com.archipellibre.security.PrincipalCache;
+import com.archipellibre.security.UserPrincipal;
+import com.archipellibre.service.ForumStatsService;
+import com.archipellibre.service.UserImportService;
+import com.archipellibre.service.WorkshopReviewService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private ForumStatsService forumStatsService;
+
+    @Autowired
+    private SearchReindexService searchReindexService;
+
+    @Autowired
+    private WorkshopReviewService workshopReviewService;
+
+    @Autowired
+    private RecommendationRebuildService recommendationRebuildService;
+
+    @GetMapping("/security/principal-cache")
+    public ResponseEntity<?> principalCacheStats() {
+        return ResponseEntity.ok(principalCache.stats());
+    }
+
+    @PostMapping("/forum/stats/rebuild")
+    public ResponseEntity<?> rebuildForumStats() {
+        return ResponseEntity.ok(forumStatsService.rebuild());
+    }
+
+    @PostMapping("/search/reindex")
+    public ResponseEntity<?> reindexSearch() {
+        return ResponseEntity.ok(searchReindexService.reindex());
+    }
+
+    @PostMapping("/recommendations/rebuild")
+    public ResponseEntity<?> rebuildRecommendations() {
+        return ResponseEntity.ok(recommendationRebuildService.rebuild());
+    }
+
+    @PostMapping("/workshops/{proposalId}/review")
+    public ResponseEntity<?> reviewProposal(@PathVariable UUID proposalId,
+                                            @Valid @RequestBody ProposalReviewRequest request,
+                                            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(workshopReviewService.review(proposalId, request.getStatus(), principal));
+    }
+
+    /**
+     * Bulk member import. The body is streamed as CSV
+     * ({@code username,email,password[,role]}, optional header) or NDJSON.
+     */
+    @PostMapping(value = "/users/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importUsers(@RequestHeader("Content-Type") String contentType,
+                                         InputStream body) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(contentType)
+                .isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+
+        return ResponseEntity.ok(userImportService.importUsers(body, format));
+    }
+}
@@ -4,19 +4,37 @@ import com.archipellibre.dto.ApiResponse;
 import com.archipellibre.dto.JwtResponse;
 import com.archipellibre.dto.LoginRequest;
 import com.archipellibre.dto.RegisterRequest;
+import com.archipellibre.dto.TokenRefreshRequest;
 import com.archipellibre.model.User;
 import com.archipellibre.model.UserRole;
+import com.archipellibre.outbox.OutboxPublisher;
+import com.archipellibre.outbox.UserRegistered;
 import com.archipellibre.repository.UserRepository;
 import com.archipellibre.security.JwtTokenProvider;
+import com.archipellibre.security.LoginAttemptThrottle;
+import com.archipellibre.security.LoginThrottledException;
+import com.archipellibre.security.PasswordHashingUnavailableException;
+import com.archipellibre.security.TokenRevocationList;
+import com.archipellibre.security.TokenVerification;
+import com.archipellibre.security.UserDetailsServiceImpl;
+import com.archipellibre.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AccountStatusException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -35,30 +53,87 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsernameOrEmail(),
-                        loginRequest.getPassword()
-                )
-        );
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ResponseEntity<JwtResponse> response = authenticate(loginRequest, request);
+            outcome = "success";
+            return response;
+        } catch (RuntimeException ex) {
+            outcome = loginOutcome(ex);
+            throw ex;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.login", "outcome", outcome));
+        }
+    }
+
+    private ResponseEntity<JwtResponse> authenticate(LoginRequest loginRequest, HttpServletRequest request) {
+        String account = loginRequest.getUsernameOrEmail();
+        // The client's address: Tomcat resolves it from X-Forwarded-For set by trusted proxies
+        String clientIp = request.getRemoteAddr();
+        loginAttemptThrottle.acquire(account, clientIp);
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            account,
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException ex) {
+            // The attempt acquired above stays counted
+            throw ex;
+        } catch (RuntimeException ex) {
+            loginAttemptThrottle.release(account, clientIp);
+            throw ex;
+        }
+        loginAttemptThrottle.recordSuccess(account, clientIp);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = tokenProvider.generateToken(authentication);
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
         return ResponseEntity.ok(new JwtResponse(
                 jwt,
-                user.getUsername(),
-                user.getEmail(),
-                user.getRole().name()
+                tokenProvider.generateRefreshToken(principal.getUsername()),
+                principal.getUsername(),
+                principal.getEmail(),
+                principal.getRole().name()
         ));
     }
 
+    private static String loginOutcome(RuntimeException ex) {
+        return switch (ex) {
+            case BadCredentialsException e -> "bad_credentials";
+            case AccountStatusException e -> "disabled";
+            case LoginThrottledException e -> "throttled";
+            case PasswordHashingUnavailableException e -> "unavailable";
+            default -> "error";
+        };
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
         if (userRepository.existsByUsername(registerRequest.getUsername())) {
@@ -79,8 +154,71 @@ public class AuthController {
                 .active(true)
                 .build();
 
-        userRepository.save(user);
+        transactionTemplate.executeWithoutResult(status -> {
+            User saved = userRepository.save(user);
+            outboxPublisher.publish(new UserRegistered(saved.getId(), saved.getUsername()));
+        });
 
         return ResponseEntity.ok(new ApiResponse(true, "User registered successfully"));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody TokenRefreshRequest refreshRequest) {
+        TokenVerification verification = tokenProvider.verify(refreshRequest.getRefreshToken());
+        if (!verification.isValid()) {
+            return invalidRefreshToken();
+        }
+
+        Claims claims = verification.claims();
+        if (!JwtTokenProvider.TOKEN_TYPE_REFRESH.equals(claims.get(JwtTokenProvider.CLAIM_TOKEN_TYPE))
+                || tokenRevocationList.isTokenRevoked(claims.getId(), claims.getExpiration())) {
+            return invalidRefreshToken();
+        }
+
+        // Refresh is the one place that re-reads the user, so role and active changes land here
+        User user = userRepository.findByUsername(claims.getSubject())
+                .filter(User::getActive)
+                .orElse(null);
+        if (user == null) {
+            return invalidRefreshToken();
+        }
+
+        // Rotate: each refresh token can be exchanged only once, even by concurrent requests
+        if (!tokenRevocationList.revoke(claims.getId(), claims.getExpiration())) {
+            return invalidRefreshToken();
+        }
+
+        return ResponseEntity.ok(new JwtResponse(
+                tokenProvider.generateAccessToken(userDetailsService.toUserDetails(user)),
+                tokenProvider.generateRefreshToken(user.getUsername()),
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole().name()
+        ));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    @RequestBody(required = false) TokenRefreshRequest refreshRequest) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            revoke(authorization.substring(7));
+        }
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            revoke(refreshRequest.getRefreshToken());
+        }
+
+        return ResponseEntity.ok(new ApiResponse(true, "Logged out successfully"));
+    }
+
+    private void revoke(String token) {
+        TokenVerification verification = tokenProvider.verify(token);
+        if (verification.isValid()) {
+            tokenRevocationList.revoke(verification.claims().getId(), verification.claims().getExpiration());
+        }
+    }
+
+    private ResponseEntity<ApiResponse> invalidRefreshToken() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse(false, "Invalid refresh token"));
+    }
 }
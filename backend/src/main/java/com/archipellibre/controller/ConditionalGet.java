@@ -0,0 +1,65 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.service.ResourceVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET support: the version is looked up first, so a matching
+ * If-None-Match or If-Modified-Since gets a 304 without loading the body.
+ */
+@Component
+public class ConditionalGet {
+
+    private final CacheControl publicCacheControl;
+    private final CacheControl privateCacheControl;
+
+    public ConditionalGet(@Value("${app.http-cache.max-age:0s}") Duration maxAge,
+                          @Value("${app.http-cache.shared-max-age:10s}") Duration sharedMaxAge) {
+        this.publicCacheControl = CacheControl.maxAge(maxAge).sMaxAge(sharedMaxAge).cachePublic();
+        this.privateCacheControl = CacheControl.maxAge(maxAge).cachePrivate();
+    }
+
+    public <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        return respond(request, version, publicCacheControl, null, body);
+    }
+
+    /**
+     * For bodies not written by a message converter, such as a streamed
+     * {@code StreamingResponseBody}, which must declare their content type.
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version, MediaType contentType,
+                                         Supplier<T> body) {
+        return respond(request, version, publicCacheControl, contentType, body);
+    }
+
+    public <T> ResponseEntity<T> respondPrivate(WebRequest request, ResourceVersion version, MediaType contentType,
+                                                Supplier<T> body) {
+        return respond(request, version, privateCacheControl, contentType, body);
+    }
+
+    private <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version, CacheControl cacheControl,
+                                          MediaType contentType, Supplier<T> body) {
+        long lastModified = version.lastModified() == null ? -1 : version.lastModified().toEpochMilli();
+        if (request.checkNotModified(version.etag(), lastModified)) {
+            // checkNotModified has already set the ETag and Last-Modified headers
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(cacheControl).eTag(version.etag());
+        if (version.lastModified() != null) {
+            response.lastModified(version.lastModified());
+        }
+        if (contentType != null) {
+            response.contentType(contentType);
+        }
+        return response.body(body.get());
+    }
+}
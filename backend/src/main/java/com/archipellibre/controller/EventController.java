@@ -0,0 +1,75 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.dto.CalendarResponse;
+import com.archipellibre.recommend.EventRecommender;
+import com.archipellibre.security.UserPrincipal;
+import com.archipellibre.service.EventCalendarService;
+import com.archipellibre.service.EventRegistrationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventCalendarService calendarService;
+
+    @Autowired
+    private EventRecommender recommender;
+
+    @Autowired
+    private ConditionalGet conditionalGet;
+
+    /**
+     * Events overlapping [from, to), grouped by day, week or month. When more
+     * than {@code limit} events match, pass the returned continuation token to
+     * fetch the rest.
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<?> calendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") CalendarResponse.Granularity granularity,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String continuation,
+            WebRequest request) {
+        return conditionalGet.respond(request, calendarService.calendarVersion(from, to),
+                () -> calendarService.getCalendar(from, to, granularity, limit, continuation));
+    }
+
+    /**
+     * Upcoming events the caller has not joined, most similar first to the
+     * events they have. Answered from memory, without a database query.
+     */
+    @GetMapping("/recommended")
+    public ResponseEntity<?> recommended(@RequestParam(defaultValue = "10") int limit,
+                                         @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(recommender.recommend(principal.getId(), limit));
+    }
+
+    @GetMapping("/{eventId}")
+    public ResponseEntity<?> getEvent(@PathVariable UUID eventId) {
+        return ResponseEntity.ok(calendarService.getEvent(eventId));
+    }
+
+    @PostMapping("/{eventId}/registration")
+    public ResponseEntity<?> join(@PathVariable UUID eventId, @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(registrationService.join(eventId, principal.getId()));
+    }
+
+    @DeleteMapping("/{eventId}/registration")
+    public ResponseEntity<?> leave(@PathVariable UUID eventId, @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(registrationService.leave(eventId, principal.getId()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.dto.FeedTokenResponse;
+import com.archipellibre.feed.EventFeedService;
+import com.archipellibre.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * iCalendar feeds for calendar apps. Member feeds take the token from
+ * {@code POST /api/events/feed/token} as a query parameter.
+ */
+@RestController
+@RequestMapping("/api/events/feed")
+public class EventFeedController {
+
+    static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    @Autowired
+    private EventFeedService feedService;
+
+    @Autowired
+    private ConditionalGet conditionalGet;
+
+    @GetMapping("/public.ics")
+    public ResponseEntity<StreamingResponseBody> publicFeed(WebRequest request) {
+        return conditionalGet.respond(request, feedService.version(EventFeedService.Feed.PUBLIC, null),
+                TEXT_CALENDAR, () -> out -> feedService.write(EventFeedService.Feed.PUBLIC, null, out));
+    }
+
+    @GetMapping("/participating.ics")
+    public ResponseEntity<StreamingResponseBody> participatingFeed(@RequestParam String token, WebRequest request) {
+        return memberFeed(EventFeedService.Feed.PARTICIPATING, token, request);
+    }
+
+    @GetMapping("/organized.ics")
+    public ResponseEntity<StreamingResponseBody> organizedFeed(@RequestParam String token, WebRequest request) {
+        return memberFeed(EventFeedService.Feed.ORGANIZED, token, request);
+    }
+
+    @PostMapping("/token")
+    public ResponseEntity<?> issueToken(@AuthenticationPrincipal UserPrincipal principal) {
+        String token = feedService.issueToken(principal);
+        return ResponseEntity.ok(new FeedTokenResponse(token,
+                "/api/events/feed/participating.ics?token=" + token,
+                "/api/events/feed/organized.ics?token=" + token));
+    }
+
+    private ResponseEntity<StreamingResponseBody> memberFeed(EventFeedService.Feed feed, String token,
+                                                             WebRequest request) {
+        UUID userId = feedService.ownerOf(token);
+        return conditionalGet.respondPrivate(request, feedService.version(feed, userId), TEXT_CALENDAR,
+                () -> out -> feedService.write(feed, userId, out));
+    }
+}
@@ -0,0 +1,66 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.dto.ApiResponse;
+import com.archipellibre.dto.EventOccurrenceRequest;
+import com.archipellibre.dto.EventSeriesRequest;
+import com.archipellibre.security.UserPrincipal;
+import com.archipellibre.service.EventSeriesService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Recurring events. Occurrences are addressed by their start, e.g.
+ * {@code /api/events/series/{id}/occurrences/2027-03-02T18:30}.
+ */
+@RestController
+@RequestMapping("/api/events/series")
+public class EventSeriesController {
+
+    @Autowired
+    private EventSeriesService seriesService;
+
+    @PostMapping
+    public ResponseEntity<?> createSeries(@Valid @RequestBody EventSeriesRequest request,
+                                          @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(seriesService.createSeries(request, principal));
+    }
+
+    @GetMapping("/{seriesId}")
+    public ResponseEntity<?> getSeries(@PathVariable UUID seriesId) {
+        return ResponseEntity.ok(seriesService.getSeries(seriesId));
+    }
+
+    @PutMapping("/{seriesId}/occurrences/{occurrenceStart}")
+    public ResponseEntity<?> updateOccurrence(
+            @PathVariable UUID seriesId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceStart,
+            @Valid @RequestBody EventOccurrenceRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(seriesService.updateOccurrence(seriesId, occurrenceStart, request, principal));
+    }
+
+    @DeleteMapping("/{seriesId}/occurrences/{occurrenceStart}")
+    public ResponseEntity<?> cancelOccurrence(
+            @PathVariable UUID seriesId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceStart,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        seriesService.cancelOccurrence(seriesId, occurrenceStart, principal);
+        return ResponseEntity.ok(new ApiResponse(true, "Occurrence cancelled"));
+    }
+
+    @PostMapping("/{seriesId}/occurrences/{occurrenceStart}/registration")
+    public ResponseEntity<?> joinOccurrence(
+            @PathVariable UUID seriesId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceStart,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(seriesService.joinOccurrence(seriesId, occurrenceStart, principal.getId()));
+    }
+}
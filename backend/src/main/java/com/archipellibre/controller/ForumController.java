@@ -0,0 +1,96 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.dto.ApiResponse;
+import com.archipellibre.dto.ForumPostRequest;
+import com.archipellibre.dto.ForumThreadRequest;
+import com.archipellibre.security.UserPrincipal;
+import com.archipellibre.service.ForumService;
+import com.archipellibre.service.ResourceNotFoundException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/forum")
+public class ForumController {
+
+    @Autowired
+    private ForumService forumService;
+
+    @Autowired
+    private ConditionalGet conditionalGet;
+
+    @GetMapping("/categories")
+    public ResponseEntity<?> listCategories(WebRequest request) {
+        return conditionalGet.respond(request, forumService.listingVersion(), forumService::listCategories);
+    }
+
+    /**
+     * Threads by most recent activity. Pass {@code nextCursor} from the
+     * previous response as {@code cursor} to fetch the following page.
+     */
+    @GetMapping("/threads")
+    public ResponseEntity<?> listThreads(@RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String cursor,
+                                         WebRequest request) {
+        return conditionalGet.respond(request, forumService.listingVersion(),
+                () -> forumService.listThreads(limit, cursor));
+    }
+
+    @GetMapping("/threads/{threadId}")
+    public ResponseEntity<?> getThread(@PathVariable UUID threadId, WebRequest request) {
+        return forumService.threadVersion(threadId)
+                .<ResponseEntity<?>>map(version -> conditionalGet.respond(request, version,
+                        () -> forumService.getThread(threadId)))
+                .orElseThrow(() -> new ResourceNotFoundException("Thread not found"));
+    }
+
+    @GetMapping("/threads/{threadId}/posts")
+    public ResponseEntity<?> listPosts(@PathVariable UUID threadId,
+                                       @RequestParam(required = false) Integer limit,
+                                       @RequestParam(required = false) String cursor,
+                                       WebRequest request) {
+        return forumService.threadVersion(threadId)
+                .<ResponseEntity<?>>map(version -> conditionalGet.respond(request, version,
+                        () -> forumService.listPosts(threadId, limit, cursor)))
+                .orElseThrow(() -> new ResourceNotFoundException("Thread not found"));
+    }
+
+    @PostMapping("/threads")
+    public ResponseEntity<?> createThread(@Valid @RequestBody ForumThreadRequest request,
+                                          @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(forumService.createThread(request, principal));
+    }
+
+    @DeleteMapping("/threads/{threadId}")
+    public ResponseEntity<?> deleteThread(@PathVariable UUID threadId,
+                                          @AuthenticationPrincipal UserPrincipal principal) {
+        forumService.deleteThread(threadId, principal);
+        return ResponseEntity.ok(new ApiResponse(true, "Thread deleted"));
+    }
+
+    @PostMapping("/threads/{threadId}/posts")
+    public ResponseEntity<?> createPost(@PathVariable UUID threadId,
+                                        @Valid @RequestBody ForumPostRequest request,
+                                        @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(forumService.createPost(threadId, request, principal));
+    }
+
+    @GetMapping("/posts/{postId}")
+    public ResponseEntity<?> getPost(@PathVariable UUID postId) {
+        return ResponseEntity.ok(forumService.getPost(postId));
+    }
+
+    @DeleteMapping("/posts/{postId}")
+    public ResponseEntity<?> deletePost(@PathVariable UUID postId,
+                                        @AuthenticationPrincipal UserPrincipal principal) {
+        forumService.deletePost(postId, principal);
+        return ResponseEntity.ok(new ApiResponse(true, "Post deleted"));
+    }
+}
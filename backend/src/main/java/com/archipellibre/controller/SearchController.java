@@ -0,0 +1,31 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.search.SearchIndex;
+import com.archipellibre.search.SearchType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    /**
+     * Ranked full-text search. {@code q} accepts quoted phrases, {@code -}
+     * exclusions and trailing {@code *} prefixes; {@code types} narrows the
+     * result to some of EVENT, THREAD, POST and WORKSHOP.
+     */
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) Set<SearchType> types,
+                                    @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchIndex.search(q, types, Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+}
@@ -0,0 +1,26 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.security.UserPrincipal;
+import com.archipellibre.service.UserProfileService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+
+    @Autowired
+    private UserProfileService profileService;
+
+    @GetMapping("/me")
+    public ResponseEntity<?> me(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(profileService.getProfile(principal.getUsername()));
+    }
+
+    @GetMapping("/{username}")
+    public ResponseEntity<?> profile(@PathVariable String username) {
+        return ResponseEntity.ok(profileService.getProfile(username));
+    }
+}
@@ -0,0 +1,64 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.model.ProposalStatus;
+import com.archipellibre.security.UserPrincipal;
+import com.archipellibre.service.WorkshopProposalService;
+import com.archipellibre.service.WorkshopVoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/workshops")
+public class WorkshopController {
+
+    @Autowired
+    private WorkshopVoteService voteService;
+
+    @Autowired
+    private WorkshopProposalService proposalService;
+
+    @Autowired
+    private ConditionalGet conditionalGet;
+
+    /**
+     * Proposals with the given status, newest first. Pass {@code nextCursor}
+     * from the previous response as {@code cursor} to fetch the following page.
+     */
+    @GetMapping
+    public ResponseEntity<?> listProposals(@RequestParam(defaultValue = "PENDING") ProposalStatus status,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(proposalService.listProposals(status, limit, cursor));
+    }
+
+    @GetMapping("/{proposalId}")
+    public ResponseEntity<?> getProposal(@PathVariable UUID proposalId) {
+        return ResponseEntity.ok(proposalService.getProposal(proposalId));
+    }
+
+    /**
+     * Most voted proposals with the given status, served from memory.
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> leaderboard(@RequestParam(defaultValue = "PENDING") ProposalStatus status,
+                                         @RequestParam(defaultValue = "10") int limit,
+                                         WebRequest request) {
+        return conditionalGet.respond(request, voteService.leaderboardVersion(),
+                () -> voteService.leaderboard(status, limit));
+    }
+
+    @PostMapping("/{proposalId}/vote")
+    public ResponseEntity<?> vote(@PathVariable UUID proposalId, @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(voteService.vote(proposalId, principal.getId()));
+    }
+
+    @DeleteMapping("/{proposalId}/vote")
+    public ResponseEntity<?> unvote(@PathVariable UUID proposalId, @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(voteService.unvote(proposalId, principal.getId()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.archipellibre.dto;
+
+import com.archipellibre.model.EventStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Calendar cell projection, selected directly by JPQL. Expanded series
+ * occurrences have no {@code id} and are addressed by series and start.
+ */
+public record CalendarEventView(
+        UUID id,
+        String title,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String location,
+        EventStatus status,
+        Integer participantCount,
+        String organizerName,
+        UUID seriesId,
+        LocalDateTime occurrenceStart
+) {
+}
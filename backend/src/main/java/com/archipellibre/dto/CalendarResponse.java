@@ -0,0 +1,36 @@
+package com.archipellibre.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarResponse {
+
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    private LocalDate from;
+    private LocalDate to;
+    private Granularity granularity;
+    private List<Bucket> buckets = new ArrayList<>();
+    private boolean truncated;
+    private String continuationToken;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private LocalDate start;
+        private List<CalendarEventView> events = new ArrayList<>();
+    }
+}
@@ -0,0 +1,26 @@
+package com.archipellibre.dto;
+
+import com.archipellibre.model.EventStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Event page. Participants are not listed, only counted.
+ */
+public record EventDetail(
+        UUID id,
+        String title,
+        String description,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String location,
+        String imageUrl,
+        EventStatus status,
+        Integer maxParticipants,
+        Integer participantCount,
+        String organizerName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
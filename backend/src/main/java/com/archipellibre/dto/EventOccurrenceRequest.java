@@ -0,0 +1,35 @@
+package com.archipellibre.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Changes to one occurrence of a series. Fields left null keep the series'
+ * values, or the occurrence's earlier override.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventOccurrenceRequest {
+
+    @Size(min = 3, max = 200)
+    private String title;
+
+    @Size(max = 5000)
+    private String description;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    @Size(max = 255)
+    private String location;
+
+    @Min(0)
+    private Integer maxParticipants;
+}
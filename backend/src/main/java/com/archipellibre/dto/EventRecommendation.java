@@ -0,0 +1,17 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An upcoming event suggested to a member. {@code score} sums its similarity
+ * to the events they joined; 0 means it was picked for popularity alone.
+ */
+public record EventRecommendation(
+        UUID eventId,
+        String title,
+        LocalDateTime startTime,
+        int participantCount,
+        double score
+) {
+}
@@ -0,0 +1,25 @@
+package com.archipellibre.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventRegistrationResponse {
+
+    public enum Status {
+        REGISTERED,
+        WAITLISTED,
+        NOT_REGISTERED
+    }
+
+    private UUID eventId;
+    private Status status;
+    private Integer participantCount;
+    private Integer maxParticipants;
+    private Long waitlistPosition;
+}
@@ -0,0 +1,23 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A series as created. {@code lastEndTime} is null when it never ends.
+ */
+public record EventSeriesDetail(
+        UUID id,
+        String title,
+        String description,
+        String location,
+        String imageUrl,
+        Integer maxParticipants,
+        LocalDateTime firstStartTime,
+        LocalDateTime firstEndTime,
+        String recurrence,
+        LocalDateTime lastEndTime,
+        String organizerName,
+        LocalDateTime createdAt
+) {
+}
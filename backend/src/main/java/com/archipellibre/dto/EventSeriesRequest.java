@@ -0,0 +1,48 @@
+package com.archipellibre.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A recurring event: the first occurrence, and an RRULE such as
+ * {@code FREQ=WEEKLY;BYDAY=TU;UNTIL=20271231} for the rest.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSeriesRequest {
+
+    @NotBlank
+    @Size(min = 3, max = 200)
+    private String title;
+
+    @NotBlank
+    @Size(max = 5000)
+    private String description;
+
+    @NotNull
+    private LocalDateTime startTime;
+
+    @NotNull
+    private LocalDateTime endTime;
+
+    @Size(max = 255)
+    private String location;
+
+    @Size(max = 255)
+    private String imageUrl;
+
+    @Min(0)
+    private int maxParticipants;
+
+    @NotBlank
+    @Size(max = 255)
+    private String recurrence;
+}
@@ -0,0 +1,19 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * What the calendar needs to expand a series, selected directly by JPQL.
+ */
+public record EventSeriesView(
+        UUID id,
+        String title,
+        String location,
+        LocalDateTime firstStart,
+        Integer durationMinutes,
+        String recurrenceRule,
+        LocalDateTime lastEnd,
+        String organizerName
+) {
+}
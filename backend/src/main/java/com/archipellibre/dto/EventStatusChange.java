@@ -0,0 +1,15 @@
+package com.archipellibre.dto;
+
+import com.archipellibre.model.EventStatus;
+
+import java.util.UUID;
+
+/**
+ * Pushed when an event moves to another {@link EventStatus}.
+ */
+public record EventStatusChange(
+        UUID eventId,
+        EventStatus status,
+        EventStatus previousStatus
+) {
+}
@@ -0,0 +1,21 @@
+package com.archipellibre.dto;
+
+import com.archipellibre.model.EventStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One VEVENT of an iCalendar feed, selected directly by JPQL.
+ */
+public record FeedEventView(
+        UUID id,
+        String title,
+        String description,
+        String location,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        EventStatus status,
+        LocalDateTime updatedAt
+) {
+}
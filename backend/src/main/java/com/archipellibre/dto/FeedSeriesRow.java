@@ -0,0 +1,21 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A series with one of its exceptions, selected directly by JPQL: a series
+ * comes back once per exception, or once with a null {@code exception}.
+ */
+public record FeedSeriesRow(
+        UUID id,
+        String title,
+        String description,
+        String location,
+        LocalDateTime firstStart,
+        Integer durationMinutes,
+        String recurrenceRule,
+        LocalDateTime updatedAt,
+        LocalDateTime exception
+) {
+}
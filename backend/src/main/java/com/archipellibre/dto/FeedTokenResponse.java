@@ -0,0 +1,17 @@
+package com.archipellibre.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Subscription paths for a member's calendar app, each carrying the feed token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedTokenResponse {
+    private String token;
+    private String participatingFeed;
+    private String organizedFeed;
+}
@@ -0,0 +1,15 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Category overview row, selected directly by JPQL.
+ */
+public record ForumCategorySummary(
+        String category,
+        Long threadCount,
+        Long postCount,
+        LocalDateTime lastActivityAt,
+        String lastPostAuthor
+) {
+}
@@ -0,0 +1,17 @@
+package com.archipellibre.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ForumPostRequest {
+
+    @NotBlank
+    @Size(max = 10000)
+    private String content;
+}
@@ -0,0 +1,17 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Post as shown in a thread, selected directly by JPQL.
+ */
+public record ForumPostView(
+        UUID id,
+        String content,
+        String authorName,
+        Boolean edited,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,24 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Thread header with its opening content, selected directly by JPQL. The
+ * replies are paged separately.
+ */
+public record ForumThreadDetail(
+        UUID id,
+        String title,
+        String content,
+        String category,
+        Boolean pinned,
+        Boolean locked,
+        String creatorName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime lastActivityAt,
+        Integer postCount,
+        String lastPostAuthor
+) {
+}
@@ -0,0 +1,25 @@
+package com.archipellibre.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ForumThreadRequest {
+
+    @NotBlank
+    @Size(min = 3, max = 200)
+    private String title;
+
+    @NotBlank
+    @Size(max = 10000)
+    private String content;
+
+    @NotBlank
+    @Size(max = 50)
+    private String category;
+}
@@ -0,0 +1,21 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Thread list row, selected directly by JPQL.
+ */
+public record ForumThreadSummary(
+        UUID id,
+        String title,
+        String category,
+        Boolean pinned,
+        Boolean locked,
+        String creatorName,
+        LocalDateTime createdAt,
+        LocalDateTime lastActivityAt,
+        Integer postCount,
+        String lastPostAuthor
+) {
+}
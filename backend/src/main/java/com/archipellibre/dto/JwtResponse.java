@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class JwtResponse {
     private String accessToken;
+    private String refreshToken;
     private String tokenType = "Bearer";
     private String username;
     private String email;
@@ -20,4 +21,9 @@ public class JwtResponse {
         this.email = email;
         this.role = role;
     }
+
+    public JwtResponse(String accessToken, String refreshToken, String username, String email, String role) {
+        this(accessToken, username, email, role);
+        this.refreshToken = refreshToken;
+    }
 }
@@ -0,0 +1,13 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Undelivered outbox events: how many, and when the oldest was written
+ * (null when there are none).
+ */
+public record OutboxBacklog(
+        long pending,
+        LocalDateTime oldestCreatedAt
+) {
+}
@@ -0,0 +1,15 @@
+package com.archipellibre.dto;
+
+import java.util.UUID;
+
+/**
+ * Oldest pending outbox event of an aggregate and the number of its pending
+ * events up to a given id, selected directly by JPQL.
+ */
+public record OutboxHead(
+        String aggregateType,
+        UUID aggregateId,
+        Long eventId,
+        Long pending
+) {
+}
@@ -0,0 +1,14 @@
+package com.archipellibre.dto;
+
+import java.util.UUID;
+
+/**
+ * Pushed when an event's participant count changes. Only the latest count
+ * per event is delivered.
+ */
+public record ParticipantCountChange(
+        UUID eventId,
+        int participantCount,
+        int maxParticipants
+) {
+}
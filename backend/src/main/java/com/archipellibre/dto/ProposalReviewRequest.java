@@ -0,0 +1,17 @@
+package com.archipellibre.dto;
+
+import com.archipellibre.model.ProposalStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProposalReviewRequest {
+
+    // APPROVED or REJECTED
+    @NotNull
+    private ProposalStatus status;
+}
@@ -0,0 +1,19 @@
+package com.archipellibre.dto;
+
+import com.archipellibre.search.SearchType;
+
+import java.util.UUID;
+
+/**
+ * One ranked search result. {@code snippet} is HTML-escaped with matches
+ * wrapped in {@code <mark>}.
+ */
+public record SearchHit(
+        SearchType type,
+        UUID id,
+        UUID parentId,
+        String title,
+        String snippet,
+        float score
+) {
+}
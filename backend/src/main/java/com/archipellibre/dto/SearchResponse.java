@@ -0,0 +1,14 @@
+package com.archipellibre.dto;
+
+import java.util.List;
+
+/**
+ * Search results. {@code totalHits} is exact up to 1000 and a lower bound above.
+ */
+public record SearchResponse(
+        String query,
+        long totalHits,
+        List<SearchHit> hits,
+        long tookMs
+) {
+}
@@ -0,0 +1,10 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One occurrence of an event series, by the start its rule gave it.
+ */
+public record SeriesOccurrence(UUID seriesId, LocalDateTime occurrenceStart) {
+}
@@ -0,0 +1,13 @@
+package com.archipellibre.dto;
+
+import java.util.UUID;
+
+/**
+ * Pushed when a thread is pinned, unpinned, locked or unlocked.
+ */
+public record ThreadStateChange(
+        UUID threadId,
+        boolean pinned,
+        boolean locked
+) {
+}
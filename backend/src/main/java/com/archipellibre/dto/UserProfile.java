@@ -0,0 +1,24 @@
+package com.archipellibre.dto;
+
+import com.archipellibre.model.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Public member profile with activity counts, selected in one JPQL query.
+ * Email and account state are not part of it.
+ */
+public record UserProfile(
+        UUID id,
+        String username,
+        UserRole role,
+        String bio,
+        String avatarUrl,
+        LocalDateTime memberSince,
+        long eventsOrganized,
+        long threadsStarted,
+        long postsWritten,
+        long proposalsSubmitted
+) {
+}
@@ -0,0 +1,13 @@
+package com.archipellibre.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and latest update time of a set of rows, selected directly by
+ * JPQL. Any insert, update or delete in the set changes one of the two.
+ */
+public record VersionStamp(
+        long count,
+        LocalDateTime lastModified
+) {
+}
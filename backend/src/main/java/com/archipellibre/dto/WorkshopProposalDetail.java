@@ -0,0 +1,24 @@
+package com.archipellibre.dto;
+
+import com.archipellibre.model.ProposalStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proposal page projection, selected directly by JPQL.
+ */
+public record WorkshopProposalDetail(
+        UUID id,
+        String title,
+        String description,
+        String objectives,
+        String targetAudience,
+        Integer estimatedDuration,
+        ProposalStatus status,
+        Integer upvotes,
+        String proposerName,
+        LocalDateTime createdAt,
+        LocalDateTime reviewedAt
+) {
+}
@@ -0,0 +1,20 @@
+package com.archipellibre.dto;
+
+import com.archipellibre.model.ProposalStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proposal list row, selected directly by JPQL. {@code upvotes} is the
+ * stored tally, which trails the leaderboard by up to one vote flush.
+ */
+public record WorkshopProposalSummary(
+        UUID id,
+        String title,
+        ProposalStatus status,
+        Integer upvotes,
+        String proposerName,
+        LocalDateTime createdAt
+) {
+}
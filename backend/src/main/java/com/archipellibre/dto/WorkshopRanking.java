@@ -0,0 +1,16 @@
+package com.archipellibre.dto;
+
+import com.archipellibre.model.ProposalStatus;
+
+import java.util.UUID;
+
+/**
+ * Leaderboard row. Also selected directly by JPQL to seed the in-memory boards.
+ */
+public record WorkshopRanking(
+        UUID id,
+        String title,
+        ProposalStatus status,
+        Integer votes
+) {
+}
@@ -0,0 +1,16 @@
+package com.archipellibre.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkshopVoteResponse {
+    private UUID proposalId;
+    private Boolean voted;
+    private Long votes;
+}
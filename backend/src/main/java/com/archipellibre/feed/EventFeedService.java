@@ -0,0 +1,226 @@
+package com.archipellibre.feed;
+
+import com.archipellibre.dto.FeedEventView;
+import com.archipellibre.dto.FeedSeriesRow;
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.model.User;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.EventSeriesRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.security.JwtTokenProvider;
+import com.archipellibre.security.TokenRevocationList;
+import com.archipellibre.security.TokenVerification;
+import com.archipellibre.security.UserPrincipal;
+import com.archipellibre.service.ResourceNotFoundException;
+import com.archipellibre.service.ResourceVersion;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * iCalendar feeds, written straight from cursor-backed projection queries.
+ * Private feeds are read with a feed token; an invalid token reads as a missing feed.
+ */
+@Service
+public class EventFeedService {
+
+    public enum Feed {
+        PUBLIC("Archipel Libre"),
+        PARTICIPATING("Archipel Libre - mes participations"),
+        ORGANIZED("Archipel Libre - mes événements");
+
+        private final String calendarName;
+
+        Feed(String calendarName) {
+            this.calendarName = calendarName;
+        }
+    }
+
+    private static final String PRODUCT_ID = "-//L'Archipel Libre//Events//FR";
+    private static final String UID_SUFFIX = "@archipel-libre";
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSeriesRepository seriesRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Value("${app.calendar.feed-past-days:30}")
+    private int pastDays;
+
+    private final TransactionTemplate readOnly;
+
+    public EventFeedService(PlatformTransactionManager transactionManager) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public String issueToken(UserPrincipal principal) {
+        return tokenProvider.generateFeedToken(principal);
+    }
+
+    /**
+     * The member a feed token was issued to, while the token is unexpired and
+     * unrevoked and the member still active.
+     */
+    public UUID ownerOf(String feedToken) {
+        TokenVerification verification = tokenProvider.verify(feedToken);
+        Claims claims = verification.claims();
+        if (!verification.isValid()
+                || !JwtTokenProvider.TOKEN_TYPE_FEED.equals(claims.get(JwtTokenProvider.CLAIM_TOKEN_TYPE))
+                || tokenRevocationList.isRevoked(claims.getId(), claims.getSubject(), claims.getIssuedAt(),
+                        claims.getExpiration())) {
+            throw new ResourceNotFoundException("Feed not found");
+        }
+        // Users are in the second-level cache, so polling feeds rarely reads them
+        return userRepository.findById(UUID.fromString(claims.get(JwtTokenProvider.CLAIM_USER_ID, String.class)))
+                .filter(User::getActive)
+                .map(User::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Feed not found"));
+    }
+
+    /**
+     * Version of everything {@link #write} would put in the feed today.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion version(Feed feed, UUID userId) {
+        LocalDateTime endsAfter = endsAfter();
+        String resource = "feed:" + feed + ":" + userId + ":" + endsAfter.toLocalDate();
+        return switch (feed) {
+            case PUBLIC -> ResourceVersion.of(resource,
+                    eventRepository.findFeedVersion(endsAfter),
+                    seriesRepository.findFeedVersion(endsAfter));
+            case PARTICIPATING -> ResourceVersion.of(resource,
+                    eventRepository.findFeedVersionByParticipant(userId, endsAfter));
+            case ORGANIZED -> ResourceVersion.of(resource,
+                    eventRepository.findFeedVersionByOrganizer(userId, endsAfter),
+                    seriesRepository.findFeedVersionByOrganizer(userId, endsAfter));
+        };
+    }
+
+    /**
+     * Writes the feed to {@code out} as its rows are read, in one read-only
+     * transaction. Nothing is flushed here: the caller's stream decides when
+     * bytes leave.
+     */
+    public void write(Feed feed, UUID userId, OutputStream out) throws IOException {
+        LocalDateTime endsAfter = endsAfter();
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try {
+                    writeCalendar(feed, userId, endsAfter, new ICalendarWriter(out));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            // Usually a calendar app that hung up
+            throw ex.getCause();
+        }
+    }
+
+    private void writeCalendar(Feed feed, UUID userId, LocalDateTime endsAfter, ICalendarWriter ics)
+            throws IOException {
+        ics.begin("VCALENDAR")
+                .line("VERSION", "2.0")
+                .line("PRODID", PRODUCT_ID)
+                .line("CALSCALE", "GREGORIAN")
+                .line("METHOD", "PUBLISH")
+                .text("X-WR-CALNAME", feed.calendarName);
+
+        try (Stream<FeedEventView> events = switch (feed) {
+            case PUBLIC -> eventRepository.streamFeed(endsAfter);
+            case PARTICIPATING -> eventRepository.streamFeedByParticipant(userId, endsAfter);
+            case ORGANIZED -> eventRepository.streamFeedByOrganizer(userId, endsAfter);
+        }) {
+            for (Iterator<FeedEventView> it = events.iterator(); it.hasNext(); ) {
+                writeEvent(ics, it.next());
+            }
+        }
+
+        // Members join occurrences, which then have rows, never whole series
+        if (feed != Feed.PARTICIPATING) {
+            try (Stream<FeedSeriesRow> rows = feed == Feed.PUBLIC
+                    ? seriesRepository.streamFeed(endsAfter)
+                    : seriesRepository.streamFeedByOrganizer(userId, endsAfter)) {
+                writeSeries(ics, rows.iterator());
+            }
+        }
+        ics.end("VCALENDAR");
+    }
+
+    private static void writeEvent(ICalendarWriter ics, FeedEventView event) throws IOException {
+        ics.begin("VEVENT")
+                .line("UID", event.id() + UID_SUFFIX)
+                .dateTime("DTSTAMP", event.updatedAt())
+                .dateTime("LAST-MODIFIED", event.updatedAt())
+                .dateTime("DTSTART", event.startTime())
+                .dateTime("DTEND", event.endTime())
+                .text("SUMMARY", event.title())
+                .text("DESCRIPTION", event.description())
+                .text("LOCATION", event.location())
+                .line("STATUS", event.status() == EventStatus.CANCELLED ? "CANCELLED" : "CONFIRMED")
+                .end("VEVENT");
+    }
+
+    /**
+     * Rows come in series order, one per exception, so each series is
+     * finished as soon as the next one starts.
+     */
+    private static void writeSeries(ICalendarWriter ics, Iterator<FeedSeriesRow> rows) throws IOException {
+        UUID current = null;
+        while (rows.hasNext()) {
+            FeedSeriesRow row = rows.next();
+            if (!row.id().equals(current)) {
+                if (current != null) {
+                    ics.end("VEVENT");
+                }
+                current = row.id();
+                ics.begin("VEVENT")
+                        .line("UID", "series-" + row.id() + UID_SUFFIX)
+                        .dateTime("DTSTAMP", row.updatedAt())
+                        .dateTime("LAST-MODIFIED", row.updatedAt())
+                        .dateTime("DTSTART", row.firstStart())
+                        .dateTime("DTEND", row.firstStart().plusMinutes(row.durationMinutes()))
+                        .line("RRULE", row.recurrenceRule())
+                        .text("SUMMARY", row.title())
+                        .text("DESCRIPTION", row.description())
+                        .text("LOCATION", row.location())
+                        .line("STATUS", "CONFIRMED");
+            }
+            if (row.exception() != null) {
+                ics.dateTime("EXDATE", row.exception());
+            }
+        }
+        if (current != null) {
+            ics.end("VEVENT");
+        }
+    }
+
+    private LocalDateTime endsAfter() {
+        // Moves once a day, so unchanged feeds keep their version in between
+        return LocalDate.now().minusDays(pastDays).atStartOfDay();
+    }
+}
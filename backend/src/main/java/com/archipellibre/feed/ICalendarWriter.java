@@ -0,0 +1,92 @@
+package com.archipellibre.feed;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an iCalendar (RFC 5545) stream one escaped, folded, CRLF-terminated
+ * content line at a time.
+ */
+public class ICalendarWriter {
+
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] FOLD = {'\r', '\n', ' '};
+
+    private final OutputStream out;
+
+    public ICalendarWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public ICalendarWriter begin(String component) throws IOException {
+        return line("BEGIN", component);
+    }
+
+    public ICalendarWriter end(String component) throws IOException {
+        return line("END", component);
+    }
+
+    /**
+     * A property whose value is already in iCalendar form, such as a rule
+     * or a status. Nothing is escaped.
+     */
+    public ICalendarWriter line(String name, String value) throws IOException {
+        write(name + ":" + value);
+        return this;
+    }
+
+    /**
+     * A TEXT property, left out when the value is null or blank.
+     */
+    public ICalendarWriter text(String name, String value) throws IOException {
+        if (value == null || value.isBlank()) {
+            return this;
+        }
+        return line(name, escape(value));
+    }
+
+    public ICalendarWriter dateTime(String name, LocalDateTime value) throws IOException {
+        return line(name, UTC_DATE_TIME.format(value));
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // Dropped: CRLF becomes a single \n
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private void write(String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int limit = MAX_LINE_OCTETS;
+        while (bytes.length - start > limit) {
+            int end = start + limit;
+            // Back up to the first byte of a UTF-8 sequence
+            while ((bytes[end] & 0xC0) == 0x80) {
+                end--;
+            }
+            out.write(bytes, start, end - start);
+            out.write(FOLD);
+            start = end;
+            // Continuation lines start with the folding space
+            limit = MAX_LINE_OCTETS - 1;
+        }
+        out.write(bytes, start, bytes.length - start);
+        out.write(CRLF);
+    }
+}
@@ -7,7 +7,12 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,6 +23,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "events")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -57,19 +64,37 @@ public class Event {
     @Column(nullable = false)
     private EventStatus status = EventStatus.SCHEDULED;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToMany
     @JoinTable(
         name = "event_participants",
         joinColumns = @JoinColumn(name = "event_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "user_id"})
     )
     @Builder.Default
     private List<User> participants = new ArrayList<>();
 
+    // Set when this row is an occurrence of an EventSeries
+    @Column(name = "series_id")
+    private UUID seriesId;
+
+    // The start the series' rule gave this occurrence, whatever its startTime is now
+    private LocalDateTime occurrenceStart;
+
+    // Denormalized size of participants, maintained by EventRegistrationService
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer participantCount = 0;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -78,6 +103,6 @@ public class Event {
     private LocalDateTime updatedAt;
 
     public boolean isFull() {
-        return maxParticipants > 0 && participants.size() >= maxParticipants;
+        return maxParticipants > 0 && participantCount >= maxParticipants;
     }
 }
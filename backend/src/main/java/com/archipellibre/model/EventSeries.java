@@ -0,0 +1,101 @@
+package com.archipellibre.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A recurring event: one row for every occurrence its rule produces. See
+ * {@link Event#getOccurrenceStart()} for occurrences that have their own row.
+ */
+@Entity
+@Table(name = "event_series")
+@NamedQuery(name = "EventSeries.findOverlapping",
+        query = "SELECT new com.archipellibre.dto.EventSeriesView(s.id, s.title, s.location, s.firstStart, " +
+                "s.durationMinutes, s.recurrenceRule, s.lastEnd, o.username) " +
+                "FROM EventSeries s JOIN s.organizer o " +
+                "WHERE s.firstStart < :to AND (s.lastEnd IS NULL OR s.lastEnd > :from)")
+@NamedQuery(name = "EventSeries.findExceptions",
+        query = "SELECT new com.archipellibre.dto.SeriesOccurrence(s.id, x) FROM EventSeries s JOIN s.exceptions x " +
+                "WHERE x >= :from AND x < :to")
+@NamedQuery(name = "EventSeries.findVersion",
+        query = "SELECT new com.archipellibre.dto.VersionStamp(COUNT(s), MAX(s.updatedAt)) FROM EventSeries s " +
+                "WHERE s.firstStart < :to AND (s.lastEnd IS NULL OR s.lastEnd > :from)")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NotBlank
+    @Size(min = 3, max = 200)
+    @Column(nullable = false)
+    private String title;
+
+    @NotBlank
+    @Size(max = 5000)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String description;
+
+    private String location;
+
+    private String imageUrl;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer maxParticipants = 0; // 0 means unlimited, for each occurrence
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "organizer_id", nullable = false)
+    private User organizer;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime firstStart;
+
+    @Column(nullable = false)
+    private Integer durationMinutes;
+
+    // RFC 5545 RRULE subset, see RecurrenceRule
+    @Column(name = "recurrence_rule", nullable = false)
+    private String recurrenceRule;
+
+    // End of the last occurrence, derived from COUNT or UNTIL; null when the series never ends
+    private LocalDateTime lastEnd;
+
+    // Occurrence starts the calendar does not expand: cancelled, or stored as an events row
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ElementCollection
+    @CollectionTable(name = "event_series_exceptions", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "occurrence_start", nullable = false)
+    @Builder.Default
+    private Set<LocalDateTime> exceptions = new HashSet<>();
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,41 @@
+package com.archipellibre.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-category forum summary, kept in step with thread and post writes by
+ * ForumService and rebuilt in bulk by ForumStatsService.
+ */
+@Entity
+@Table(name = "forum_category_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForumCategoryStats {
+
+    @Id
+    @Column(length = 50)
+    private String category;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long threadCount = 0L;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long postCount = 0L;
+
+    private LocalDateTime lastActivityAt;
+
+    private String lastPostAuthor;
+}
@@ -6,7 +6,12 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,6 +22,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "forum_threads")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,10 +55,14 @@ public class ForumThread {
     @Column(nullable = false)
     private Boolean locked = false;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "creator_id", nullable = false)
     private User creator;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "thread", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<ForumPost> posts = new ArrayList<>();
@@ -63,5 +74,22 @@ public class ForumThread {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    @Column(nullable = false)
     private LocalDateTime lastActivityAt;
+
+    // Denormalized post statistics, maintained by ForumService on each post write
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer postCount = 0;
+
+    private String lastPostAuthor;
+
+    @PrePersist
+    void initLastActivity() {
+        // Keyset paging orders on this column, so it must never be null
+        if (lastActivityAt == null) {
+            lastActivityAt = LocalDateTime.now();
+        }
+    }
 }
@@ -6,7 +6,11 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,6 +19,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "workshop_proposals")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,9 +54,12 @@ public class WorkshopProposal {
     @Column(nullable = false)
     private ProposalStatus status = ProposalStatus.PENDING;
 
-    @Column(nullable = false)
+    // Written only by WorkshopVoteService bulk updates, never by entity flushes
+    @Column(nullable = false, updatable = false)
     private Integer upvotes = 0;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "proposer_id", nullable = false)
     private User proposer;
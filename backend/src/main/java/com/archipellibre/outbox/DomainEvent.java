@@ -0,0 +1,33 @@
+package com.archipellibre.outbox;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+import java.util.UUID;
+
+/**
+ * Something that happened to an aggregate, recorded by {@link OutboxPublisher}
+ * in the transaction that made the change. Events of one aggregate reach the
+ * handlers in the order they were published.
+ *
+ * The JSON form, with its {@code type} name, is what the outbox stores:
+ * renaming an event or removing a field strands the rows still pending.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(UserRegistered.class),
+        @JsonSubTypes.Type(PostCreated.class),
+        @JsonSubTypes.Type(EventJoined.class),
+        @JsonSubTypes.Type(ProposalReviewed.class)
+})
+public sealed interface DomainEvent permits UserRegistered, PostCreated, EventJoined, ProposalReviewed {
+
+    String aggregateType();
+
+    UUID aggregateId();
+
+    static String typeOf(DomainEvent event) {
+        return event.getClass().getAnnotation(JsonTypeName.class).value();
+    }
+}
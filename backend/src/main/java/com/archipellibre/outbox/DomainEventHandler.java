@@ -0,0 +1,10 @@
+package com.archipellibre.outbox;
+
+/**
+ * Receives every dispatched {@link DomainEvent}. Delivery is at least once,
+ * so handlers must tolerate repeats; they run outside any transaction.
+ */
+public interface DomainEventHandler {
+
+    void handle(DomainEvent event);
+}
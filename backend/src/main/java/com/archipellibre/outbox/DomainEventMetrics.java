@@ -0,0 +1,21 @@
+package com.archipellibre.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts dispatched domain events by type as {@code domain.events}, e.g.
+ * registrations and event joins per minute.
+ */
+@Component
+public class DomainEventMetrics implements DomainEventHandler {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void handle(DomainEvent event) {
+        meterRegistry.counter("domain.events", "type", DomainEvent.typeOf(event)).increment();
+    }
+}
@@ -0,0 +1,26 @@
+package com.archipellibre.outbox;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+import java.util.UUID;
+
+/**
+ * A member took a seat, or joined the waitlist when {@code waitlisted}.
+ */
+@JsonTypeName("event.joined")
+public record EventJoined(
+        UUID eventId,
+        UUID userId,
+        boolean waitlisted
+) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "event";
+    }
+
+    @Override
+    public UUID aggregateId() {
+        return eventId;
+    }
+}
@@ -0,0 +1,248 @@
+package com.archipellibre.outbox;
+
+import com.archipellibre.dto.OutboxBacklog;
+import com.archipellibre.dto.OutboxHead;
+import com.archipellibre.model.OutboxEvent;
+import com.archipellibre.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the outbox into the {@link DomainEventHandler}s: claims a batch in a
+ * short transaction, then dispatches it without holding row locks.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<DomainEventHandler> handlers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Duration claimTimeout;
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer lag;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestCreatedAt = new AtomicLong(Long.MAX_VALUE);
+    // One run per node at a time, so a caller waits for the batch in flight to be handled
+    private final ReentrantLock running = new ReentrantLock();
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, List<DomainEventHandler> handlers,
+                            ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${app.outbox.retry-backoff:1s}") Duration retryBackoff,
+                            @Value("${app.outbox.max-retry-backoff:5m}") Duration maxRetryBackoff,
+                            @Value("${app.outbox.claim-timeout:5m}") Duration claimTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.claimTimeout = claimTimeout;
+        this.delivered = meterRegistry.counter("outbox.events", "outcome", "delivered");
+        this.retried = meterRegistry.counter("outbox.events", "outcome", "retried");
+        this.failed = meterRegistry.counter("outbox.events", "outcome", "failed");
+        this.lag = Timer.builder("outbox.lag")
+                .description("Time from publishing an event to handling it")
+                .register(meterRegistry);
+        meterRegistry.gauge("outbox.pending", pending);
+        meterRegistry.gauge("outbox.oldest.age", oldestCreatedAt, OutboxDispatcher::ageSeconds);
+    }
+
+    /**
+     * Dispatches batches until one comes back short or makes no progress,
+     * then refreshes the backlog gauges.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:500}")
+    public void poll() {
+        running.lock();
+        try {
+            Batch batch;
+            do {
+                batch = dispatchBatch();
+            } while (batch.read() == batchSize && batch.delivered() > 0);
+
+            OutboxBacklog backlog = outboxEventRepository.findBacklog();
+            pending.set(backlog.pending());
+            oldestCreatedAt.set(backlog.oldestCreatedAt() != null
+                    ? backlog.oldestCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : Long.MAX_VALUE);
+        } catch (RuntimeException ex) {
+            logger.warn("Outbox dispatch failed, pending events will be retried", ex);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private Batch dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Claim claim = transactionTemplate.execute(status -> claim(now));
+
+        List<OutboxEvent> handled = new ArrayList<>();
+        List<OutboxEvent> unhandled = new ArrayList<>();
+        Set<String> blocked = new HashSet<>();
+        for (OutboxEvent event : claim.events()) {
+            String key = aggregateKey(event.getAggregateType(), event.getAggregateId());
+            if (blocked.contains(key)) {
+                // Released for when the failed event before it has been retried
+                event.setNextAttemptAt(now);
+                unhandled.add(event);
+            } else if (dispatch(event, now)) {
+                handled.add(event);
+            } else {
+                blocked.add(key);
+                unhandled.add(event);
+            }
+        }
+
+        if (!handled.isEmpty() || !unhandled.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                outboxEventRepository.deleteAllByIdInBatch(handled.stream().map(OutboxEvent::getId).toList());
+                outboxEventRepository.saveAll(unhandled);
+            });
+        }
+        return new Batch(claim.read(), handled.size());
+    }
+
+    /**
+     * Locks the due events and claims each aggregate's leading run of them.
+     */
+    private Claim claim(LocalDateTime now) {
+        List<OutboxEvent> due = outboxEventRepository.findDue(now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return new Claim(0, List.of());
+        }
+
+        Map<String, List<OutboxEvent>> byAggregate = new HashMap<>();
+        for (OutboxEvent event : due) {
+            byAggregate.computeIfAbsent(aggregateKey(event.getAggregateType(), event.getAggregateId()),
+                    key -> new ArrayList<>()).add(event);
+        }
+        Set<UUID> aggregateIds = new HashSet<>();
+        for (OutboxEvent event : due) {
+            aggregateIds.add(event.getAggregateId());
+        }
+        Set<Long> claimable = new HashSet<>();
+        Long upToId = due.get(due.size() - 1).getId();
+        for (OutboxHead head : outboxEventRepository.findHeads(aggregateIds, upToId)) {
+            List<OutboxEvent> events = byAggregate.get(aggregateKey(head.aggregateType(), head.aggregateId()));
+            if (events == null || !events.get(0).getId().equals(head.eventId())) {
+                // An earlier event of this aggregate is backing off or claimed elsewhere
+                continue;
+            }
+            // Rows skipped while another dispatcher locks them leave gaps; then only the head is safe
+            for (OutboxEvent event : events.size() == head.pending() ? events : events.subList(0, 1)) {
+                claimable.add(event.getId());
+            }
+        }
+
+        List<OutboxEvent> claimed = new ArrayList<>();
+        for (OutboxEvent event : due) {
+            if (claimable.contains(event.getId())) {
+                event.setNextAttemptAt(now.plus(claimTimeout));
+                claimed.add(event);
+            }
+        }
+        return new Claim(due.size(), claimed);
+    }
+
+    /**
+     * Runs the handlers that have not yet handled the event. Returns whether
+     * all of them succeeded; otherwise records the failure for a retry.
+     */
+    private boolean dispatch(OutboxEvent event, LocalDateTime now) {
+        Set<String> completed = new LinkedHashSet<>();
+        if (event.getCompletedHandlers() != null && !event.getCompletedHandlers().isEmpty()) {
+            completed.addAll(Arrays.asList(event.getCompletedHandlers().split(",")));
+        }
+        try {
+            DomainEvent domainEvent = objectMapper.readValue(event.getPayload(), DomainEvent.class);
+            for (DomainEventHandler handler : handlers) {
+                String name = ClassUtils.getUserClass(handler).getSimpleName();
+                if (!completed.contains(name)) {
+                    handler.handle(domainEvent);
+                    completed.add(name);
+                }
+            }
+        } catch (Exception ex) {
+            recordFailure(event, completed, ex, now);
+            return false;
+        }
+        delivered.increment();
+        lag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+        return true;
+    }
+
+    private void recordFailure(OutboxEvent event, Set<String> completed, Exception ex, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setCompletedHandlers(completed.isEmpty() ? null : String.join(",", completed));
+        event.setLastError(truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage(), 1000));
+        if (attempts >= maxAttempts) {
+            event.setFailedAt(now);
+            failed.increment();
+            logger.error("Outbox event {} ({}) failed {} times and will not be retried",
+                    event.getId(), event.getEventType(), attempts, ex);
+            return;
+        }
+        event.setNextAttemptAt(now.plus(backoff(attempts)));
+        retried.increment();
+        logger.warn("Outbox event {} ({}) failed, attempt {} of {}: {}",
+                event.getId(), event.getEventType(), attempts, maxAttempts, ex.getMessage());
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private static String aggregateKey(String type, UUID id) {
+        return type + ":" + id;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private static double ageSeconds(AtomicLong createdAtMillis) {
+        long createdAt = createdAtMillis.get();
+        return createdAt == Long.MAX_VALUE ? 0 : Math.max(0, System.currentTimeMillis() - createdAt) / 1000.0;
+    }
+
+    private record Batch(int read, int delivered) {
+    }
+
+    private record Claim(int read, List<OutboxEvent> events) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.archipellibre.outbox;
+
+import com.archipellibre.dto.ForumPostView;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+import java.util.UUID;
+
+/**
+ * Carries the post as listed, so handlers need not read it back. Ordered per
+ * thread rather than per post.
+ */
+@JsonTypeName("post.created")
+public record PostCreated(
+        UUID threadId,
+        UUID authorId,
+        ForumPostView post
+) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "thread";
+    }
+
+    @Override
+    public UUID aggregateId() {
+        return threadId;
+    }
+}
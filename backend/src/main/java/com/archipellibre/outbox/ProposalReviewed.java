@@ -0,0 +1,24 @@
+package com.archipellibre.outbox;
+
+import com.archipellibre.model.ProposalStatus;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+import java.util.UUID;
+
+@JsonTypeName("proposal.reviewed")
+public record ProposalReviewed(
+        UUID proposalId,
+        ProposalStatus status,
+        UUID reviewerId
+) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "workshop";
+    }
+
+    @Override
+    public UUID aggregateId() {
+        return proposalId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.archipellibre.outbox;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+import java.util.UUID;
+
+@JsonTypeName("user.registered")
+public record UserRegistered(
+        UUID userId,
+        String username
+) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "user";
+    }
+
+    @Override
+    public UUID aggregateId() {
+        return userId;
+    }
+}
@@ -0,0 +1,49 @@
+package com.archipellibre.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Single-row UPDATEs of cached entities that evict only that row, where a
+ * bulk JPQL or native UPDATE would empty the entity's whole cache region.
+ */
+@Component
+public class CachedRowUpdates {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Runs {@code sql} in the current transaction and evicts the entity with
+     * the given id if a row changed. The entity is evicted again once the
+     * transaction completes, as a concurrent read may cache the old row
+     * before this one commits.
+     */
+    public int update(Class<?> entityType, Object id, String sql, Object... args) {
+        int updated = jdbcTemplate.update(sql, args);
+        if (updated > 0) {
+            evict(entityType, id);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        evict(entityType, id);
+                    }
+                });
+            }
+        }
+        return updated;
+    }
+
+    private void evict(Class<?> entityType, Object id) {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictEntityData(entityType, id);
+    }
+}
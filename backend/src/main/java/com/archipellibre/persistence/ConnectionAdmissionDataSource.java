@@ -0,0 +1,126 @@
+package com.archipellibre.persistence;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps how many threads may hold or wait for a pooled connection at once;
+ * past that, callers fail fast with {@link SQLTransientConnectionException}.
+ */
+public class ConnectionAdmissionDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final String pool;
+    private final int capacity;
+    private final long admissionTimeoutMs;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public ConnectionAdmissionDataSource(DataSource target, String pool, int capacity, long admissionTimeoutMs) {
+        super(target);
+        this.pool = pool;
+        this.capacity = capacity;
+        this.admissionTimeoutMs = admissionTimeoutMs;
+        this.permits = new Semaphore(capacity, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admit();
+        return releasingOnClose(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admit();
+        return releasingOnClose(() -> super.getConnection(username, password));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getAdmitted() {
+        return capacity - permits.availablePermits();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.connection.admission.admitted", this, ConnectionAdmissionDataSource::getAdmitted)
+                .tag("pool", pool)
+                .description("Threads holding or waiting for a pooled connection")
+                .register(registry);
+        Gauge.builder("db.connection.admission.capacity", this, ConnectionAdmissionDataSource::getCapacity)
+                .tag("pool", pool)
+                .register(registry);
+        FunctionCounter.builder("db.connection.admission.rejected", this, ConnectionAdmissionDataSource::getRejected)
+                .tag("pool", pool)
+                .description("Connection requests refused because the admission limit was reached")
+                .register(registry);
+    }
+
+    private void admit() throws SQLException {
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(admissionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", ex);
+        }
+        if (!admitted) {
+            rejected.increment();
+            throw new SQLTransientConnectionException(
+                    "Database connection limit reached (" + capacity + " holding or waiting)");
+        }
+    }
+
+    private Connection releasingOnClose(ConnectionSource source) throws SQLException {
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,55 @@
+package com.archipellibre.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary, except reads the {@link ReplicationLagGuard} pins to the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicationLagGuard lagGuard;
+    private final Counter outsideTransaction;
+    private final Counter readWrite;
+    private final Counter recentWrite;
+    private final Counter readOnly;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicationLagGuard lagGuard,
+                                      MeterRegistry meterRegistry) {
+        this.lagGuard = lagGuard;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        this.outsideTransaction = meterRegistry.counter("db.routing", "route", "primary", "reason", "no_transaction");
+        this.readWrite = meterRegistry.counter("db.routing", "route", "primary", "reason", "read_write");
+        this.recentWrite = meterRegistry.counter("db.routing", "route", "primary", "reason", "recent_write");
+        this.readOnly = meterRegistry.counter("db.routing", "route", "replica", "reason", "read_only");
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Startup, migrations and lazy loading outside a transaction
+            outsideTransaction.increment();
+            return Route.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readWrite.increment();
+            return Route.PRIMARY;
+        }
+        if (lagGuard.mustReadPrimary()) {
+            recentWrite.increment();
+            return Route.PRIMARY;
+        }
+        readOnly.increment();
+        return Route.REPLICA;
+    }
+}
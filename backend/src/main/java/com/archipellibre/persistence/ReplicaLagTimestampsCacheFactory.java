@@ -0,0 +1,43 @@
+package com.archipellibre.persistence;
+
+import org.hibernate.cache.internal.TimestampsCacheEnabledImpl;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.TimestampsCacheFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.support.SimpleTimestamper;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import java.time.Duration;
+
+/**
+ * Records table writes {@code lag} in the future, so the query cache never
+ * keeps results a lagging replica read before the write.
+ */
+public class ReplicaLagTimestampsCacheFactory implements TimestampsCacheFactory {
+
+    private final long lagTicks;
+
+    public ReplicaLagTimestampsCacheFactory(Duration lag) {
+        // Region timestamps are milliseconds shifted left by 12 bits
+        this.lagTicks = lag.toMillis() * SimpleTimestamper.ONE_MS;
+    }
+
+    @Override
+    public TimestampsCache buildTimestampsCache(CacheImplementor cacheManager, TimestampsRegion timestampsRegion) {
+        return new TimestampsCacheEnabledImpl(timestampsRegion) {
+            @Override
+            public void invalidate(String[] spaces, SharedSessionContractImplementor session) {
+                Long staleBefore = cacheManager.getRegionFactory().nextTimestamp() + lagTicks;
+                StatisticsImplementor statistics = session.getFactory().getStatistics();
+                for (String space : spaces) {
+                    timestampsRegion.putIntoCache(space, staleBefore, session);
+                    if (statistics.isStatisticsEnabled()) {
+                        statistics.updateTimestampsCachePut();
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.archipellibre.persistence;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a user's reads on the primary for {@code lag} after their own write,
+ * so they see it straight away. Tracked per node.
+ */
+public class ReplicationLagGuard implements TransactionExecutionListener {
+
+    private final long lagNanos;
+    // Last commit time per username; entries older than the lag are purged lazily
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private volatile long lastPurge = System.nanoTime();
+
+    public ReplicationLagGuard(Duration lag) {
+        this.lagNanos = lag.toNanos();
+    }
+
+    /**
+     * Whether the current user committed a write too recently to trust the
+     * replica.
+     */
+    public boolean mustReadPrimary() {
+        String user = currentUser();
+        Long writtenAt = user != null ? lastWrites.get(user) : null;
+        return writtenAt != null && isRecent(writtenAt, System.nanoTime());
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        String user = currentUser();
+        if (commitFailure != null || transaction.isReadOnly() || user == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrites.put(user, now);
+        if (now - lastPurge > lagNanos) {
+            lastPurge = now;
+            lastWrites.values().removeIf(writtenAt -> !isRecent(writtenAt, now));
+        }
+    }
+
+    private boolean isRecent(long writtenAt, long now) {
+        return now - writtenAt < lagNanos;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,62 @@
+package com.archipellibre.persistence;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * SQL activity of one unit of work, usually an HTTP request. Thread-confined.
+ */
+public class SqlRequestStats {
+
+    // IN lists of different lengths are the same statement shape
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_TRACKED_SHAPES = 200;
+
+    public record RepeatedStatement(String sql, int count) {
+    }
+
+    private final Map<String, Integer> countsByShape = new HashMap<>();
+    private int statements;
+    private long jdbcNanos;
+
+    public void recordStatement(String sql) {
+        statements++;
+        String shape = normalize(sql);
+        if (countsByShape.size() < MAX_TRACKED_SHAPES || countsByShape.containsKey(shape)) {
+            countsByShape.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    public void recordJdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * SELECT shapes executed at least {@code threshold} times, the typical
+     * signature of lazy loading inside a loop (N+1), most repeated first.
+     */
+    public List<RepeatedStatement> repeatedSelects(int threshold) {
+        List<RepeatedStatement> repeated = new ArrayList<>();
+        countsByShape.forEach((sql, count) -> {
+            if (count >= threshold && sql.regionMatches(true, 0, "select", 0, 6)) {
+                repeated.add(new RepeatedStatement(sql, count));
+            }
+        });
+        repeated.sort(Comparator.comparingInt(RepeatedStatement::count).reversed());
+        return repeated;
+    }
+
+    static String normalize(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(collapsed).replaceAll("(?)");
+    }
+}
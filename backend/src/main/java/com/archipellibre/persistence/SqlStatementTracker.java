@@ -0,0 +1,68 @@
+package com.archipellibre.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+/**
+ * Attributes every SQL statement to the {@link SqlRequestStats} bound to the
+ * current thread, if any.
+ */
+public class SqlStatementTracker implements StatementInspector {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Starts tracking on this thread and returns the (fresh) accumulator.
+     */
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code work} with tracking enabled and returns its SQL statistics,
+     * restoring whatever tracking was active before.
+     */
+    public static SqlRequestStats track(Runnable work) {
+        return track(() -> {
+            work.run();
+            return null;
+        }).stats();
+    }
+
+    public static <T> Tracked<T> track(Supplier<T> work) {
+        SqlRequestStats outer = CURRENT.get();
+        SqlRequestStats stats = begin();
+        try {
+            return new Tracked<>(work.get(), stats);
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public record Tracked<T>(T result, SqlRequestStats stats) {
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,90 @@
+package com.archipellibre.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records SQL statement count and JDBC time per request, and flags likely N+1
+ * requests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementsFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = SqlRequestStats.class.getName();
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementsFilter.class);
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.persistence.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlStatementTracker.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementTracker.end();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("db.request.statements")
+                .description("SQL statements issued per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("db.request.jdbc")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        List<SqlRequestStats.RepeatedStatement> repeated = stats.repeatedSelects(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("db.request.n_plus_one")
+                    .description("Requests that repeated one SELECT shape at least the N+1 threshold")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            SqlRequestStats.RepeatedStatement worst = repeated.get(0);
+            logger.warn("Possible N+1 on {} {}: {} statements, {}x {}", request.getMethod(), uri,
+                    stats.getStatements(), worst.count(), abbreviate(worst.sql()));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
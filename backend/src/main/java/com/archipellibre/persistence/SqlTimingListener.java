@@ -0,0 +1,40 @@
+package com.archipellibre.persistence;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds JDBC execution time to the current thread's {@link SqlRequestStats}.
+ * One instance per session.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private static void record(long start) {
+        SqlRequestStats stats = SqlStatementTracker.current();
+        if (stats != null) {
+            stats.recordJdbcTime(System.nanoTime() - start);
+        }
+    }
+}
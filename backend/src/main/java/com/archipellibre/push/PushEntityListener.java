@@ -0,0 +1,62 @@
+package com.archipellibre.push;
+
+import com.archipellibre.dto.EventStatusChange;
+import com.archipellibre.dto.ThreadStateChange;
+import com.archipellibre.model.Event;
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.model.ForumThread;
+import com.archipellibre.persistence.PostCommitEntityListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate post-commit listener that pushes thread pin/lock changes and
+ * event status transitions, whichever code path made them.
+ */
+@Component
+public class PushEntityListener extends PostCommitEntityListener {
+
+    @Autowired
+    private PushHub pushHub;
+
+    public PushEntityListener() {
+        super(Event.class, ForumThread.class);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        switch (event.getEntity()) {
+            case ForumThread thread when changed(event, "pinned") || changed(event, "locked") ->
+                    pushHub.publish("thread.state",
+                            new ThreadStateChange(thread.getId(), Boolean.TRUE.equals(thread.getPinned()),
+                                    Boolean.TRUE.equals(thread.getLocked())),
+                            PushHub.thread(thread.getId()), PushHub.FORUM);
+            case Event e when changed(event, "status") ->
+                    pushHub.publish("event.status",
+                            new EventStatusChange(e.getId(), e.getStatus(), (EventStatus) previous(event, "status")),
+                            PushHub.event(e.getId()), PushHub.EVENTS);
+            default -> {
+            }
+        }
+    }
+
+    private static boolean changed(PostUpdateEvent event, String property) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            return false;
+        }
+        int index = event.getPersister().getEntityMetamodel().getPropertyIndex(property);
+        for (int candidate : dirty) {
+            if (candidate == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object previous(PostUpdateEvent event, String property) {
+        Object[] oldState = event.getOldState();
+        return oldState == null ? null : oldState[event.getPersister().getEntityMetamodel().getPropertyIndex(property)];
+    }
+}
@@ -0,0 +1,24 @@
+package com.archipellibre.push;
+
+import com.archipellibre.outbox.DomainEvent;
+import com.archipellibre.outbox.DomainEventHandler;
+import com.archipellibre.outbox.PostCreated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pushes new forum posts once their outbox event is dispatched.
+ */
+@Component
+public class PushEventHandler implements DomainEventHandler {
+
+    @Autowired
+    private PushHub pushHub;
+
+    @Override
+    public void handle(DomainEvent event) {
+        if (event instanceof PostCreated created) {
+            pushHub.publish("post.created", created.post(), PushHub.thread(created.threadId()), PushHub.FORUM);
+        }
+    }
+}
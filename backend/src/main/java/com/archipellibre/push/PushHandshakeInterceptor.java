@@ -0,0 +1,34 @@
+package com.archipellibre.push;
+
+import com.archipellibre.security.JwtAuthenticationFilter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * Carries the access token's expiry from the handshake request into the
+ * session, so {@link PushHub} can close the connection when it lapses.
+ */
+public class PushHandshakeInterceptor implements HandshakeInterceptor {
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            Object expiresAt = servletRequest.getServletRequest().getAttribute(JwtAuthenticationFilter.TOKEN_EXPIRES_AT);
+            if (expiresAt != null) {
+                attributes.put(JwtAuthenticationFilter.TOKEN_EXPIRES_AT, expiresAt);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
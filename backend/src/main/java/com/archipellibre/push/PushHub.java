@@ -0,0 +1,256 @@
+package com.archipellibre.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Topic registry and fan-out for the WebSocket push channel. Changes go out
+ * after commit, to the clients of the node that made them.
+ */
+@Component
+public class PushHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushHub.class);
+
+    public static final String FORUM = "forum";
+    public static final String EVENTS = "events";
+
+    private static final Pattern TOPIC = Pattern.compile(
+            "forum|events|(thread|event):[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+    private static final Object PING_KEY = new Object();
+
+    private final ObjectMapper objectMapper;
+    private final int maxSessions;
+    private final int bufferSize;
+    private final int maxTopics;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("push-", 0).factory());
+    private final ConcurrentHashMap<String, PushSubscriber> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<PushSubscriber>> topics = new ConcurrentHashMap<>();
+    // Latest version published per coalescing key, so a late commit cannot overwrite a newer value
+    private final ConcurrentHashMap<String, Long> latestVersions = new ConcurrentHashMap<>();
+
+    private final Counter sent;
+    private final Counter coalesced;
+    private final Counter droppedSlow;
+    private final Counter droppedExpired;
+    private final Counter refused;
+
+    public PushHub(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                   @Value("${app.push.max-sessions:12000}") int maxSessions,
+                   @Value("${app.push.buffer-size:64}") int bufferSize,
+                   @Value("${app.push.max-topics:50}") int maxTopics) {
+        this.objectMapper = objectMapper;
+        this.maxSessions = maxSessions;
+        this.bufferSize = bufferSize;
+        this.maxTopics = maxTopics;
+        meterRegistry.gaugeMapSize("push.sessions", List.of(), subscribers);
+        this.sent = meterRegistry.counter("push.messages", "outcome", "sent");
+        this.coalesced = meterRegistry.counter("push.messages", "outcome", "coalesced");
+        this.droppedSlow = meterRegistry.counter("push.disconnects", "reason", "slow_consumer");
+        this.droppedExpired = meterRegistry.counter("push.disconnects", "reason", "token_expired");
+        this.refused = meterRegistry.counter("push.disconnects", "reason", "refused");
+    }
+
+    public static String thread(UUID threadId) {
+        return "thread:" + threadId;
+    }
+
+    public static String event(UUID eventId) {
+        return "event:" + eventId;
+    }
+
+    /**
+     * Registers a new connection, or returns false if this node is full.
+     */
+    boolean register(WebSocketSession session, Instant expiresAt) {
+        if (subscribers.size() >= maxSessions) {
+            refused.increment();
+            return false;
+        }
+        subscribers.put(session.getId(), new PushSubscriber(session, expiresAt, bufferSize, senders, sent));
+        return true;
+    }
+
+    void unregister(WebSocketSession session) {
+        PushSubscriber subscriber = subscribers.remove(session.getId());
+        if (subscriber != null) {
+            subscriber.close(CloseStatus.NORMAL);
+            for (String topic : subscriber.topics()) {
+                leave(topic, subscriber);
+            }
+        }
+    }
+
+    void subscribe(WebSocketSession session, String topic) {
+        PushSubscriber subscriber = subscribers.get(session.getId());
+        if (subscriber == null) {
+            return;
+        }
+        if (topic == null || !TOPIC.matcher(topic).matches()) {
+            throw new IllegalArgumentException("Unknown topic: " + topic);
+        }
+        if (subscriber.topics().size() >= maxTopics && !subscriber.topics().contains(topic)) {
+            throw new IllegalArgumentException("At most " + maxTopics + " topics per connection");
+        }
+        subscriber.topics().add(topic);
+        topics.compute(topic, (key, members) -> {
+            Set<PushSubscriber> set = members != null ? members : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+    }
+
+    void unsubscribe(WebSocketSession session, String topic) {
+        PushSubscriber subscriber = subscribers.get(session.getId());
+        if (subscriber != null && subscriber.topics().remove(topic)) {
+            leave(topic, subscriber);
+        }
+    }
+
+    /**
+     * Sends a message to this connection only, e.g. a command error.
+     */
+    void reply(WebSocketSession session, String type, Object data) {
+        PushSubscriber subscriber = subscribers.get(session.getId());
+        TextMessage frame = serialize(new PushNotification(type, null, data));
+        if (subscriber != null && frame != null) {
+            deliver(subscriber, null, frame);
+        }
+    }
+
+    /**
+     * Pushes a change to the subscribers of any of the given topics, each
+     * receiving it once. The first topic is the one named in the message.
+     */
+    public void publish(String type, Object data, String... topics) {
+        afterCommit(() -> fanOut(null, new PushNotification(type, topics[0], data), topics));
+    }
+
+    /**
+     * Pushes the latest value of something that changes often, such as a
+     * participant count. A value still waiting in a subscriber's buffer is
+     * replaced rather than queued behind, and a value older than one already
+     * published under the same key is never sent.
+     */
+    public void publishLatest(String type, Object data, String key, long version, String... topics) {
+        afterCommit(() -> {
+            if (latestVersions.merge(key, version, Math::max) == version) {
+                fanOut(key, new PushNotification(type, topics[0], data), topics);
+            }
+        });
+    }
+
+    public int sessionCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Pings every connection so idle ones survive proxies, and closes those
+     * whose access token has expired. Clients reconnect with a fresh token.
+     */
+    @Scheduled(fixedDelayString = "${app.push.ping-interval:25000}")
+    public void heartbeat() {
+        Instant now = Instant.now();
+        PingMessage ping = new PingMessage();
+        for (PushSubscriber subscriber : subscribers.values()) {
+            if (subscriber.isExpired(now)) {
+                droppedExpired.increment();
+                subscriber.close(CloseStatus.POLICY_VIOLATION.withReason("Token expired"));
+            } else {
+                deliver(subscriber, PING_KEY, ping);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (PushSubscriber subscriber : subscribers.values()) {
+            subscriber.close(CloseStatus.GOING_AWAY);
+        }
+        senders.shutdown();
+    }
+
+    private void fanOut(Object key, PushNotification notification, String... topicNames) {
+        TextMessage frame = serialize(notification);
+        if (frame == null) {
+            return;
+        }
+        if (topicNames.length == 1) {
+            for (PushSubscriber subscriber : topics.getOrDefault(topicNames[0], Set.of())) {
+                deliver(subscriber, key, frame);
+            }
+            return;
+        }
+        Set<PushSubscriber> recipients = new HashSet<>();
+        for (String topic : topicNames) {
+            recipients.addAll(topics.getOrDefault(topic, Set.of()));
+        }
+        for (PushSubscriber subscriber : recipients) {
+            deliver(subscriber, key, frame);
+        }
+    }
+
+    private void deliver(PushSubscriber subscriber, Object key, WebSocketMessage<?> frame) {
+        switch (subscriber.offer(key, frame)) {
+            case COALESCED -> coalesced.increment();
+            case OVERFLOW -> {
+                droppedSlow.increment();
+                subscriber.close(CloseStatus.SERVICE_OVERLOAD.withReason("Too slow"));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void leave(String topic, PushSubscriber subscriber) {
+        topics.computeIfPresent(topic, (key, members) -> {
+            members.remove(subscriber);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private TextMessage serialize(PushNotification notification) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(notification));
+        } catch (JsonProcessingException ex) {
+            logger.warn("Could not serialize {} push message", notification.type(), ex);
+            return null;
+        }
+    }
+
+    private static void afterCommit(Runnable publish) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish.run();
+            }
+        });
+    }
+}
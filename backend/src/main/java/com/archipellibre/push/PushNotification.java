@@ -0,0 +1,12 @@
+package com.archipellibre.push;
+
+/**
+ * Wire format of a pushed message, with the most specific topic it was
+ * published to.
+ */
+public record PushNotification(
+        String type,
+        String topic,
+        Object data
+) {
+}
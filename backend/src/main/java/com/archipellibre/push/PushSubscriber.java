@@ -0,0 +1,149 @@
+package com.archipellibre.push;
+
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * One push connection and its bounded send buffer.
+ *
+ * Publishers only enqueue. A single drain task per subscriber does every
+ * socket write, closing included, so a slow client never holds up a
+ * publisher or other clients. A message with a coalescing key replaces a
+ * still unsent message with the same key, so only the latest value is
+ * sent. When the buffer is full the client is not keeping up and
+ * {@link #offer} reports an overflow.
+ */
+class PushSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushSubscriber.class);
+
+    enum Offer { QUEUED, COALESCED, OVERFLOW, CLOSED }
+
+    private final WebSocketSession session;
+    private final Instant expiresAt;
+    private final int capacity;
+    private final Executor executor;
+    private final Counter sent;
+    private final Set<String> topics = ConcurrentHashMap.newKeySet();
+    private final LinkedHashMap<Object, WebSocketMessage<?>> pending = new LinkedHashMap<>();
+    private boolean draining;
+    private CloseStatus closeStatus;
+
+    PushSubscriber(WebSocketSession session, Instant expiresAt, int capacity, Executor executor, Counter sent) {
+        this.session = session;
+        this.expiresAt = expiresAt;
+        this.capacity = capacity;
+        this.executor = executor;
+        this.sent = sent;
+    }
+
+    WebSocketSession session() {
+        return session;
+    }
+
+    Set<String> topics() {
+        return topics;
+    }
+
+    boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Queues a message. A null key never coalesces.
+     */
+    Offer offer(Object key, WebSocketMessage<?> message) {
+        Offer result;
+        synchronized (this) {
+            if (closeStatus != null) {
+                return Offer.CLOSED;
+            }
+            if (key != null && pending.containsKey(key)) {
+                pending.put(key, message);
+                return Offer.COALESCED;
+            }
+            if (pending.size() >= capacity) {
+                return Offer.OVERFLOW;
+            }
+            pending.put(key != null ? key : new Object(), message);
+            result = Offer.QUEUED;
+            if (draining) {
+                return result;
+            }
+            draining = true;
+        }
+        executor.execute(this::drain);
+        return result;
+    }
+
+    /**
+     * Drops unsent messages and closes the connection once any write in
+     * progress has returned.
+     */
+    void close(CloseStatus status) {
+        synchronized (this) {
+            if (closeStatus != null) {
+                return;
+            }
+            closeStatus = status;
+            pending.clear();
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        executor.execute(this::drain);
+    }
+
+    private void drain() {
+        while (true) {
+            WebSocketMessage<?> next;
+            CloseStatus closing;
+            synchronized (this) {
+                closing = closeStatus;
+                if (closing != null) {
+                    next = null;
+                } else if (pending.isEmpty()) {
+                    draining = false;
+                    return;
+                } else {
+                    Iterator<WebSocketMessage<?>> first = pending.values().iterator();
+                    next = first.next();
+                    first.remove();
+                }
+            }
+            if (closing != null) {
+                // draining stays set: nothing is written after the close frame
+                closeSession(closing);
+                return;
+            }
+            try {
+                session.sendMessage(next);
+                sent.increment();
+            } catch (IOException | RuntimeException ex) {
+                logger.debug("Push to session {} failed", session.getId(), ex);
+                close(CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        }
+    }
+
+    private void closeSession(CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Could not close push session {}", session.getId(), ex);
+        }
+    }
+}
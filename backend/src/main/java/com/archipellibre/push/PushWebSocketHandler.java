@@ -0,0 +1,68 @@
+package com.archipellibre.push;
+
+import com.archipellibre.security.JwtAuthenticationFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * WebSocket endpoint of the push channel; see {@link PushHub} for the topics.
+ */
+@Component
+public class PushWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushWebSocketHandler.class);
+
+    public static final String PATH = "/api/push";
+
+    record Command(String action, String topic) {
+    }
+
+    @Autowired
+    private PushHub pushHub;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        Instant expiresAt = (Instant) session.getAttributes().get(JwtAuthenticationFilter.TOKEN_EXPIRES_AT);
+        if (!pushHub.register(session, expiresAt)) {
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason("Too many connections"));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        try {
+            Command command = objectMapper.readValue(message.getPayload(), Command.class);
+            switch (command.action() == null ? "" : command.action()) {
+                case "subscribe" -> pushHub.subscribe(session, command.topic());
+                case "unsubscribe" -> pushHub.unsubscribe(session, command.topic());
+                default -> throw new IllegalArgumentException("Unknown action: " + command.action());
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            pushHub.reply(session, "error", Map.of("message", ex.getMessage()));
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        logger.debug("Push session {} failed", session.getId(), exception);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        pushHub.unregister(session);
+    }
+}
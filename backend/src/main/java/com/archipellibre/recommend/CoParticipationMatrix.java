@@ -0,0 +1,325 @@
+package com.archipellibre.recommend;
+
+import com.archipellibre.dto.EventRecommendation;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Event-to-event co-participation counts in dense int arrays, scored by
+ * cosine similarity. Not thread-safe; {@link EventRecommender} guards it.
+ */
+public class CoParticipationMatrix {
+
+    public record EventInfo(UUID id, String title, LocalDateTime startTime, boolean open) {
+    }
+
+    private static final int[] EMPTY = new int[0];
+    private static final int INITIAL_ROW = 4;
+
+    private final Map<UUID, Integer> eventIndex;
+    private final Map<UUID, Integer> userIndex;
+    private EventInfo[] events;
+    private int[] participants;
+    private int[][] coEvents;
+    private int[][] coCounts;
+    private int[] coSizes;
+    private int eventCount;
+    private int[][] userEvents;
+    private int[] userEventCounts;
+    private int userCount;
+
+    private CoParticipationMatrix(Map<UUID, Integer> eventIndex, EventInfo[] events, int[] participants,
+                                  int[][] coEvents, int[][] coCounts, Map<UUID, Integer> userIndex,
+                                  int[][] userEvents) {
+        this.eventIndex = eventIndex;
+        this.events = events;
+        this.participants = participants;
+        this.coEvents = coEvents;
+        this.coCounts = coCounts;
+        this.coSizes = new int[events.length];
+        for (int e = 0; e < events.length; e++) {
+            coSizes[e] = coEvents[e].length;
+        }
+        this.eventCount = events.length;
+        this.userIndex = userIndex;
+        this.userEvents = userEvents;
+        this.userEventCounts = new int[userEvents.length];
+        for (int u = 0; u < userEvents.length; u++) {
+            userEventCounts[u] = userEvents[u].length;
+        }
+        this.userCount = userEvents.length;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int eventCount() {
+        return eventCount;
+    }
+
+    public int userCount() {
+        return userCount;
+    }
+
+    public EventInfo event(UUID eventId) {
+        Integer e = eventIndex.get(eventId);
+        return e != null ? events[e] : null;
+    }
+
+    /**
+     * Adds an event, or refreshes the title, start and status of a known one.
+     */
+    public void putEvent(EventInfo info) {
+        Integer known = eventIndex.get(info.id());
+        if (known != null) {
+            events[known] = info;
+            return;
+        }
+        if (eventCount == events.length) {
+            int capacity = Math.max(16, eventCount * 2);
+            events = Arrays.copyOf(events, capacity);
+            participants = Arrays.copyOf(participants, capacity);
+            coEvents = Arrays.copyOf(coEvents, capacity);
+            coCounts = Arrays.copyOf(coCounts, capacity);
+            coSizes = Arrays.copyOf(coSizes, capacity);
+        }
+        int e = eventCount++;
+        eventIndex.put(info.id(), e);
+        events[e] = info;
+        coEvents[e] = EMPTY;
+        coCounts[e] = EMPTY;
+    }
+
+    /**
+     * Records a participation. Returns false when it was already known, or
+     * the event was never added.
+     */
+    public boolean join(UUID userId, UUID eventId) {
+        Integer e = eventIndex.get(eventId);
+        if (e == null) {
+            return false;
+        }
+        int u = userIndex.computeIfAbsent(userId, id -> newUser());
+        int[] joined = userEvents[u];
+        int size = userEventCounts[u];
+        int slot = Arrays.binarySearch(joined, 0, size, e);
+        if (slot >= 0) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            increment(e, joined[i]);
+            increment(joined[i], e);
+        }
+        participants[e]++;
+        userEvents[u] = insert(joined, size, -slot - 1, e);
+        userEventCounts[u]++;
+        return true;
+    }
+
+    /**
+     * Members who joined both events.
+     */
+    public int shared(UUID first, UUID second) {
+        Integer a = eventIndex.get(first);
+        Integer b = eventIndex.get(second);
+        if (a == null || b == null) {
+            return 0;
+        }
+        int slot = Arrays.binarySearch(coEvents[a], 0, coSizes[a], b);
+        return slot >= 0 ? coCounts[a][slot] : 0;
+    }
+
+    /**
+     * The best open events starting after {@code now} that the member has not
+     * joined. Ties, including every candidate of a member with no history,
+     * go to the more popular and then the sooner event.
+     */
+    public List<EventRecommendation> recommend(UUID userId, LocalDateTime now, int limit) {
+        Integer u = userIndex.get(userId);
+        int[] joined = u != null ? userEvents[u] : EMPTY;
+        int joinedCount = u != null ? userEventCounts[u] : 0;
+
+        float[] scores = new float[eventCount];
+        for (int i = 0; i < joinedCount; i++) {
+            int e = joined[i];
+            int[] neighbours = coEvents[e];
+            int[] counts = coCounts[e];
+            for (int k = 0; k < coSizes[e]; k++) {
+                int c = neighbours[k];
+                scores[c] += (float) (counts[k] / Math.sqrt((double) participants[e] * participants[c]));
+            }
+        }
+
+        // Insertion into a sorted array of at most limit entries: limit is small
+        int[] top = new int[limit];
+        int found = 0;
+        for (int c = 0; c < eventCount; c++) {
+            EventInfo info = events[c];
+            if (!info.open() || !info.startTime().isAfter(now)
+                    || Arrays.binarySearch(joined, 0, joinedCount, c) >= 0) {
+                continue;
+            }
+            if (found == limit && !ranksBefore(c, top[limit - 1], scores)) {
+                continue;
+            }
+            int slot = found < limit ? found++ : limit - 1;
+            while (slot > 0 && ranksBefore(c, top[slot - 1], scores)) {
+                top[slot] = top[slot - 1];
+                slot--;
+            }
+            top[slot] = c;
+        }
+
+        List<EventRecommendation> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            EventInfo info = events[top[i]];
+            result.add(new EventRecommendation(info.id(), info.title(), info.startTime(),
+                    participants[top[i]], scores[top[i]]));
+        }
+        return result;
+    }
+
+    private boolean ranksBefore(int a, int b, float[] scores) {
+        if (scores[a] != scores[b]) {
+            return scores[a] > scores[b];
+        }
+        if (participants[a] != participants[b]) {
+            return participants[a] > participants[b];
+        }
+        return events[a].startTime().isBefore(events[b].startTime());
+    }
+
+    private int newUser() {
+        if (userCount == userEvents.length) {
+            int capacity = Math.max(16, userCount * 2);
+            userEvents = Arrays.copyOf(userEvents, capacity);
+            userEventCounts = Arrays.copyOf(userEventCounts, capacity);
+        }
+        userEvents[userCount] = EMPTY;
+        return userCount++;
+    }
+
+    private void increment(int event, int other) {
+        int size = coSizes[event];
+        int slot = Arrays.binarySearch(coEvents[event], 0, size, other);
+        if (slot >= 0) {
+            coCounts[event][slot]++;
+            return;
+        }
+        slot = -slot - 1;
+        coEvents[event] = insert(coEvents[event], size, slot, other);
+        coCounts[event] = insert(coCounts[event], size, slot, 1);
+        coSizes[event]++;
+    }
+
+    /**
+     * Inserts at {@code slot}, growing the array when full.
+     */
+    private static int[] insert(int[] row, int size, int slot, int value) {
+        int[] target = size < row.length ? row : Arrays.copyOf(row, Math.max(INITIAL_ROW, size * 2));
+        System.arraycopy(row, slot, target, slot + 1, size - slot);
+        target[slot] = value;
+        return target;
+    }
+
+    /**
+     * Collects a full snapshot, then derives the event rows in parallel, one
+     * event per task.
+     */
+    public static class Builder {
+
+        private final Map<UUID, Integer> eventIndex = new HashMap<>();
+        private final Map<UUID, Integer> userIndex = new HashMap<>();
+        private final List<EventInfo> events = new ArrayList<>();
+        private int[] pairEvents = new int[1024];
+        private int[] pairUsers = new int[1024];
+        private int pairCount;
+
+        public Builder event(EventInfo info) {
+            if (eventIndex.putIfAbsent(info.id(), events.size()) == null) {
+                events.add(info);
+            }
+            return this;
+        }
+
+        /**
+         * Participations in events not added before are ignored. Each pair
+         * must be given once, as the participants table guarantees.
+         */
+        public Builder participation(UUID eventId, UUID userId) {
+            Integer e = eventIndex.get(eventId);
+            if (e == null) {
+                return this;
+            }
+            if (pairCount == pairEvents.length) {
+                pairEvents = Arrays.copyOf(pairEvents, pairCount * 2);
+                pairUsers = Arrays.copyOf(pairUsers, pairCount * 2);
+            }
+            pairEvents[pairCount] = e;
+            pairUsers[pairCount] = userIndex.computeIfAbsent(userId, id -> userIndex.size());
+            pairCount++;
+            return this;
+        }
+
+        public CoParticipationMatrix build() {
+            int eventTotal = events.size();
+            int userTotal = userIndex.size();
+            int[] participants = new int[eventTotal];
+            int[][] eventUsers = new int[eventTotal][];
+            int[][] userEvents = new int[userTotal][];
+            int[] userDegrees = new int[userTotal];
+            for (int i = 0; i < pairCount; i++) {
+                participants[pairEvents[i]]++;
+                userDegrees[pairUsers[i]]++;
+            }
+            for (int e = 0; e < eventTotal; e++) {
+                eventUsers[e] = new int[participants[e]];
+            }
+            for (int u = 0; u < userTotal; u++) {
+                userEvents[u] = new int[userDegrees[u]];
+            }
+            int[] eventFill = new int[eventTotal];
+            int[] userFill = new int[userTotal];
+            for (int i = 0; i < pairCount; i++) {
+                int e = pairEvents[i];
+                int u = pairUsers[i];
+                eventUsers[e][eventFill[e]++] = u;
+                userEvents[u][userFill[u]++] = e;
+            }
+            IntStream.range(0, userTotal).parallel().forEach(u -> Arrays.sort(userEvents[u]));
+
+            int[][] coEvents = new int[eventTotal][];
+            int[][] coCounts = new int[eventTotal][];
+            // Per worker: dense counters over all events, and the ones touched so far
+            ThreadLocal<int[][]> scratch = ThreadLocal.withInitial(() -> new int[][]{
+                    new int[eventTotal], new int[eventTotal]});
+            IntStream.range(0, eventTotal).parallel().forEach(e -> {
+                int[][] buffers = scratch.get();
+                int[] counts = buffers[0];
+                int[] touched = buffers[1];
+                int touchedCount = 0;
+                for (int u : eventUsers[e]) {
+                    for (int other : userEvents[u]) {
+                        if (other != e && counts[other]++ == 0) {
+                            touched[touchedCount++] = other;
+                        }
+                    }
+                }
+                Arrays.sort(touched, 0, touchedCount);
+                int[] neighbours = Arrays.copyOf(touched, touchedCount);
+                int[] shared = new int[touchedCount];
+                for (int k = 0; k < touchedCount; k++) {
+                    shared[k] = counts[neighbours[k]];
+                    counts[neighbours[k]] = 0;
+                }
+                coEvents[e] = neighbours;
+                coCounts[e] = shared;
+            });
+            return new CoParticipationMatrix(new HashMap<>(eventIndex), events.toArray(EventInfo[]::new),
+                    participants, coEvents, coCounts, new HashMap<>(userIndex), userEvents);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.archipellibre.recommend;
+
+import com.archipellibre.dto.EventRecommendation;
+import com.archipellibre.service.BadRequestException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory event recommendations from co-participation. Joins are applied as
+ * delivered; everything else waits for the next {@link RecommendationRebuildService} run.
+ */
+@Component
+public class EventRecommender {
+
+    private record Join(UUID userId, CoParticipationMatrix.EventInfo event) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxResults;
+    private final Timer queries;
+
+    private CoParticipationMatrix matrix = CoParticipationMatrix.builder().build();
+    // Joins applied while a rebuild is loading, replayed onto its result; null when none is
+    private List<Join> sinceSnapshot;
+
+    public EventRecommender(@Value("${app.recommendations.max-results:50}") int maxResults,
+                            MeterRegistry meterRegistry) {
+        this.maxResults = maxResults;
+        this.queries = Timer.builder("recommendations.query")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public List<EventRecommendation> recommend(UUID userId, int limit) {
+        if (limit < 1 || limit > maxResults) {
+            throw new BadRequestException("limit must be between 1 and " + maxResults);
+        }
+        return queries.record(() -> {
+            lock.readLock().lock();
+            try {
+                return matrix.recommend(userId, LocalDateTime.now(), limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Records a participation, adding the event or refreshing its details.
+     */
+    public void recordJoin(UUID userId, CoParticipationMatrix.EventInfo event) {
+        lock.writeLock().lock();
+        try {
+            matrix.putEvent(event);
+            matrix.join(userId, event.id());
+            if (sinceSnapshot != null) {
+                sinceSnapshot.add(new Join(userId, event));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int eventCount() {
+        lock.readLock().lock();
+        try {
+            return matrix.eventCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Call before reading the snapshot a rebuild starts from. Joins from then
+     * on are replayed onto the rebuilt matrix; those the snapshot already has
+     * are ignored there.
+     */
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            sinceSnapshot = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void completeRebuild(CoParticipationMatrix rebuilt) {
+        lock.writeLock().lock();
+        try {
+            for (Join join : sinceSnapshot) {
+                if (rebuilt.event(join.event().id()) == null) {
+                    rebuilt.putEvent(join.event());
+                }
+                rebuilt.join(join.userId(), join.event().id());
+            }
+            matrix = rebuilt;
+            sinceSnapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void abandonRebuild() {
+        lock.writeLock().lock();
+        try {
+            sinceSnapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
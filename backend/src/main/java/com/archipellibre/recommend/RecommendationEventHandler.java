@@ -0,0 +1,32 @@
+package com.archipellibre.recommend;
+
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.outbox.DomainEvent;
+import com.archipellibre.outbox.DomainEventHandler;
+import com.archipellibre.outbox.EventJoined;
+import com.archipellibre.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds seats taken to the {@link EventRecommender} as they are dispatched.
+ */
+@Component
+public class RecommendationEventHandler implements DomainEventHandler {
+
+    @Autowired
+    private EventRecommender recommender;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Override
+    public void handle(DomainEvent event) {
+        if (event instanceof EventJoined joined && !joined.waitlisted()) {
+            // Second-level cached; the event may also have been deleted since
+            eventRepository.findById(joined.eventId()).ifPresent(found -> recommender.recordJoin(joined.userId(),
+                    new CoParticipationMatrix.EventInfo(found.getId(), found.getTitle(), found.getStartTime(),
+                            found.getStatus() == EventStatus.SCHEDULED)));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.archipellibre.recommend;
+
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.service.ConflictException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Full rebuild of the {@link EventRecommender} matrix from the database.
+ */
+@Service
+public class RecommendationRebuildService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationRebuildService.class);
+
+    private static final int FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EventRecommender recommender;
+
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public record RebuildReport(int events, int members, long tookMs) {
+    }
+
+    public RecommendationRebuildService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public RebuildReport rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A recommendation rebuild is already running");
+        }
+        long started = System.nanoTime();
+        recommender.beginRebuild();
+        try {
+            CoParticipationMatrix rebuilt = transactionTemplate.execute(status -> load()).build();
+            recommender.completeRebuild(rebuilt);
+            long tookMs = (System.nanoTime() - started) / 1_000_000;
+            logger.info("Rebuilt recommendations over {} events and {} members in {} ms",
+                    rebuilt.eventCount(), rebuilt.userCount(), tookMs);
+            return new RebuildReport(rebuilt.eventCount(), rebuilt.userCount(), tookMs);
+        } catch (RuntimeException ex) {
+            recommender.abandonRebuild();
+            throw ex;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.recommendations.rebuild-interval:600000}",
+            initialDelayString = "${app.recommendations.rebuild-interval:600000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (ConflictException ex) {
+            logger.debug("Skipping scheduled recommendation rebuild: {}", ex.getMessage());
+        }
+    }
+
+    private CoParticipationMatrix.Builder load() {
+        CoParticipationMatrix.Builder builder = CoParticipationMatrix.builder();
+        try (Stream<Object[]> events = entityManager
+                .createQuery("SELECT e.id, e.title, e.startTime, e.status FROM Event e", Object[].class)
+                .setHint("org.hibernate.fetchSize", FETCH_SIZE)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()) {
+            events.forEach(row -> builder.event(new CoParticipationMatrix.EventInfo((UUID) row[0],
+                    (String) row[1], (LocalDateTime) row[2], row[3] == EventStatus.SCHEDULED)));
+        }
+        // Only the join table's columns are read: the participant's id is its foreign key
+        try (Stream<Object[]> participations = entityManager
+                .createQuery("SELECT e.id, p.id FROM Event e JOIN e.participants p", Object[].class)
+                .setHint("org.hibernate.fetchSize", FETCH_SIZE)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()) {
+            participations.forEach(row -> builder.participation((UUID) row[0], (UUID) row[1]));
+        }
+        return builder;
+    }
+}
@@ -1,19 +1,33 @@
 package com.archipellibre.repository;
 
+import com.archipellibre.dto.CalendarEventView;
+import com.archipellibre.dto.FeedEventView;
+import com.archipellibre.dto.VersionStamp;
 import com.archipellibre.model.Event;
 import com.archipellibre.model.EventStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID> {
+
+    // Rows per round trip when streaming a feed
+    String FEED_FETCH_SIZE = "500";
     
     Page<Event> findByStatus(EventStatus status, Pageable pageable);
     
@@ -24,4 +38,106 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     
     @Query("SELECT e FROM Event e JOIN e.participants p WHERE p.id = :userId")
     Page<Event> findEventsByParticipantId(UUID userId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :eventId")
+    Optional<Event> findByIdForUpdate(UUID eventId);
+
+    /**
+     * Takes one seat if the event is open and not full; one row updated on
+     * success. Run through {@link com.archipellibre.persistence.CachedRowUpdates},
+     * which evicts only this event from the cache.
+     */
+    String RESERVE_SEAT = "UPDATE events SET participant_count = participant_count + 1, updated_at = ? " +
+            "WHERE id = ? AND status = 'SCHEDULED' " +
+            "AND (max_participants = 0 OR participant_count < max_participants)";
+
+    String RELEASE_SEAT = "UPDATE events SET participant_count = participant_count - 1, updated_at = ? " +
+            "WHERE id = ? AND participant_count > 0";
+
+    @Query("SELECT COUNT(p) > 0 FROM Event e JOIN e.participants p WHERE e.id = :eventId AND p.id = :userId")
+    boolean isParticipant(UUID eventId, UUID userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_participants"))
+    @Query(value = "INSERT INTO event_participants (event_id, user_id) VALUES (:eventId, :userId)", nativeQuery = true)
+    int addParticipant(UUID eventId, UUID userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_participants"))
+    @Query(value = "DELETE FROM event_participants WHERE event_id = :eventId AND user_id = :userId", nativeQuery = true)
+    int removeParticipant(UUID eventId, UUID userId);
+
+    /**
+     * Events overlapping [from, to). The lower bound on start time keeps the
+     * scan on idx_event_time bounded; events longer than the span between
+     * {@code earliestStart} and {@code from} are not returned.
+     */
+    @Query("SELECT new com.archipellibre.dto.CalendarEventView(" +
+           "e.id, e.title, e.startTime, e.endTime, e.location, e.status, e.participantCount, o.username, " +
+           "e.seriesId, e.occurrenceStart) " +
+           "FROM Event e JOIN e.organizer o " +
+           "WHERE e.startTime >= :earliestStart AND e.startTime < :to AND e.endTime > :from " +
+           "ORDER BY e.startTime, e.id")
+    List<CalendarEventView> findCalendarEvents(LocalDateTime earliestStart, LocalDateTime from,
+                                               LocalDateTime to, Pageable pageable);
+
+    @Query("SELECT new com.archipellibre.dto.CalendarEventView(" +
+           "e.id, e.title, e.startTime, e.endTime, e.location, e.status, e.participantCount, o.username, " +
+           "e.seriesId, e.occurrenceStart) " +
+           "FROM Event e JOIN e.organizer o " +
+           "WHERE e.startTime >= :earliestStart AND e.startTime < :to AND e.endTime > :from " +
+           "AND (e.startTime > :afterStart OR (e.startTime = :afterStart AND e.id > :afterId)) " +
+           "ORDER BY e.startTime, e.id")
+    List<CalendarEventView> findCalendarEventsAfter(LocalDateTime earliestStart, LocalDateTime from,
+                                                    LocalDateTime to, LocalDateTime afterStart,
+                                                    UUID afterId, Pageable pageable);
+
+    Optional<Event> findBySeriesIdAndOccurrenceStart(UUID seriesId, LocalDateTime occurrenceStart);
+
+    /**
+     * iCalendar feed of every event that ended after {@code endsAfter}, read
+     * through a cursor: the feed is written as the rows arrive.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FEED_FETCH_SIZE))
+    @Query("SELECT new com.archipellibre.dto.FeedEventView(" +
+           "e.id, e.title, e.description, e.location, e.startTime, e.endTime, e.status, e.updatedAt) " +
+           "FROM Event e WHERE e.endTime > :endsAfter ORDER BY e.startTime, e.id")
+    Stream<FeedEventView> streamFeed(LocalDateTime endsAfter);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FEED_FETCH_SIZE))
+    @Query("SELECT new com.archipellibre.dto.FeedEventView(" +
+           "e.id, e.title, e.description, e.location, e.startTime, e.endTime, e.status, e.updatedAt) " +
+           "FROM Event e JOIN e.participants p " +
+           "WHERE p.id = :userId AND e.endTime > :endsAfter ORDER BY e.startTime, e.id")
+    Stream<FeedEventView> streamFeedByParticipant(UUID userId, LocalDateTime endsAfter);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FEED_FETCH_SIZE))
+    @Query("SELECT new com.archipellibre.dto.FeedEventView(" +
+           "e.id, e.title, e.description, e.location, e.startTime, e.endTime, e.status, e.updatedAt) " +
+           "FROM Event e WHERE e.organizer.id = :organizerId AND e.endTime > :endsAfter ORDER BY e.startTime, e.id")
+    Stream<FeedEventView> streamFeedByOrganizer(UUID organizerId, LocalDateTime endsAfter);
+
+    /**
+     * Versions of the feeds above. Seat changes stamp {@code updatedAt}, so
+     * a member joining an event changes their feed's version.
+     */
+    @Query("SELECT new com.archipellibre.dto.VersionStamp(COUNT(e), MAX(e.updatedAt)) FROM Event e " +
+           "WHERE e.endTime > :endsAfter")
+    VersionStamp findFeedVersion(LocalDateTime endsAfter);
+
+    @Query("SELECT new com.archipellibre.dto.VersionStamp(COUNT(e), MAX(e.updatedAt)) " +
+           "FROM Event e JOIN e.participants p WHERE p.id = :userId AND e.endTime > :endsAfter")
+    VersionStamp findFeedVersionByParticipant(UUID userId, LocalDateTime endsAfter);
+
+    @Query("SELECT new com.archipellibre.dto.VersionStamp(COUNT(e), MAX(e.updatedAt)) FROM Event e " +
+           "WHERE e.organizer.id = :organizerId AND e.endTime > :endsAfter")
+    VersionStamp findFeedVersionByOrganizer(UUID organizerId, LocalDateTime endsAfter);
+
+    /**
+     * Version of the rows behind {@link #findCalendarEvents}, for conditional GETs.
+     */
+    @Query("SELECT new com.archipellibre.dto.VersionStamp(COUNT(e), MAX(e.updatedAt)) FROM Event e " +
+           "WHERE e.startTime >= :earliestStart AND e.startTime < :to AND e.endTime > :from")
+    VersionStamp findCalendarVersion(LocalDateTime earliestStart, LocalDateTime from, LocalDateTime to);
 }
@@ -0,0 +1,91 @@
+package com.archipellibre.repository;
+
+import com.archipellibre.dto.EventSeriesView;
+import com.archipellibre.dto.FeedSeriesRow;
+import com.archipellibre.dto.SeriesOccurrence;
+import com.archipellibre.dto.VersionStamp;
+import com.archipellibre.model.EventSeries;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface EventSeriesRepository extends JpaRepository<EventSeries, UUID> {
+
+    /**
+     * Serializes changes to a series' occurrences, so that two requests
+     * cannot give the same occurrence two rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM EventSeries s WHERE s.id = :seriesId")
+    Optional<EventSeries> findByIdForUpdate(UUID seriesId);
+
+    /**
+     * Series with occurrences that may overlap [from, to). Series change
+     * rarely, so this and the next two queries are answered from the query
+     * cache between changes. They are named queries on {@link EventSeries}:
+     * Spring Data parses an {@code @Query} string again on every call, which
+     * would cost more than the cache hit itself.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<EventSeriesView> findOverlapping(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Occurrence starts in [from, to) that are not expanded: cancelled, or
+     * stored as an events row of their own. Selected by range alone, as a
+     * list of series ids would make Hibernate translate the query on every
+     * call, cache hit or not.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<SeriesOccurrence> findExceptions(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Version of the series behind {@link #findOverlapping}. Every change to
+     * a series' occurrences stamps {@code updatedAt}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    VersionStamp findVersion(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Series of the public iCalendar feed that may still have occurrences
+     * after {@code endsAfter}, each next to its exceptions, streamed in
+     * series order.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EventRepository.FEED_FETCH_SIZE))
+    @Query("SELECT new com.archipellibre.dto.FeedSeriesRow(s.id, s.title, s.description, s.location, " +
+           "s.firstStart, s.durationMinutes, s.recurrenceRule, s.updatedAt, x) " +
+           "FROM EventSeries s LEFT JOIN s.exceptions x " +
+           "WHERE s.lastEnd IS NULL OR s.lastEnd > :endsAfter ORDER BY s.id, x")
+    Stream<FeedSeriesRow> streamFeed(LocalDateTime endsAfter);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EventRepository.FEED_FETCH_SIZE))
+    @Query("SELECT new com.archipellibre.dto.FeedSeriesRow(s.id, s.title, s.description, s.location, " +
+           "s.firstStart, s.durationMinutes, s.recurrenceRule, s.updatedAt, x) " +
+           "FROM EventSeries s LEFT JOIN s.exceptions x " +
+           "WHERE s.organizer.id = :organizerId AND (s.lastEnd IS NULL OR s.lastEnd > :endsAfter) " +
+           "ORDER BY s.id, x")
+    Stream<FeedSeriesRow> streamFeedByOrganizer(UUID organizerId, LocalDateTime endsAfter);
+
+    /**
+     * Versions of the feeds above. Every change to a series' exceptions
+     * stamps {@code updatedAt}.
+     */
+    @Query("SELECT new com.archipellibre.dto.VersionStamp(COUNT(s), MAX(s.updatedAt)) FROM EventSeries s " +
+           "WHERE s.lastEnd IS NULL OR s.lastEnd > :endsAfter")
+    VersionStamp findFeedVersion(LocalDateTime endsAfter);
+
+    @Query("SELECT new com.archipellibre.dto.VersionStamp(COUNT(s), MAX(s.updatedAt)) FROM EventSeries s " +
+           "WHERE s.organizer.id = :organizerId AND (s.lastEnd IS NULL OR s.lastEnd > :endsAfter)")
+    VersionStamp findFeedVersionByOrganizer(UUID organizerId, LocalDateTime endsAfter);
+}
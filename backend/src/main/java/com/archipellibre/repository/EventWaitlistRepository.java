@@ -0,0 +1,46 @@
+package com.archipellibre.repository;
+
+import com.archipellibre.model.EventWaitlistEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EventWaitlistRepository extends JpaRepository<EventWaitlistEntry, UUID> {
+
+    Optional<EventWaitlistEntry> findByEventIdAndUserId(UUID eventId, UUID userId);
+
+    Optional<EventWaitlistEntry> findFirstByEventIdOrderByCreatedAtAscIdAsc(UUID eventId);
+
+    long countByEventId(UUID eventId);
+
+    /**
+     * Queues a member unless already queued. Returns 1 when a row was added.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_waitlist"))
+    @Query(value = "INSERT INTO event_waitlist (id, event_id, user_id, created_at) " +
+           "SELECT :id, :eventId, :userId, :createdAt WHERE NOT EXISTS " +
+           "(SELECT 1 FROM event_waitlist WHERE event_id = :eventId AND user_id = :userId)",
+           nativeQuery = true)
+    int insertIfAbsent(UUID id, UUID eventId, UUID userId, LocalDateTime createdAt);
+
+    @Query("SELECT COUNT(w) FROM EventWaitlistEntry w WHERE w.event.id = :eventId AND w.createdAt < :createdAt")
+    long countAhead(UUID eventId, LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM EventWaitlistEntry w WHERE w.id = :entryId")
+    int deleteEntry(UUID entryId);
+
+    @Modifying
+    @Query("DELETE FROM EventWaitlistEntry w WHERE w.event.id = :eventId AND w.user.id = :userId")
+    int deleteByEventIdAndUserId(UUID eventId, UUID userId);
+}
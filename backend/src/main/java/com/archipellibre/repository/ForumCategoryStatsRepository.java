@@ -0,0 +1,72 @@
+package com.archipellibre.repository;
+
+import com.archipellibre.dto.ForumCategorySummary;
+import com.archipellibre.model.ForumCategoryStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ForumCategoryStatsRepository extends JpaRepository<ForumCategoryStats, String> {
+
+    @Query("SELECT new com.archipellibre.dto.ForumCategorySummary(" +
+           "s.category, s.threadCount, s.postCount, s.lastActivityAt, s.lastPostAuthor) " +
+           "FROM ForumCategoryStats s ORDER BY s.category")
+    List<ForumCategorySummary> findOverview();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "forum_category_stats"))
+    @Query(value = "INSERT INTO forum_category_stats (category, thread_count, post_count) " +
+           "SELECT :category, 0, 0 WHERE NOT EXISTS " +
+           "(SELECT 1 FROM forum_category_stats WHERE category = :category)", nativeQuery = true)
+    int insertIfAbsent(String category);
+
+    @Modifying
+    @Query("UPDATE ForumCategoryStats s SET s.threadCount = s.threadCount + 1, s.lastActivityAt = :createdAt " +
+           "WHERE s.category = :category")
+    int recordThreadAdded(String category, LocalDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE ForumCategoryStats s SET s.threadCount = s.threadCount - 1, " +
+           "s.postCount = s.postCount - :postCount, s.lastPostAuthor = :lastPostAuthor, " +
+           "s.lastActivityAt = (SELECT MAX(t.lastActivityAt) FROM ForumThread t WHERE t.category = s.category) " +
+           "WHERE s.category = :category")
+    int recordThreadRemoved(String category, long postCount, String lastPostAuthor);
+
+    @Modifying
+    @Query("UPDATE ForumCategoryStats s SET s.postCount = s.postCount + 1, s.lastActivityAt = :postedAt, " +
+           "s.lastPostAuthor = :author WHERE s.category = :category")
+    int recordPostAdded(String category, LocalDateTime postedAt, String author);
+
+    @Modifying
+    @Query("UPDATE ForumCategoryStats s SET s.postCount = s.postCount - 1, s.lastPostAuthor = :lastPostAuthor, " +
+           "s.lastActivityAt = (SELECT MAX(t.lastActivityAt) FROM ForumThread t WHERE t.category = s.category) " +
+           "WHERE s.category = :category AND s.postCount > 0")
+    int recordPostRemoved(String category, String lastPostAuthor);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "forum_category_stats"))
+    @Query(value = "DELETE FROM forum_category_stats", nativeQuery = true)
+    int deleteAllStats();
+
+    /**
+     * Rebuilds every category row from the (already repaired) thread statistics.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "forum_category_stats"))
+    @Query(value = "INSERT INTO forum_category_stats " +
+           "(category, thread_count, post_count, last_activity_at, last_post_author) " +
+           "SELECT t.category, COUNT(*), SUM(t.post_count), MAX(t.last_activity_at), " +
+           "(SELECT t2.last_post_author FROM forum_threads t2 " +
+           "WHERE t2.category = t.category AND t2.last_post_author IS NOT NULL " +
+           "ORDER BY t2.last_activity_at DESC, t2.id DESC LIMIT 1) " +
+           "FROM forum_threads t GROUP BY t.category", nativeQuery = true)
+    int rebuildFromThreads();
+}
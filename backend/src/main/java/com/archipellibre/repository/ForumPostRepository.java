@@ -1,19 +1,57 @@
 package com.archipellibre.repository;
 
+import com.archipellibre.dto.ForumPostView;
 import com.archipellibre.model.ForumPost;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ForumPostRepository extends JpaRepository<ForumPost, UUID> {
     
+    /**
+     * Offset paging with a count query; prefer the keyset queries below.
+     */
     Page<ForumPost> findByThreadId(UUID threadId, Pageable pageable);
     
     Page<ForumPost> findByAuthorId(UUID authorId, Pageable pageable);
     
     Long countByThreadId(UUID threadId);
+
+    @Query("SELECT new com.archipellibre.dto.ForumPostView(" +
+           "p.id, p.content, a.username, p.edited, p.createdAt, p.updatedAt) " +
+           "FROM ForumPost p JOIN p.author a " +
+           "WHERE p.thread.id = :threadId " +
+           "ORDER BY p.createdAt, p.id")
+    List<ForumPostView> findThreadPosts(UUID threadId, Pageable pageable);
+
+    @Query("SELECT new com.archipellibre.dto.ForumPostView(" +
+           "p.id, p.content, a.username, p.edited, p.createdAt, p.updatedAt) " +
+           "FROM ForumPost p JOIN p.author a " +
+           "WHERE p.thread.id = :threadId " +
+           "AND (p.createdAt > :afterCreated OR (p.createdAt = :afterCreated AND p.id > :afterId)) " +
+           "ORDER BY p.createdAt, p.id")
+    List<ForumPostView> findThreadPostsAfter(UUID threadId, LocalDateTime afterCreated, UUID afterId,
+                                             Pageable pageable);
+
+    @Query("SELECT new com.archipellibre.dto.ForumPostView(" +
+           "p.id, p.content, a.username, p.edited, p.createdAt, p.updatedAt) " +
+           "FROM ForumPost p JOIN p.author a WHERE p.id = :postId")
+    Optional<ForumPostView> findView(UUID postId);
+
+    @Query("SELECT a.username FROM ForumPost p JOIN p.author a " +
+           "WHERE p.thread.id = :threadId ORDER BY p.createdAt DESC, p.id DESC")
+    List<String> findLatestAuthor(UUID threadId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ForumPost p WHERE p.thread.id = :threadId")
+    int deleteByThreadId(UUID threadId);
 }
@@ -1,12 +1,22 @@
 package com.archipellibre.repository;
 
+import com.archipellibre.dto.ForumThreadDetail;
+import com.archipellibre.dto.ForumThreadSummary;
+import com.archipellibre.dto.VersionStamp;
 import com.archipellibre.model.ForumThread;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -16,7 +26,79 @@ public interface ForumThreadRepository extends JpaRepository<ForumThread, UUID>
     
     Page<ForumThread> findByCreatorId(UUID creatorId, Pageable pageable);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ForumThread> findByPinnedTrue();
     
+    /**
+     * Offset paging with a count query; prefer the keyset queries below.
+     */
     Page<ForumThread> findAllByOrderByLastActivityAtDesc(Pageable pageable);
+
+    @Query("SELECT new com.archipellibre.dto.ForumThreadSummary(" +
+           "t.id, t.title, t.category, t.pinned, t.locked, c.username, t.createdAt, t.lastActivityAt, " +
+           "t.postCount, t.lastPostAuthor) " +
+           "FROM ForumThread t JOIN t.creator c " +
+           "ORDER BY t.lastActivityAt DESC, t.id DESC")
+    List<ForumThreadSummary> findLatestActivity(Pageable pageable);
+
+    @Query("SELECT new com.archipellibre.dto.ForumThreadSummary(" +
+           "t.id, t.title, t.category, t.pinned, t.locked, c.username, t.createdAt, t.lastActivityAt, " +
+           "t.postCount, t.lastPostAuthor) " +
+           "FROM ForumThread t JOIN t.creator c " +
+           "WHERE t.lastActivityAt < :beforeActivity " +
+           "OR (t.lastActivityAt = :beforeActivity AND t.id < :beforeId) " +
+           "ORDER BY t.lastActivityAt DESC, t.id DESC")
+    List<ForumThreadSummary> findLatestActivityBefore(LocalDateTime beforeActivity, UUID beforeId,
+                                                      Pageable pageable);
+
+    @Query("SELECT new com.archipellibre.dto.ForumThreadDetail(" +
+           "t.id, t.title, t.content, t.category, t.pinned, t.locked, c.username, t.createdAt, t.updatedAt, " +
+           "t.lastActivityAt, t.postCount, t.lastPostAuthor) " +
+           "FROM ForumThread t JOIN t.creator c WHERE t.id = :threadId")
+    Optional<ForumThreadDetail> findDetail(UUID threadId);
+
+    /**
+     * Post statistics of one thread, run through
+     * {@link com.archipellibre.persistence.CachedRowUpdates} so that only
+     * this thread is evicted from the cache.
+     */
+    String RECORD_POST_ADDED = "UPDATE forum_threads SET post_count = post_count + 1, last_activity_at = ?, " +
+            "last_post_author = ?, updated_at = ? WHERE id = ?";
+
+    String RECORD_POST_REMOVED = "UPDATE forum_threads t SET post_count = t.post_count - 1, last_post_author = ?, " +
+            "last_activity_at = COALESCE((SELECT MAX(p.created_at) FROM forum_posts p WHERE p.thread_id = t.id), " +
+            "t.created_at), updated_at = ? WHERE t.id = ? AND t.post_count > 0";
+
+    @Query("SELECT t.lastPostAuthor FROM ForumThread t " +
+           "WHERE t.category = :category AND t.lastPostAuthor IS NOT NULL " +
+           "ORDER BY t.lastActivityAt DESC, t.id DESC")
+    List<String> findLastPostAuthorInCategory(String category, Pageable pageable);
+
+    /**
+     * Recomputes every thread's post statistics from forum_posts in one statement.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "forum_threads"))
+    @Query(value = "UPDATE forum_threads t SET " +
+           "post_count = (SELECT COUNT(*) FROM forum_posts p WHERE p.thread_id = t.id), " +
+           "last_activity_at = COALESCE((SELECT MAX(p.created_at) FROM forum_posts p " +
+           "WHERE p.thread_id = t.id), t.created_at), " +
+           "last_post_author = (SELECT u.username FROM forum_posts p JOIN users u ON u.id = p.author_id " +
+           "WHERE p.thread_id = t.id ORDER BY p.created_at DESC, p.id DESC LIMIT 1), " +
+           "updated_at = :updatedAt", nativeQuery = true)
+    int rebuildStats(LocalDateTime updatedAt);
+
+    /**
+     * Version of the whole thread listing. Every post write also stamps its
+     * thread, so this covers the category overview as well.
+     */
+    @Query("SELECT new com.archipellibre.dto.VersionStamp(COUNT(t), MAX(t.updatedAt)) FROM ForumThread t")
+    VersionStamp findListingVersion();
+
+    /**
+     * Version of one thread and its posts; the count is 0 if the thread does not exist.
+     */
+    @Query("SELECT new com.archipellibre.dto.VersionStamp(COUNT(t), MAX(t.updatedAt)) FROM ForumThread t " +
+           "WHERE t.id = :threadId")
+    VersionStamp findThreadVersion(UUID threadId);
 }
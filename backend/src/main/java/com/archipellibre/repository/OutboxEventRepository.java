@@ -0,0 +1,45 @@
+package com.archipellibre.repository;
+
+import com.archipellibre.dto.OutboxBacklog;
+import com.archipellibre.dto.OutboxHead;
+import com.archipellibre.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest events due for delivery, skipping rows that another dispatcher
+     * is claiming right now.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2")) // LockOptions.SKIP_LOCKED
+    @Query("SELECT e FROM OutboxEvent e WHERE e.failedAt IS NULL AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<OutboxEvent> findDue(LocalDateTime now, Pageable pageable);
+
+    /**
+     * Oldest pending event of each given aggregate, due or not, and how many
+     * of its pending events have an id up to the given one.
+     */
+    @Query("SELECT new com.archipellibre.dto.OutboxHead(e.aggregateType, e.aggregateId, MIN(e.id), COUNT(e)) " +
+           "FROM OutboxEvent e WHERE e.failedAt IS NULL AND e.aggregateId IN :aggregateIds AND e.id <= :upToId " +
+           "GROUP BY e.aggregateType, e.aggregateId")
+    List<OutboxHead> findHeads(Collection<UUID> aggregateIds, Long upToId);
+
+    @Query("SELECT new com.archipellibre.dto.OutboxBacklog(COUNT(e), MIN(e.createdAt)) " +
+           "FROM OutboxEvent e WHERE e.failedAt IS NULL")
+    OutboxBacklog findBacklog();
+}
@@ -1,20 +1,47 @@
 package com.archipellibre.repository;
 
+import com.archipellibre.dto.UserProfile;
 import com.archipellibre.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
     Boolean existsByUsername(String username);
     
     Boolean existsByEmail(String email);
+
+    /**
+     * Profile with activity counts; each count is an index lookup on the
+     * owner column of its table.
+     */
+    @Query("SELECT new com.archipellibre.dto.UserProfile(u.id, u.username, u.role, u.bio, u.avatarUrl, u.createdAt, " +
+           "(SELECT COUNT(e) FROM Event e WHERE e.organizer = u), " +
+           "(SELECT COUNT(t) FROM ForumThread t WHERE t.creator = u), " +
+           "(SELECT COUNT(p) FROM ForumPost p WHERE p.author = u), " +
+           "(SELECT COUNT(w) FROM WorkshopProposal w WHERE w.proposer = u)) " +
+           "FROM User u WHERE u.username = :username AND u.active = true")
+    Optional<UserProfile> findProfile(String username);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(Collection<String> usernames);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
 }
@@ -1,20 +1,87 @@
 package com.archipellibre.repository;
 
+import com.archipellibre.dto.WorkshopProposalDetail;
+import com.archipellibre.dto.WorkshopProposalSummary;
+import com.archipellibre.dto.WorkshopRanking;
 import com.archipellibre.model.ProposalStatus;
 import com.archipellibre.model.WorkshopProposal;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface WorkshopProposalRepository extends JpaRepository<WorkshopProposal, UUID> {
     
+    /**
+     * Query cache region for proposal listings. Vote flushes bypass Hibernate,
+     * so WorkshopVoteService evicts this region itself.
+     */
+    String LIST_CACHE_REGION = "workshop-proposal-lists";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_CACHE_REGION)
+    })
     Page<WorkshopProposal> findByStatus(ProposalStatus status, Pageable pageable);
     
     Page<WorkshopProposal> findByProposerId(UUID proposerId, Pageable pageable);
     
+    /**
+     * Sorts the whole table; leaderboards are served by WorkshopLeaderboard instead.
+     */
     Page<WorkshopProposal> findAllByOrderByUpvotesDesc(Pageable pageable);
+
+    @Query("SELECT new com.archipellibre.dto.WorkshopProposalSummary(" +
+           "p.id, p.title, p.status, p.upvotes, u.username, p.createdAt) " +
+           "FROM WorkshopProposal p JOIN p.proposer u WHERE p.status = :status " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<WorkshopProposalSummary> findLatest(ProposalStatus status, Pageable pageable);
+
+    @Query("SELECT new com.archipellibre.dto.WorkshopProposalSummary(" +
+           "p.id, p.title, p.status, p.upvotes, u.username, p.createdAt) " +
+           "FROM WorkshopProposal p JOIN p.proposer u WHERE p.status = :status " +
+           "AND (p.createdAt < :beforeCreated OR (p.createdAt = :beforeCreated AND p.id < :beforeId)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<WorkshopProposalSummary> findLatestBefore(ProposalStatus status, LocalDateTime beforeCreated,
+                                                   UUID beforeId, Pageable pageable);
+
+    @Query("SELECT new com.archipellibre.dto.WorkshopProposalDetail(" +
+           "p.id, p.title, p.description, p.objectives, p.targetAudience, p.estimatedDuration, p.status, " +
+           "p.upvotes, u.username, p.createdAt, p.reviewedAt) " +
+           "FROM WorkshopProposal p JOIN p.proposer u WHERE p.id = :proposalId")
+    Optional<WorkshopProposalDetail> findDetail(UUID proposalId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM WorkshopProposal p WHERE p.id = :id")
+    Optional<WorkshopProposal> findByIdForUpdate(UUID id);
+
+    @Query("SELECT new com.archipellibre.dto.WorkshopRanking(p.id, p.title, p.status, p.upvotes) " +
+           "FROM WorkshopProposal p")
+    List<WorkshopRanking> findAllRankings();
+
+    @Query("SELECT new com.archipellibre.dto.WorkshopRanking(p.id, p.title, p.status, p.upvotes) " +
+           "FROM WorkshopProposal p WHERE p.id = :proposalId")
+    Optional<WorkshopRanking> findRanking(UUID proposalId);
+
+    /**
+     * Sets every tally to its pre-ledger baseline plus its ledger rows.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "workshop_proposals"))
+    @Query(value = "UPDATE workshop_proposals p SET upvotes = p.legacy_upvotes + " +
+           "(SELECT COUNT(*) FROM workshop_votes v WHERE v.proposal_id = p.id)", nativeQuery = true)
+    int reconcileUpvotes();
 }
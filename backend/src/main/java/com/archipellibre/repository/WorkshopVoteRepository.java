@@ -0,0 +1,34 @@
+package com.archipellibre.repository;
+
+import com.archipellibre.model.WorkshopVote;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface WorkshopVoteRepository extends JpaRepository<WorkshopVote, UUID> {
+
+    boolean existsByProposalIdAndUserId(UUID proposalId, UUID userId);
+
+    /**
+     * Records a vote unless the member already voted. Returns 1 when a row was added.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "workshop_votes"))
+    @Query(value = "INSERT INTO workshop_votes (id, proposal_id, user_id, created_at) " +
+           "SELECT :id, :proposalId, :userId, :createdAt WHERE NOT EXISTS " +
+           "(SELECT 1 FROM workshop_votes WHERE proposal_id = :proposalId AND user_id = :userId)",
+           nativeQuery = true)
+    int insertIfAbsent(UUID id, UUID proposalId, UUID userId, LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM WorkshopVote v WHERE v.proposal.id = :proposalId AND v.user.id = :userId")
+    int deleteByProposalIdAndUserId(UUID proposalId, UUID userId);
+}
@@ -0,0 +1,32 @@
+package com.archipellibre.search;
+
+import com.archipellibre.model.Event;
+import com.archipellibre.model.ForumPost;
+import com.archipellibre.model.ForumThread;
+import com.archipellibre.model.WorkshopProposal;
+
+import java.util.UUID;
+
+/**
+ * Searchable text of one entity. {@code parentId} links a post to its thread.
+ */
+public record SearchDocument(SearchType type, UUID id, UUID parentId, String title, String body) {
+
+    public static SearchDocument of(Event event) {
+        return new SearchDocument(SearchType.EVENT, event.getId(), null, event.getTitle(), event.getDescription());
+    }
+
+    public static SearchDocument of(ForumThread thread) {
+        return new SearchDocument(SearchType.THREAD, thread.getId(), null, thread.getTitle(), thread.getContent());
+    }
+
+    public static SearchDocument of(ForumPost post) {
+        // Only the thread id is read so an uninitialized proxy is never loaded
+        return new SearchDocument(SearchType.POST, post.getId(), post.getThread().getId(), null, post.getContent());
+    }
+
+    public static SearchDocument of(WorkshopProposal proposal) {
+        return new SearchDocument(SearchType.WORKSHOP, proposal.getId(), null, proposal.getTitle(),
+                proposal.getDescription() + "\n" + proposal.getObjectives());
+    }
+}
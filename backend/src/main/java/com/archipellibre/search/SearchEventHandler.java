@@ -0,0 +1,36 @@
+package com.archipellibre.search;
+
+import com.archipellibre.outbox.DomainEvent;
+import com.archipellibre.outbox.DomainEventHandler;
+import com.archipellibre.outbox.PostCreated;
+import com.archipellibre.repository.ForumPostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Indexes new forum posts from the outbox; {@link SearchIndexListener} handles
+ * everything else.
+ */
+@Component
+public class SearchEventHandler implements DomainEventHandler {
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ForumPostRepository postRepository;
+
+    @Override
+    public void handle(DomainEvent event) {
+        if (event instanceof PostCreated created) {
+            // Index the post as it is now: it may have been edited or deleted since the event was published
+            UUID postId = created.post().id();
+            postRepository.findView(postId).ifPresentOrElse(
+                    post -> searchIndex.index(new SearchDocument(SearchType.POST, postId, created.threadId(),
+                            null, post.content())),
+                    () -> searchIndex.delete(SearchType.POST, postId));
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.archipellibre.search;
+
+import com.archipellibre.dto.SearchHit;
+import com.archipellibre.dto.SearchResponse;
+import com.archipellibre.service.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Embedded Lucene index, with titles and bodies analyzed in both French and
+ * English.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    static final String KEY = "key";
+    static final String TYPE = "type";
+    static final String ID = "id";
+    static final String PARENT = "parent";
+    static final String TITLE = "title";
+    static final String BODY = "body";
+    static final String TITLE_FR = "title_fr";
+    static final String TITLE_EN = "title_en";
+    static final String BODY_FR = "body_fr";
+    static final String BODY_EN = "body_en";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            TITLE_FR, 3f, TITLE_EN, 3f, BODY_FR, 1f, BODY_EN, 1f);
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int SNIPPET_FALLBACK_LENGTH = 200;
+
+    private final Directory directory;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final AtomicBoolean refreshPaused = new AtomicBoolean();
+    // Writes made while a rebuild is running, or null
+    private final Object journalLock = new Object();
+    private List<IndexWrite> journal;
+
+    public SearchIndex(@Value("${app.search.index-dir:}") String indexDir) throws IOException {
+        this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        this.analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), Map.of(
+                TITLE_FR, new FrenchAnalyzer(), BODY_FR, new FrenchAnalyzer(),
+                TITLE_EN, new EnglishAnalyzer(), BODY_EN, new EnglishAnalyzer()));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(64);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void index(SearchDocument document) {
+        Term key = new Term(KEY, key(document.type(), document.id()));
+        Document doc = toLucene(document);
+        write(writer -> writer.updateDocument(key, doc));
+    }
+
+    public void delete(SearchType type, UUID id) {
+        Term key = new Term(KEY, key(type, id));
+        write(writer -> writer.deleteDocuments(key));
+    }
+
+    /**
+     * Removes documents attached to a parent, e.g. the posts of a deleted thread.
+     */
+    public void deleteChildren(UUID parentId) {
+        Term parent = new Term(PARENT, parentId.toString());
+        write(writer -> writer.deleteDocuments(parent));
+    }
+
+    public SearchResponse search(String text, Set<SearchType> types, int limit) {
+        long started = System.nanoTime();
+        IndexSearcher searcher = acquire();
+        try {
+            Query query = parse(text, types);
+            TopDocs top = searcher.search(query, limit);
+            Map<String, String[]> snippets = highlighter(searcher)
+                    .highlightFields(new String[]{BODY_FR, BODY_EN}, query, top, new int[]{1, 1});
+            StoredFields storedFields = searcher.storedFields();
+
+            List<SearchHit> hits = new ArrayList<>(top.scoreDocs.length);
+            for (int i = 0; i < top.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                Document doc = storedFields.document(scoreDoc.doc);
+                String snippet = bestSnippet(snippets.get(BODY_FR)[i], snippets.get(BODY_EN)[i]);
+                hits.add(new SearchHit(
+                        SearchType.valueOf(doc.get(TYPE)),
+                        UUID.fromString(doc.get(ID)),
+                        doc.get(PARENT) == null ? null : UUID.fromString(doc.get(PARENT)),
+                        doc.get(TITLE),
+                        snippet != null ? snippet : leadingText(doc.get(BODY)),
+                        scoreDoc.score));
+            }
+            long tookMs = (System.nanoTime() - started) / 1_000_000;
+            return new SearchResponse(text, top.totalHits.value, hits, tookMs);
+        } catch (IndexSearcher.TooManyClauses ex) {
+            throw new BadRequestException("Search query matches too many terms");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    public int numDocs() {
+        IndexSearcher searcher = acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given documents, which should be read
+     * lazily so that they are no older than the start of the rebuild. Writes
+     * made meanwhile are applied again at the end, since a streamed row may
+     * predate them. Searches keep seeing the previous contents until the
+     * rebuild is committed.
+     */
+    public long rebuild(Iterator<SearchDocument> documents) {
+        refreshPaused.set(true);
+        try {
+            synchronized (journalLock) {
+                journal = new ArrayList<>();
+            }
+            writer.deleteAll();
+            long count = 0;
+            while (documents.hasNext()) {
+                SearchDocument document = documents.next();
+                writer.updateDocument(new Term(KEY, key(document.type(), document.id())), toLucene(document));
+                count++;
+            }
+            synchronized (journalLock) {
+                for (IndexWrite write : journal) {
+                    write.apply(writer);
+                }
+                journal = null;
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            return count;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            synchronized (journalLock) {
+                journal = null;
+            }
+            refreshPaused.set(false);
+        }
+    }
+
+    /**
+     * Makes all writes so far visible to searches.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval:1000}")
+    public void scheduledRefresh() throws IOException {
+        if (!refreshPaused.get()) {
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.commit-interval:10000}")
+    public void scheduledCommit() throws IOException {
+        if (!refreshPaused.get() && writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        logger.info("Search index closed");
+    }
+
+    private Query parse(String text, Set<SearchType> types) {
+        if (text == null || text.isBlank() || text.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query parsed = parser.parse(text);
+        if (parsed == null) {
+            // Only stop words or operators
+            parsed = new MatchNoDocsQuery();
+        }
+        if (types == null || types.isEmpty() || types.size() == SearchType.values().length) {
+            return parsed;
+        }
+        List<BytesRef> typeTerms = types.stream().map(type -> new BytesRef(type.name())).toList();
+        return new BooleanQuery.Builder()
+                .add(parsed, BooleanClause.Occur.MUST)
+                .add(new TermInSetQuery(TYPE, typeTerms), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private void write(IndexWrite write) {
+        synchronized (journalLock) {
+            if (journal != null) {
+                journal.add(write);
+            }
+        }
+        try {
+            write.apply(writer);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private UnifiedHighlighter highlighter(IndexSearcher searcher) {
+        UnifiedHighlighter.Builder builder = UnifiedHighlighter.builder(searcher, analyzer)
+                .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", " … ", true))
+                .withMaxNoHighlightPassages(0);
+        return new StoredSourceHighlighter(builder, searcher, Map.of(BODY_FR, BODY, BODY_EN, BODY));
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Document toLucene(SearchDocument source) {
+        String title = source.title() == null ? "" : source.title();
+        String body = source.body() == null ? "" : source.body();
+
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(source.type(), source.id()), Field.Store.NO));
+        doc.add(new StringField(TYPE, source.type().name(), Field.Store.YES));
+        doc.add(new StoredField(ID, source.id().toString()));
+        if (source.parentId() != null) {
+            doc.add(new StringField(PARENT, source.parentId().toString(), Field.Store.YES));
+        }
+        doc.add(new StoredField(TITLE, title));
+        doc.add(new StoredField(BODY, body));
+        doc.add(new TextField(TITLE_FR, title, Field.Store.NO));
+        doc.add(new TextField(TITLE_EN, title, Field.Store.NO));
+        doc.add(new TextField(BODY_FR, body, Field.Store.NO));
+        doc.add(new TextField(BODY_EN, body, Field.Store.NO));
+        return doc;
+    }
+
+    private static String key(SearchType type, UUID id) {
+        return type.name() + ":" + id;
+    }
+
+    /**
+     * Picks whichever language's snippet highlights more of the query.
+     */
+    private static String bestSnippet(String french, String english) {
+        if (french == null || english == null) {
+            return french != null ? french : english;
+        }
+        return countMarks(english) > countMarks(french) ? english : french;
+    }
+
+    private static int countMarks(String snippet) {
+        int count = 0;
+        for (int from = snippet.indexOf("<mark>"); from >= 0; from = snippet.indexOf("<mark>", from + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String leadingText(String body) {
+        if (body == null) {
+            return "";
+        }
+        String text = body.length() <= SNIPPET_FALLBACK_LENGTH ? body : body.substring(0, SNIPPET_FALLBACK_LENGTH) + " …";
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private interface IndexWrite {
+        void apply(IndexWriter writer) throws IOException;
+    }
+}
@@ -0,0 +1,80 @@
+package com.archipellibre.search;
+
+import com.archipellibre.model.Event;
+import com.archipellibre.model.ForumPost;
+import com.archipellibre.model.ForumThread;
+import com.archipellibre.model.WorkshopProposal;
+import com.archipellibre.persistence.PostCommitEntityListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mirrors committed writes of searchable entities into {@link SearchIndex}.
+ */
+@Component
+public class SearchIndexListener extends PostCommitEntityListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexListener.class);
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    public SearchIndexListener() {
+        super(Event.class, ForumThread.class, ForumPost.class, WorkshopProposal.class);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        // New posts are indexed from the outbox by SearchEventHandler
+        if (!(event.getEntity() instanceof ForumPost)) {
+            index(event.getEntity());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        index(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        try {
+            switch (event.getEntity()) {
+                case Event e -> searchIndex.delete(SearchType.EVENT, e.getId());
+                case ForumThread thread -> {
+                    // Posts of a thread are removed in bulk, without entity events
+                    searchIndex.delete(SearchType.THREAD, thread.getId());
+                    searchIndex.deleteChildren(thread.getId());
+                }
+                case ForumPost post -> searchIndex.delete(SearchType.POST, post.getId());
+                case WorkshopProposal proposal -> searchIndex.delete(SearchType.WORKSHOP, proposal.getId());
+                default -> {
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Could not remove {} from the search index", event.getId(), ex);
+        }
+    }
+
+    private void index(Object entity) {
+        try {
+            SearchDocument document = switch (entity) {
+                case Event e -> SearchDocument.of(e);
+                case ForumThread thread -> SearchDocument.of(thread);
+                case ForumPost post -> SearchDocument.of(post);
+                case WorkshopProposal proposal -> SearchDocument.of(proposal);
+                default -> null;
+            };
+            if (document != null) {
+                searchIndex.index(document);
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Could not index {}", entity.getClass().getSimpleName(), ex);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.archipellibre.search;
+
+import com.archipellibre.service.ConflictException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Full rebuild of the search index from the database.
+ */
+@Service
+public class SearchReindexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchReindexService.class);
+
+    private static final int FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public record ReindexReport(long documents, long tookMs) {
+    }
+
+    @Transactional(readOnly = true)
+    public ReindexReport reindex() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A reindex is already running");
+        }
+        long started = System.nanoTime();
+        // Suppliers keep a single result cursor open at a time
+        Stream<Supplier<Stream<SearchDocument>>> sources = Stream.of(
+                () -> stream(SearchType.EVENT, "SELECT e.id, e.title, e.description FROM Event e"),
+                () -> stream(SearchType.THREAD, "SELECT t.id, t.title, t.content FROM ForumThread t"),
+                () -> stream(SearchType.POST, "SELECT p.id, p.thread.id, p.content FROM ForumPost p"),
+                () -> stream(SearchType.WORKSHOP, "SELECT w.id, w.title, " +
+                        "CONCAT(w.description, '\n', w.objectives) FROM WorkshopProposal w"));
+        try (Stream<SearchDocument> documents = sources.flatMap(Supplier::get)) {
+            Iterator<SearchDocument> iterator = documents.iterator();
+            long count = searchIndex.rebuild(iterator);
+            long tookMs = (System.nanoTime() - started) / 1_000_000;
+            logger.info("Reindexed {} documents in {} ms", count, tookMs);
+            return new ReindexReport(count, tookMs);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reindexIfEmpty() {
+        if (searchIndex.numDocs() == 0) {
+            reindex();
+        }
+    }
+
+    private Stream<SearchDocument> stream(SearchType type, String jpql) {
+        return entityManager.createQuery(jpql, Object[].class)
+                .setHint("org.hibernate.fetchSize", FETCH_SIZE)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()
+                .map(row -> type == SearchType.POST
+                        ? new SearchDocument(type, (UUID) row[0], (UUID) row[1], null, (String) row[2])
+                        : new SearchDocument(type, (UUID) row[0], null, (String) row[1], (String) row[2]));
+    }
+}
@@ -0,0 +1,8 @@
+package com.archipellibre.search;
+
+public enum SearchType {
+    EVENT,
+    THREAD,
+    POST,
+    WORKSHOP
+}
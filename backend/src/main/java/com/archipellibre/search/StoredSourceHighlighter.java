@@ -0,0 +1,54 @@
+package com.archipellibre.search;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Highlights analyzed-only fields (such as {@code body_fr} and
+ * {@code body_en}) by re-analyzing the single stored copy of their text, so
+ * the text does not have to be stored once per language.
+ */
+class StoredSourceHighlighter extends UnifiedHighlighter {
+
+    private final IndexSearcher searcher;
+    private final Map<String, String> storedSource;
+
+    StoredSourceHighlighter(Builder builder, IndexSearcher searcher, Map<String, String> storedSource) {
+        super(builder);
+        this.searcher = searcher;
+        this.storedSource = storedSource;
+    }
+
+    @Override
+    protected List<CharSequence[]> loadFieldValues(String[] fields, DocIdSetIterator docIter,
+                                                   int cacheCharsThreshold) throws IOException {
+        Set<String> sources = new HashSet<>();
+        for (String field : fields) {
+            sources.add(storedSource.getOrDefault(field, field));
+        }
+        StoredFields storedFields = searcher.storedFields();
+        List<CharSequence[]> values = new ArrayList<>();
+        long loadedChars = 0;
+        do {
+            int docId = docIter.nextDoc();
+            if (docId == DocIdSetIterator.NO_MORE_DOCS) {
+                break;
+            }
+            Document doc = storedFields.document(docId, sources);
+            CharSequence[] byField = new CharSequence[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                byField[i] = doc.get(storedSource.getOrDefault(fields[i], fields[i]));
+                loadedChars += byField[i] == null ? 0 : byField[i].length();
+            }
+            values.add(byField);
+            // Same batching contract as the default implementation
+        } while (cacheCharsThreshold != 0 && loadedChars <= cacheCharsThreshold);
+        return values;
+    }
+}
@@ -1,5 +1,9 @@
 package com.archipellibre.security;
 
+import com.archipellibre.model.UserRole;
+import com.archipellibre.push.PushWebSocketHandler;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,7 +11,10 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,45 +22,139 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    /**
+     * Request attribute holding the expiry of the token that authenticated it.
+     */
+    public static final String TOKEN_EXPIRES_AT = JwtAuthenticationFilter.class.getName() + ".expiresAt";
+
     @Autowired
     private JwtTokenProvider tokenProvider;
 
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jwt.self-contained:true}")
+    private boolean selfContainedTokens;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
+        long started = System.nanoTime();
+        String outcome;
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJWT(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (!StringUtils.hasText(jwt)) {
+                outcome = "anonymous";
+            } else {
+                TokenVerification verification = tokenProvider.verify(jwt);
+                outcome = verification.isValid()
+                        ? authenticate(verification.claims(), request)
+                        : verification.failure().name().toLowerCase(Locale.ROOT);
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
+            outcome = "error";
         }
+        meterRegistry.timer("auth.jwt.filter", "outcome", outcome)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Puts the token's principal in the security context.
+     *
+     * @return the outcome tag for {@code auth.jwt.filter}
+     */
+    private String authenticate(Claims claims, HttpServletRequest request) {
+        if (JwtTokenProvider.TOKEN_TYPE_REFRESH.equals(claims.get(JwtTokenProvider.CLAIM_TOKEN_TYPE))) {
+            return "refresh_token";
+        }
+        if (JwtTokenProvider.TOKEN_TYPE_FEED.equals(claims.get(JwtTokenProvider.CLAIM_TOKEN_TYPE))) {
+            return "feed_token";
+        }
+        if (tokenRevocationList.isRevoked(claims.getId(), claims.getSubject(), claims.getIssuedAt(), claims.getExpiration())) {
+            return "revoked";
+        }
+
+        UserDetails userDetails = resolvePrincipal(claims);
+        if (userDetails == null || !userDetails.isEnabled()) {
+            return "disabled";
+        }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        request.setAttribute(TOKEN_EXPIRES_AT, claims.getExpiration().toInstant());
+        return "authenticated";
+    }
+
+    private UserDetails resolvePrincipal(Claims claims) {
+        String username = claims.getSubject();
+        Object authorities = claims.get(JwtTokenProvider.CLAIM_AUTHORITIES);
+        String userId = claims.get(JwtTokenProvider.CLAIM_USER_ID, String.class);
+        if (selfContainedTokens && authorities instanceof List<?> names && userId != null) {
+            Collection<? extends GrantedAuthority> grantedAuthorities = toAuthorities(names);
+            return new UserPrincipal(
+                    UUID.fromString(userId),
+                    username,
+                    null,
+                    "",
+                    roleOf(grantedAuthorities),
+                    Boolean.TRUE.equals(claims.get(JwtTokenProvider.CLAIM_ACTIVE, Boolean.class)),
+                    grantedAuthorities
+            );
+        }
+
+        return principalCache.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    private Collection<? extends GrantedAuthority> toAuthorities(List<?> names) {
+        return names.stream()
+                .map(name -> new SimpleGrantedAuthority(name.toString()))
+                .toList();
+    }
+
+    private UserRole roleOf(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .map(authority -> UserRole.valueOf(authority.substring("ROLE_".length())))
+                .findFirst()
+                .orElse(UserRole.USER);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        // Browsers cannot set headers on a WebSocket handshake
+        if (PushWebSocketHandler.PATH.equals(request.getServletPath())) {
+            return request.getParameter("access_token");
+        }
         return null;
     }
 }
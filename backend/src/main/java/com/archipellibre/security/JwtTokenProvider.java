@@ -1,73 +1,154 @@
 package com.archipellibre.security;
 
 import io.jsonwebtoken.*;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+    public static final String CLAIM_AUTHORITIES = "auth";
+    public static final String CLAIM_ACTIVE = "active";
+    public static final String CLAIM_USER_ID = "uid";
+
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+    public static final String TOKEN_TYPE_FEED = "feed";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration}")
     private long jwtExpirationMs;
 
-    private byte[] getSigningKey() {
-        return jwtSecret.getBytes(StandardCharsets.UTF_8);
+    @Value("${app.jwt.refresh-expiration:2592000000}")
+    private long refreshExpirationMs;
+
+    @Value("${app.jwt.feed-expiration:31536000000}")
+    private long feedExpirationMs;
+
+    private SecretKey signingKey;
+
+    @PostConstruct
+    public void init() {
+        signingKey = new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8),
+                SignatureAlgorithm.HS512.getJcaName());
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        return generateAccessToken((UserDetails) authentication.getPrincipal());
+    }
 
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
-
-    return Jwts.builder()
-        .setSubject(userPrincipal.getUsername())
-        .setIssuedAt(now)
-        .setExpiration(expiryDate)
-        // Legacy JJWT signature method for 0.9.x
-        .signWith(SignatureAlgorithm.HS512, getSigningKey())
-        .compact();
+    /**
+     * Short-lived access token carrying the user's authorities and active flag,
+     * so requests can be authenticated from the claims alone.
+     */
+    public String generateAccessToken(UserDetails userPrincipal) {
+        List<String> authorities = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        JwtBuilder builder = buildToken(userPrincipal.getUsername(), TOKEN_TYPE_ACCESS, jwtExpirationMs)
+                .claim(CLAIM_AUTHORITIES, authorities)
+                .claim(CLAIM_ACTIVE, userPrincipal.isEnabled());
+        if (userPrincipal instanceof UserPrincipal principal && principal.getId() != null) {
+            builder.claim(CLAIM_USER_ID, principal.getId().toString());
+        }
+        return builder.compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-    Claims claims = Jwts.parser()
-        .setSigningKey(getSigningKey())
-        .parseClaimsJws(token)
-        .getBody();
+    /**
+     * Long-lived token that can only be exchanged at /api/auth/refresh.
+     */
+    public String generateRefreshToken(String username) {
+        return buildToken(username, TOKEN_TYPE_REFRESH, refreshExpirationMs).compact();
+    }
 
-        return claims.getSubject();
+    /**
+     * Token for calendar subscription URLs, which calendar apps poll without
+     * headers. It only reads the holder's iCalendar feeds.
+     */
+    public String generateFeedToken(UserPrincipal principal) {
+        return buildToken(principal.getUsername(), TOKEN_TYPE_FEED, feedExpirationMs)
+                .claim(CLAIM_USER_ID, principal.getId().toString())
+                .compact();
     }
 
-    public boolean validateToken(String authToken) {
+    private JwtBuilder buildToken(String subject, String tokenType, long expirationMs) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + expirationMs);
+
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(subject)
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .claim(CLAIM_TOKEN_TYPE, tokenType)
+                // Legacy JJWT signature method for 0.9.x
+                .signWith(SignatureAlgorithm.HS512, signingKey);
+    }
+
+    /**
+     * Parses and verifies the token once, returning either its claims or the
+     * reason it was rejected. Rejections are expected traffic (expired tokens
+     * especially), so they are logged at debug level without a stack trace.
+     */
+    public TokenVerification verify(String token) {
         try {
-        Jwts.parser()
-            .setSigningKey(getSigningKey())
-            .parseClaimsJws(authToken);
-            return true;
-        } catch (SecurityException ex) {
-            logger.error("Invalid JWT signature");
-        } catch (MalformedJwtException ex) {
-            logger.error("Invalid JWT token");
+            Claims claims = Jwts.parser()
+                    .setSigningKey(signingKey)
+                    .parseClaimsJws(token)
+                    .getBody();
+            return TokenVerification.valid(claims);
         } catch (ExpiredJwtException ex) {
-            logger.error("Expired JWT token");
+            return rejected(TokenVerification.Failure.EXPIRED);
+        } catch (SignatureException ex) {
+            return rejected(TokenVerification.Failure.INVALID_SIGNATURE);
+        } catch (MalformedJwtException ex) {
+            return rejected(TokenVerification.Failure.MALFORMED);
         } catch (UnsupportedJwtException ex) {
-            logger.error("Unsupported JWT token");
+            return rejected(TokenVerification.Failure.UNSUPPORTED);
         } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string is empty");
+            return rejected(TokenVerification.Failure.EMPTY);
+        } catch (JwtException ex) {
+            // Premature and failed claim checks, and any subtype a JJWT upgrade adds
+            return rejected(TokenVerification.Failure.INVALID);
         }
-        return false;
+    }
+
+    private TokenVerification rejected(TokenVerification.Failure failure) {
+        logger.debug("Rejected JWT token: {}", failure);
+        return TokenVerification.invalid(failure);
+    }
+
+    public Claims getClaimsFromJWT(String token) {
+        return Jwts.parser()
+                .setSigningKey(signingKey)
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public String getUsernameFromJWT(String token) {
+        return getClaimsFromJWT(token).getSubject();
+    }
+
+    public boolean validateToken(String authToken) {
+        return verify(authToken).isValid();
     }
 }
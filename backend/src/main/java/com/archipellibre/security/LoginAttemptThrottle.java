@@ -0,0 +1,159 @@
+package com.archipellibre.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Striped, fixed-window failed-login counters per account and per client IP.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private static final int STRIPES = 64;
+    private static final int MAX_KEYS_PER_STRIPE = 1024;
+
+    private final Stripe[] accountStripes = newStripes();
+    private final Stripe[] ipStripes = newStripes();
+
+    private final int maxAccountFailures;
+    private final int maxIpFailures;
+    private final long windowMs;
+
+    public LoginAttemptThrottle(@Value("${app.security.login-throttle.max-account-failures:5}") int maxAccountFailures,
+                                @Value("${app.security.login-throttle.max-ip-failures:20}") int maxIpFailures,
+                                @Value("${app.security.login-throttle.window:900000}") long windowMs) {
+        this.maxAccountFailures = maxAccountFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Counts a login attempt against the account and the IP, checking and
+     * incrementing each counter under one lock so that a concurrent burst
+     * cannot overshoot the limits. The attempt stays counted as a failure
+     * unless {@link #recordSuccess} or {@link #release} gives it back.
+     *
+     * @throws LoginThrottledException if either the account or the IP has used
+     *                                 up its failed attempts for the current window
+     */
+    public void acquire(String account, String ip) {
+        long now = System.currentTimeMillis();
+        String key = normalize(account);
+        long retryAfterMs = stripeFor(accountStripes, key).tryIncrement(key, maxAccountFailures, now);
+        if (retryAfterMs == 0) {
+            retryAfterMs = stripeFor(ipStripes, ip).tryIncrement(ip, maxIpFailures, now);
+            if (retryAfterMs > 0) {
+                stripeFor(accountStripes, key).decrement(key);
+            }
+        }
+
+        if (retryAfterMs > 0) {
+            throw new LoginThrottledException((retryAfterMs + 999) / 1000);
+        }
+    }
+
+    public void recordSuccess(String account, String ip) {
+        stripeFor(accountStripes, normalize(account)).remove(normalize(account));
+        stripeFor(ipStripes, ip).decrement(ip);
+    }
+
+    /**
+     * Gives back an attempt that ended without a credentials check, such as a
+     * disabled account.
+     */
+    public void release(String account, String ip) {
+        stripeFor(accountStripes, normalize(account)).decrement(normalize(account));
+        stripeFor(ipStripes, ip).decrement(ip);
+    }
+
+    public void reset() {
+        for (Stripe stripe : accountStripes) {
+            stripe.clear();
+        }
+        for (Stripe stripe : ipStripes) {
+            stripe.clear();
+        }
+    }
+
+    private static String normalize(String account) {
+        return account == null ? "" : account.toLowerCase(Locale.ROOT);
+    }
+
+    private static Stripe stripeFor(Stripe[] stripes, String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private Stripe[] newStripes() {
+        Stripe[] stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        return stripes;
+    }
+
+    private final class Stripe {
+
+        private final Map<String, Window> windows = new HashMap<>();
+
+        /**
+         * Returns 0 after counting the attempt, or how long the key stays
+         * blocked without counting it.
+         */
+        synchronized long tryIncrement(String key, int maxFailures, long now) {
+            Window window = windows.get(key);
+            if (window == null || window.start + windowMs <= now) {
+                if (window == null && windows.size() >= MAX_KEYS_PER_STRIPE) {
+                    purgeExpired(now);
+                }
+                window = new Window(now);
+                windows.put(key, window);
+            }
+            if (window.failures >= maxFailures) {
+                return window.start + windowMs - now;
+            }
+            window.failures++;
+            return 0;
+        }
+
+        synchronized void decrement(String key) {
+            Window window = windows.get(key);
+            if (window != null && window.failures > 0) {
+                window.failures--;
+            }
+        }
+
+        synchronized void remove(String key) {
+            windows.remove(key);
+        }
+
+        synchronized void clear() {
+            windows.clear();
+        }
+
+        private void purgeExpired(long now) {
+            windows.values().removeIf(window -> window.start + windowMs <= now);
+            // Still full of live windows: drop one arbitrary key rather than grow
+            if (windows.size() >= MAX_KEYS_PER_STRIPE) {
+                Iterator<String> keys = windows.keySet().iterator();
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+
+    private static final class Window {
+
+        private final long start;
+        private int failures;
+
+        private Window(long start) {
+            this.start = start;
+        }
+    }
+}
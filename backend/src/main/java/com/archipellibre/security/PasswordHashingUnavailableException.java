@@ -0,0 +1,11 @@
+package com.archipellibre.security;
+
+/**
+ * Thrown when the password hashing pool is saturated or too slow to answer.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
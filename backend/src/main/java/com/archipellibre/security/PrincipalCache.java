@@ -0,0 +1,123 @@
+package com.archipellibre.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by JWT subject.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final long ttlMs;
+
+    public PrincipalCache(@Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${app.security.principal-cache.ttl:60000}") long ttlMs) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+    }
+
+    public UserDetails get(String subject, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(subject);
+        if (entry != null && entry.expiresAt > now) {
+            hits.increment();
+            return entry.principal;
+        }
+        misses.increment();
+        if (entry != null && entries.remove(subject, entry)) {
+            evictions.increment();
+        }
+
+        UserDetails principal = loader.apply(subject);
+        if (principal instanceof CredentialsContainer credentials) {
+            credentials.eraseCredentials();
+        }
+        put(new Entry(subject, principal, now + ttlMs), now);
+        return principal;
+    }
+
+    public void evict(String subject) {
+        if (entries.remove(subject) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    public Stats stats() {
+        return new Stats(entries.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cache.size", entries, ConcurrentHashMap::size)
+                .tag("cache", "principals")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", "principals")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", "principals")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", "principals")
+                .register(registry);
+    }
+
+    private void put(Entry entry, long now) {
+        entries.put(entry.subject, entry);
+        insertionOrder.add(entry);
+
+        // Drop queue heads that were replaced, evicted or have already expired
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (entries.get(head.subject) != head || head.expiresAt <= now)) {
+            if (insertionOrder.remove(head) && entries.remove(head.subject, head)) {
+                evictions.increment();
+            }
+        }
+
+        while (entries.size() > maxSize && (head = insertionOrder.poll()) != null) {
+            if (entries.remove(head.subject, head)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private record Entry(String subject, UserDetails principal, long expiresAt) {
+    }
+
+    public record Stats(int size, long hits, long misses, long evictions) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
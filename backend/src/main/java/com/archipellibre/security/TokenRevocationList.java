@@ -0,0 +1,84 @@
+package com.archipellibre.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory, per-node denylist for self-contained tokens, bucketed by expiry
+ * minute, plus per-user issued-before cutoffs.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final long BUCKET_WIDTH_MS = 60_000;
+
+    private final Map<Long, Set<String>> revokedIdsByBucket = new ConcurrentHashMap<>();
+    private final Map<String, Long> userCutoffs = new ConcurrentHashMap<>();
+
+    @Value("${app.jwt.expiration}")
+    private long accessTokenExpirationMs;
+
+    /**
+     * Returns false when the token was already revoked or has expired, so
+     * that only one of several concurrent callers wins.
+     */
+    public boolean revoke(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return false;
+        }
+        boolean added = revokedIdsByBucket
+                .computeIfAbsent(bucketOf(expiresAt.getTime()), bucket -> ConcurrentHashMap.newKeySet())
+                .add(tokenId);
+        purgeExpired();
+        return added;
+    }
+
+    public void revokeUser(String username) {
+        // iat has second precision: tokens issued later in the same second carry the new claims
+        long now = System.currentTimeMillis();
+        userCutoffs.put(username, now - now % 1000);
+        purgeExpired();
+    }
+
+    public boolean isRevoked(String tokenId, String username, Date issuedAt, Date expiresAt) {
+        return isTokenRevoked(tokenId, expiresAt) || isUserRevoked(username, issuedAt);
+    }
+
+    public boolean isTokenRevoked(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            return false;
+        }
+        Set<String> bucket = revokedIdsByBucket.get(bucketOf(expiresAt.getTime()));
+        return bucket != null && bucket.contains(tokenId);
+    }
+
+    public boolean isUserRevoked(String username, Date issuedAt) {
+        Long cutoff = username != null ? userCutoffs.get(username) : null;
+        return cutoff != null && (issuedAt == null || issuedAt.getTime() < cutoff);
+    }
+
+    public int size() {
+        return revokedIdsByBucket.values().stream().mapToInt(Set::size).sum() + userCutoffs.size();
+    }
+
+    public void reset() {
+        revokedIdsByBucket.clear();
+        userCutoffs.clear();
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long currentBucket = bucketOf(now);
+        revokedIdsByBucket.keySet().removeIf(bucket -> bucket < currentBucket);
+        userCutoffs.values().removeIf(cutoff -> cutoff + accessTokenExpirationMs < now);
+    }
+
+    private static long bucketOf(long epochMs) {
+        return epochMs / BUCKET_WIDTH_MS;
+    }
+}
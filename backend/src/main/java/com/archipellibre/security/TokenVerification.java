@@ -0,0 +1,30 @@
+package com.archipellibre.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Outcome of a single parse-and-verify pass over a JWT.
+ */
+public record TokenVerification(Claims claims, Failure failure) {
+
+    public enum Failure {
+        EXPIRED,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        EMPTY,
+        INVALID
+    }
+
+    public static TokenVerification valid(Claims claims) {
+        return new TokenVerification(claims, null);
+    }
+
+    public static TokenVerification invalid(Failure failure) {
+        return new TokenVerification(null, failure);
+    }
+
+    public boolean isValid() {
+        return claims != null;
+    }
+}
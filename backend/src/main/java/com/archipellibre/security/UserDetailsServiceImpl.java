@@ -27,13 +27,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .or(() -> userRepository.findByEmail(usernameOrEmail))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
 
-        return new org.springframework.security.core.userdetails.User(
+        return toUserDetails(user);
+    }
+
+    public UserPrincipal toUserDetails(User user) {
+        return new UserPrincipal(
+                user.getId(),
                 user.getUsername(),
+                user.getEmail(),
                 user.getPasswordHash(),
+                user.getRole(),
                 user.getActive(),
-                true,
-                true,
-                true,
                 getAuthorities(user)
         );
     }
@@ -0,0 +1,39 @@
+package com.archipellibre.security;
+
+import com.archipellibre.model.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * {@link User} that also carries the profile fields needed to answer a login
+ * without going back to the database.
+ */
+public class UserPrincipal extends User {
+
+    private final UUID id;
+    private final String email;
+    private final UserRole role;
+
+    public UserPrincipal(UUID id, String username, String email, String password, UserRole role,
+                         boolean enabled, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.id = id;
+        this.email = email;
+        this.role = role;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,60 @@
+package com.archipellibre.security;
+
+import com.archipellibre.model.User;
+import com.archipellibre.persistence.PostCommitEntityListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Drops the cached principal and revokes tokens when a user's role or active
+ * flag changes, or the user is deleted.
+ */
+@Component
+public class UserSecurityEventListener extends PostCommitEntityListener {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    public UserSecurityEventListener() {
+        super(User.class);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof User user)) {
+            return;
+        }
+
+        Object[] oldState = event.getOldState();
+        if (oldState == null
+                || changed(event.getPersister(), oldState, event.getState(), "role")
+                || changed(event.getPersister(), oldState, event.getState(), "active")) {
+            invalidate(user.getUsername());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof User user) {
+            invalidate(user.getUsername());
+        }
+    }
+
+    private void invalidate(String username) {
+        principalCache.evict(username);
+        tokenRevocationList.revokeUser(username);
+    }
+
+    private static boolean changed(EntityPersister persister, Object[] oldState, Object[] state, String property) {
+        int index = persister.getEntityMetamodel().getPropertyIndex(property);
+        return !Objects.equals(oldState[index], state[index]);
+    }
+}
@@ -0,0 +1,12 @@
+package com.archipellibre.service;
+
+/**
+ * Thrown when request parameters are well-formed but not acceptable,
+ * e.g. a calendar range that is too wide.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.archipellibre.service;
+
+/**
+ * Thrown when a request conflicts with the current state of a resource,
+ * e.g. joining an event that is not open for registration.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,229 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.CalendarEventView;
+import com.archipellibre.dto.CalendarResponse;
+import com.archipellibre.dto.EventDetail;
+import com.archipellibre.dto.EventSeriesView;
+import com.archipellibre.dto.SeriesOccurrence;
+import com.archipellibre.model.Event;
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.EventSeriesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Calendar range reads, ordered by (startTime, id) and continued with an
+ * opaque token. Series occurrences are expanded for the range.
+ */
+@Service
+public class EventCalendarService {
+
+    // Both PostgreSQL and H2 order UUIDs as unsigned bytes
+    private static final Comparator<UUID> DATABASE_UUID_ORDER = Comparator
+            .<UUID, Long>comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private static final Comparator<CalendarEventView> CALENDAR_ORDER = Comparator
+            .comparing(CalendarEventView::startTime)
+            .thenComparing(EventCalendarService::sortId, DATABASE_UUID_ORDER);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSeriesRepository seriesRepository;
+
+    @Value("${app.calendar.max-results:500}")
+    private int maxResults;
+
+    @Value("${app.calendar.max-range-days:366}")
+    private int maxRangeDays;
+
+    @Value("${app.calendar.max-event-span-days:31}")
+    private int maxEventSpanDays;
+
+    @Transactional(readOnly = true)
+    public CalendarResponse getCalendar(LocalDate from, LocalDate to, CalendarResponse.Granularity granularity,
+                                        Integer limit, String continuationToken) {
+        checkRange(from, to);
+        int pageSize = limit == null ? maxResults : Math.max(1, Math.min(limit, maxResults));
+
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.atStartOfDay();
+        LocalDateTime earliestStart = rangeStart.minusDays(maxEventSpanDays);
+        // Fetch one extra row to know whether the range overflows the cap
+        Pageable window = Pageable.ofSize(pageSize + 1);
+
+        KeysetCursor cursor = continuationToken == null || continuationToken.isBlank()
+                ? null
+                : KeysetCursor.decode(continuationToken);
+        List<CalendarEventView> rows = cursor == null
+                ? eventRepository.findCalendarEvents(earliestStart, rangeStart, rangeEnd, window)
+                : eventRepository.findCalendarEventsAfter(earliestStart, rangeStart, rangeEnd,
+                        cursor.position(), cursor.id(), window);
+        List<CalendarEventView> events = merge(rows,
+                expandSeries(earliestStart, rangeStart, rangeEnd, cursor), pageSize + 1);
+
+        CalendarResponse response = new CalendarResponse();
+        response.setFrom(from);
+        response.setTo(to);
+        response.setGranularity(granularity);
+
+        if (events.size() > pageSize) {
+            events = events.subList(0, pageSize);
+            CalendarEventView last = events.get(events.size() - 1);
+            response.setTruncated(true);
+            response.setContinuationToken(new KeysetCursor(last.startTime(), sortId(last)).encode());
+        }
+        response.setBuckets(bucket(events, from, granularity));
+        return response;
+    }
+
+    /**
+     * Built from the cached entity rather than a JPQL projection: the event
+     * and its organizer are usually in the second-level cache, as joins and
+     * leaves evict only the event they change.
+     */
+    @Transactional(readOnly = true)
+    public EventDetail getEvent(UUID eventId) {
+        Event e = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        return new EventDetail(e.getId(), e.getTitle(), e.getDescription(), e.getStartTime(), e.getEndTime(),
+                e.getLocation(), e.getImageUrl(), e.getStatus(), e.getMaxParticipants(), e.getParticipantCount(),
+                e.getOrganizer().getUsername(), e.getCreatedAt(), e.getUpdatedAt());
+    }
+
+    /**
+     * Version of every event the calendar for [from, to) can list, whatever
+     * the granularity or continuation.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion calendarVersion(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.atStartOfDay();
+        return ResourceVersion.of("calendar",
+                eventRepository.findCalendarVersion(rangeStart.minusDays(maxEventSpanDays), rangeStart, rangeEnd),
+                seriesRepository.findVersion(rangeStart, rangeEnd));
+    }
+
+    /**
+     * Occurrences overlapping [from, to) that are not exceptions of their
+     * series, after {@code cursor} when given, in calendar order.
+     * Occurrence lengths are capped at the event span, so those overlapping
+     * the range all start after {@code earliestStart}.
+     */
+    private List<CalendarEventView> expandSeries(LocalDateTime earliestStart, LocalDateTime from,
+                                                 LocalDateTime to, KeysetCursor cursor) {
+        List<EventSeriesView> series = seriesRepository.findOverlapping(from, to);
+        if (series.isEmpty()) {
+            return List.of();
+        }
+        Set<SeriesOccurrence> skipped = new HashSet<>(seriesRepository.findExceptions(earliestStart, to));
+
+        List<CalendarEventView> occurrences = new ArrayList<>();
+        for (EventSeriesView s : series) {
+            Duration duration = Duration.ofMinutes(s.durationMinutes());
+            LocalDateTime lastStart = s.lastEnd() == null ? null : s.lastEnd().minus(duration);
+            for (LocalDateTime start : RecurrenceRule.parse(s.recurrenceRule())
+                    .between(s.firstStart(), lastStart, from.minus(duration), to)) {
+                LocalDateTime end = start.plus(duration);
+                if (!end.isAfter(from) || skipped.contains(new SeriesOccurrence(s.id(), start))) {
+                    continue;
+                }
+                CalendarEventView occurrence = new CalendarEventView(null, s.title(), start, end, s.location(),
+                        EventStatus.SCHEDULED, 0, s.organizerName(), s.id(), start);
+                if (cursor == null || compareTo(occurrence, cursor) > 0) {
+                    occurrences.add(occurrence);
+                }
+            }
+        }
+        occurrences.sort(CALENDAR_ORDER);
+        return occurrences;
+    }
+
+    /**
+     * The first {@code limit} of two lists already in calendar order.
+     */
+    private static List<CalendarEventView> merge(List<CalendarEventView> rows, List<CalendarEventView> occurrences,
+                                                 int limit) {
+        if (occurrences.isEmpty()) {
+            return rows;
+        }
+        List<CalendarEventView> merged = new ArrayList<>(limit);
+        int r = 0;
+        int o = 0;
+        while (merged.size() < limit && (r < rows.size() || o < occurrences.size())) {
+            if (o == occurrences.size()
+                    || (r < rows.size() && CALENDAR_ORDER.compare(rows.get(r), occurrences.get(o)) < 0)) {
+                merged.add(rows.get(r++));
+            } else {
+                merged.add(occurrences.get(o++));
+            }
+        }
+        return merged;
+    }
+
+    private static int compareTo(CalendarEventView event, KeysetCursor cursor) {
+        int byStart = event.startTime().compareTo(cursor.position());
+        return byStart != 0 ? byStart : DATABASE_UUID_ORDER.compare(sortId(event), cursor.id());
+    }
+
+    /**
+     * The row id, or for an occurrence without a row its series id with the
+     * start mixed into the low bits. That is unique among events starting at
+     * the same time, which is all the order needs, and costs no hashing.
+     */
+    private static UUID sortId(CalendarEventView event) {
+        if (event.id() != null) {
+            return event.id();
+        }
+        long minute = event.occurrenceStart().toEpochSecond(ZoneOffset.UTC) / 60;
+        return new UUID(event.seriesId().getMostSignificantBits(),
+                event.seriesId().getLeastSignificantBits() ^ minute);
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxRangeDays) {
+            throw new BadRequestException("Calendar range cannot exceed " + maxRangeDays + " days");
+        }
+    }
+
+    private List<CalendarResponse.Bucket> bucket(List<CalendarEventView> events, LocalDate from,
+                                                 CalendarResponse.Granularity granularity) {
+        Map<LocalDate, CalendarResponse.Bucket> buckets = new LinkedHashMap<>();
+        for (CalendarEventView event : events) {
+            // Events that began before the range are shown in its first bucket
+            LocalDate day = event.startTime().toLocalDate();
+            LocalDate start = bucketStart(day.isBefore(from) ? from : day, granularity);
+            buckets.computeIfAbsent(start, key -> new CalendarResponse.Bucket(key, new ArrayList<>()))
+                    .getEvents()
+                    .add(event);
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    private static LocalDate bucketStart(LocalDate day, CalendarResponse.Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+}
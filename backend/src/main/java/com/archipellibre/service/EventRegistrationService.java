@@ -0,0 +1,178 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.EventRegistrationResponse;
+import com.archipellibre.dto.ParticipantCountChange;
+import com.archipellibre.model.Event;
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.model.EventWaitlistEntry;
+import com.archipellibre.outbox.EventJoined;
+import com.archipellibre.outbox.OutboxPublisher;
+import com.archipellibre.persistence.CachedRowUpdates;
+import com.archipellibre.push.PushHub;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.EventWaitlistRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Event join/leave with a conditional seat UPDATE and a FIFO waitlist. The
+ * event row lock orders joins, leaves and promotions.
+ */
+@Service
+public class EventRegistrationService {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PushHub pushHub;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private EventWaitlistRepository waitlistRepository;
+
+    @Autowired
+    private CachedRowUpdates cachedRowUpdates;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public EventRegistrationResponse join(UUID eventId, UUID userId) {
+        if (eventRepository.isParticipant(eventId, userId)) {
+            return status(eventId, userId);
+        }
+        Optional<EventWaitlistEntry> queued = waitlistRepository.findByEventIdAndUserId(eventId, userId);
+        if (queued.isPresent()) {
+            return status(eventId, userId);
+        }
+
+        if (reserveSeat(eventId)) {
+            register(eventId, userId);
+            outboxPublisher.publish(new EventJoined(eventId, userId, false));
+            return seatsChanged(eventId, userId);
+        }
+
+        // Fast path failed: lock the event so a seat freed right now cannot be missed
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        if (event.getStatus() != EventStatus.SCHEDULED) {
+            throw new ConflictException("Event is not open for registration");
+        }
+        if (reserveSeat(eventId)) {
+            register(eventId, userId);
+            outboxPublisher.publish(new EventJoined(eventId, userId, false));
+            return seatsChanged(eventId, userId);
+        }
+        // A concurrent join by the same member may have queued it since the check above
+        if (waitlistRepository.insertIfAbsent(UUID.randomUUID(), eventId, userId, LocalDateTime.now()) == 1) {
+            outboxPublisher.publish(new EventJoined(eventId, userId, true));
+        }
+        return status(eventId, userId);
+    }
+
+    @Transactional
+    public EventRegistrationResponse leave(UUID eventId, UUID userId) {
+        if (eventRepository.removeParticipant(eventId, userId) == 1) {
+            releaseSeat(eventId);
+            promoteFromWaitlist(eventId);
+            return seatsChanged(eventId, userId);
+        }
+        waitlistRepository.deleteByEventIdAndUserId(eventId, userId);
+        return status(eventId, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public EventRegistrationResponse status(UUID eventId, UUID userId) {
+        return status(reload(eventId), userId);
+    }
+
+    private Event reload(UUID eventId) {
+        // Bypass any stale copy left in the persistence context by the seat updates above
+        entityManager.flush();
+        entityManager.clear();
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+    }
+
+    /**
+     * Pushes the new participant count once the transaction commits. The
+     * seat updates stamp {@code updatedAt} under the event row lock, so it
+     * orders counts from concurrent transactions.
+     */
+    private EventRegistrationResponse seatsChanged(UUID eventId, UUID userId) {
+        Event event = reload(eventId);
+        LocalDateTime stamp = event.getUpdatedAt();
+        pushHub.publishLatest("event.participants",
+                new ParticipantCountChange(eventId, event.getParticipantCount(), event.getMaxParticipants()),
+                "participants:" + eventId,
+                stamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + stamp.getNano() / 1_000,
+                PushHub.event(eventId), PushHub.EVENTS);
+        return status(event, userId);
+    }
+
+    private EventRegistrationResponse status(Event event, UUID userId) {
+        UUID eventId = event.getId();
+        EventRegistrationResponse response = new EventRegistrationResponse(
+                eventId,
+                EventRegistrationResponse.Status.NOT_REGISTERED,
+                event.getParticipantCount(),
+                event.getMaxParticipants(),
+                null
+        );
+        if (eventRepository.isParticipant(eventId, userId)) {
+            response.setStatus(EventRegistrationResponse.Status.REGISTERED);
+        } else {
+            waitlistRepository.findByEventIdAndUserId(eventId, userId).ifPresent(entry -> {
+                response.setStatus(EventRegistrationResponse.Status.WAITLISTED);
+                response.setWaitlistPosition(waitlistRepository.countAhead(eventId, entry.getCreatedAt()) + 1);
+            });
+        }
+        return response;
+    }
+
+    private boolean reserveSeat(UUID eventId) {
+        return cachedRowUpdates.update(Event.class, eventId, EventRepository.RESERVE_SEAT,
+                LocalDateTime.now(), eventId) == 1;
+    }
+
+    private void releaseSeat(UUID eventId) {
+        cachedRowUpdates.update(Event.class, eventId, EventRepository.RELEASE_SEAT, LocalDateTime.now(), eventId);
+    }
+
+    private void register(UUID eventId, UUID userId) {
+        try {
+            eventRepository.addParticipant(eventId, userId);
+        } catch (DataIntegrityViolationException ex) {
+            // Concurrent join by the same user: the unique key rejects it and the seat is rolled back
+            throw new ConflictException("Already registered for this event");
+        }
+    }
+
+    private void promoteFromWaitlist(UUID eventId) {
+        Optional<EventWaitlistEntry> head = waitlistRepository.findFirstByEventIdOrderByCreatedAtAscIdAsc(eventId);
+        while (head.isPresent() && reserveSeat(eventId)) {
+            EventWaitlistEntry entry = head.get();
+            if (waitlistRepository.deleteEntry(entry.getId()) == 1) {
+                UUID userId = entry.getUser().getId();
+                eventRepository.addParticipant(eventId, userId);
+                outboxPublisher.publish(new EventJoined(eventId, userId, false));
+                return;
+            }
+            // The queued member withdrew concurrently: give the seat back and try the next one
+            releaseSeat(eventId);
+            head = waitlistRepository.findFirstByEventIdOrderByCreatedAtAscIdAsc(eventId);
+        }
+    }
+}
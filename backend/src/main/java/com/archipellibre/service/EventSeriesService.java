@@ -0,0 +1,195 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.EventDetail;
+import com.archipellibre.dto.EventOccurrenceRequest;
+import com.archipellibre.dto.EventRegistrationResponse;
+import com.archipellibre.dto.EventSeriesDetail;
+import com.archipellibre.dto.EventSeriesRequest;
+import com.archipellibre.model.Event;
+import com.archipellibre.model.EventSeries;
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.EventSeriesRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Recurring events. An occurrence gets its own events row the first time it is
+ * joined or changed, under the series row lock.
+ */
+@Service
+public class EventSeriesService {
+
+    @Autowired
+    private EventSeriesRepository seriesRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventCalendarService calendarService;
+
+    @Autowired
+    private EventSpanValidator spanValidator;
+
+    @Transactional
+    public EventSeriesDetail createSeries(EventSeriesRequest request, UserPrincipal principal) {
+        LocalDateTime start = request.getStartTime().truncatedTo(ChronoUnit.MINUTES);
+        Duration duration = spanValidator.check(start, request.getEndTime().truncatedTo(ChronoUnit.MINUTES));
+        RecurrenceRule rule = RecurrenceRule.parse(request.getRecurrence());
+        rule.checkFirstStart(start);
+        LocalDateTime lastStart = rule.lastStart(start);
+
+        EventSeries series = seriesRepository.save(EventSeries.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .location(request.getLocation())
+                .imageUrl(request.getImageUrl())
+                .maxParticipants(request.getMaxParticipants())
+                .organizer(userRepository.getReferenceById(principal.getId()))
+                .firstStart(start)
+                .durationMinutes((int) duration.toMinutes())
+                .recurrenceRule(rule.toString())
+                .lastEnd(lastStart == null ? null : lastStart.plus(duration))
+                .build());
+        return detail(series, principal.getUsername());
+    }
+
+    @Transactional(readOnly = true)
+    public EventSeriesDetail getSeries(UUID seriesId) {
+        EventSeries series = seriesRepository.findById(seriesId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event series not found"));
+        return detail(series, series.getOrganizer().getUsername());
+    }
+
+    @Transactional
+    public EventRegistrationResponse joinOccurrence(UUID seriesId, LocalDateTime occurrenceStart, UUID userId) {
+        Event occurrence = occurrenceRow(lock(seriesId), occurrenceStart);
+        return registrationService.join(occurrence.getId(), userId);
+    }
+
+    /**
+     * Overrides one occurrence. It may move anywhere, and keeps its place in
+     * the series under the start the rule gave it.
+     */
+    @Transactional
+    public EventDetail updateOccurrence(UUID seriesId, LocalDateTime occurrenceStart, EventOccurrenceRequest request,
+                                        UserPrincipal principal) {
+        EventSeries series = lock(seriesId);
+        checkCanModify(series, principal);
+        Event occurrence = occurrenceRow(series, occurrenceStart);
+
+        LocalDateTime start = request.getStartTime() != null
+                ? request.getStartTime().truncatedTo(ChronoUnit.MINUTES)
+                : occurrence.getStartTime();
+        LocalDateTime end = request.getEndTime() != null
+                ? request.getEndTime().truncatedTo(ChronoUnit.MINUTES)
+                : occurrence.getEndTime();
+        if (request.getStartTime() != null || request.getEndTime() != null) {
+            // Only a changed span is checked, so rows that predate the limit stay editable
+            spanValidator.check(start, end);
+        }
+        occurrence.setStartTime(start);
+        occurrence.setEndTime(end);
+        if (request.getTitle() != null) {
+            occurrence.setTitle(request.getTitle());
+        }
+        if (request.getDescription() != null) {
+            occurrence.setDescription(request.getDescription());
+        }
+        if (request.getLocation() != null) {
+            occurrence.setLocation(request.getLocation());
+        }
+        if (request.getMaxParticipants() != null) {
+            occurrence.setMaxParticipants(request.getMaxParticipants());
+        }
+        series.setUpdatedAt(LocalDateTime.now());
+        return calendarService.getEvent(occurrence.getId());
+    }
+
+    /**
+     * Removes an occurrence from the series. One that already has a row is
+     * cancelled instead, so its participants still see what happened to it.
+     */
+    @Transactional
+    public void cancelOccurrence(UUID seriesId, LocalDateTime occurrenceStart, UserPrincipal principal) {
+        EventSeries series = lock(seriesId);
+        checkCanModify(series, principal);
+        Optional<Event> row = eventRepository.findBySeriesIdAndOccurrenceStart(seriesId, occurrenceStart);
+        if (row.isPresent()) {
+            row.get().setStatus(EventStatus.CANCELLED);
+        } else {
+            checkIsOccurrence(series, occurrenceStart);
+            series.getExceptions().add(occurrenceStart);
+        }
+        series.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private EventSeries lock(UUID seriesId) {
+        return seriesRepository.findByIdForUpdate(seriesId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event series not found"));
+    }
+
+    private Event occurrenceRow(EventSeries series, LocalDateTime occurrenceStart) {
+        return eventRepository.findBySeriesIdAndOccurrenceStart(series.getId(), occurrenceStart).orElseGet(() -> {
+            checkIsOccurrence(series, occurrenceStart);
+            series.getExceptions().add(occurrenceStart);
+            series.setUpdatedAt(LocalDateTime.now());
+            return eventRepository.saveAndFlush(Event.builder()
+                    .title(series.getTitle())
+                    .description(series.getDescription())
+                    .location(series.getLocation())
+                    .imageUrl(series.getImageUrl())
+                    .maxParticipants(series.getMaxParticipants())
+                    .startTime(occurrenceStart)
+                    .endTime(occurrenceStart.plusMinutes(series.getDurationMinutes()))
+                    .status(EventStatus.SCHEDULED)
+                    .organizer(series.getOrganizer())
+                    .seriesId(series.getId())
+                    .occurrenceStart(occurrenceStart)
+                    .build());
+        });
+    }
+
+    private static void checkIsOccurrence(EventSeries series, LocalDateTime start) {
+        LocalDateTime lastStart = series.getLastEnd() == null
+                ? null
+                : series.getLastEnd().minusMinutes(series.getDurationMinutes());
+        if (series.getExceptions().contains(start) || !RecurrenceRule.parse(series.getRecurrenceRule())
+                .includes(series.getFirstStart(), lastStart, start)) {
+            throw new ResourceNotFoundException("Occurrence not found");
+        }
+    }
+
+    private static void checkCanModify(EventSeries series, UserPrincipal principal) {
+        if (!series.getOrganizer().getId().equals(principal.getId())
+                && principal.getRole() != UserRole.MODERATOR
+                && principal.getRole() != UserRole.ADMIN) {
+            throw new AccessDeniedException("Not allowed to modify this event series");
+        }
+    }
+
+    private static EventSeriesDetail detail(EventSeries series, String organizerName) {
+        return new EventSeriesDetail(series.getId(), series.getTitle(), series.getDescription(),
+                series.getLocation(), series.getImageUrl(), series.getMaxParticipants(), series.getFirstStart(),
+                series.getFirstStart().plusMinutes(series.getDurationMinutes()), series.getRecurrenceRule(),
+                series.getLastEnd(), organizerName, series.getCreatedAt());
+    }
+}
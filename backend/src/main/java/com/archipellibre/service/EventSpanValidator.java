@@ -0,0 +1,28 @@
+package com.archipellibre.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps new and changed event spans within {@code app.calendar.max-event-span-days}.
+ */
+@Component
+public class EventSpanValidator {
+
+    @Value("${app.calendar.max-event-span-days:31}")
+    private int maxEventSpanDays;
+
+    public Duration check(LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("'endTime' must be after 'startTime'");
+        }
+        Duration duration = Duration.between(start, end);
+        if (duration.compareTo(Duration.ofDays(maxEventSpanDays)) > 0) {
+            throw new BadRequestException("An event cannot last more than " + maxEventSpanDays + " days");
+        }
+        return duration;
+    }
+}
@@ -0,0 +1,249 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.*;
+import com.archipellibre.model.ForumPost;
+import com.archipellibre.model.ForumThread;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.outbox.OutboxPublisher;
+import com.archipellibre.outbox.PostCreated;
+import com.archipellibre.persistence.CachedRowUpdates;
+import com.archipellibre.repository.ForumCategoryStatsRepository;
+import com.archipellibre.repository.ForumPostRepository;
+import com.archipellibre.repository.ForumThreadRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * Forum listings with keyset pagination and denormalized thread and category
+ * statistics. Thread rows are updated before category rows.
+ */
+@Service
+public class ForumService {
+
+    @Autowired
+    private ForumThreadRepository threadRepository;
+
+    @Autowired
+    private ForumPostRepository postRepository;
+
+    @Autowired
+    private ForumCategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private CachedRowUpdates cachedRowUpdates;
+
+    @Value("${app.forum.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.forum.max-page-size:100}")
+    private int maxPageSize;
+
+    private final TransactionTemplate newTransaction;
+
+    public ForumService(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ForumThreadSummary> listThreads(Integer limit, String cursor) {
+        int pageSize = pageSize(limit);
+        // Fetch one extra row to know whether another page exists
+        Pageable window = Pageable.ofSize(pageSize + 1);
+        List<ForumThreadSummary> threads;
+        if (cursor == null || cursor.isBlank()) {
+            threads = threadRepository.findLatestActivity(window);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            threads = threadRepository.findLatestActivityBefore(position.position(), position.id(), window);
+        }
+        return KeysetCursor.page(threads, pageSize, last -> new KeysetCursor(last.lastActivityAt(), last.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ForumPostView> listPosts(UUID threadId, Integer limit, String cursor) {
+        if (!threadRepository.existsById(threadId)) {
+            throw new ResourceNotFoundException("Thread not found");
+        }
+        int pageSize = pageSize(limit);
+        Pageable window = Pageable.ofSize(pageSize + 1);
+        List<ForumPostView> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepository.findThreadPosts(threadId, window);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            posts = postRepository.findThreadPostsAfter(threadId, position.position(), position.id(), window);
+        }
+        return KeysetCursor.page(posts, pageSize, last -> new KeysetCursor(last.createdAt(), last.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public ForumThreadDetail getThread(UUID threadId) {
+        return threadRepository.findDetail(threadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Thread not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public ForumPostView getPost(UUID postId) {
+        return postRepository.findView(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ForumCategorySummary> listCategories() {
+        return categoryStatsRepository.findOverview();
+    }
+
+    /**
+     * Version of the thread listing and the category overview.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion listingVersion() {
+        return ResourceVersion.of("forum", threadRepository.findListingVersion());
+    }
+
+    /**
+     * Version of a thread's posts, or empty if the thread does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> threadVersion(UUID threadId) {
+        VersionStamp stamp = threadRepository.findThreadVersion(threadId);
+        return stamp.count() == 0
+                ? Optional.empty()
+                : Optional.of(ResourceVersion.of("thread:" + threadId, stamp));
+    }
+
+    @Transactional
+    public ForumThreadSummary createThread(ForumThreadRequest request, UserPrincipal principal) {
+        ForumThread thread = threadRepository.saveAndFlush(ForumThread.builder()
+                .title(request.getTitle())
+                .content(request.getContent())
+                .category(request.getCategory())
+                .pinned(false)
+                .locked(false)
+                .creator(userRepository.getReferenceById(principal.getId()))
+                .lastActivityAt(LocalDateTime.now())
+                .build());
+
+        updateCategoryStats(thread.getCategory(), () ->
+                categoryStatsRepository.recordThreadAdded(thread.getCategory(), thread.getLastActivityAt()));
+
+        return new ForumThreadSummary(thread.getId(), thread.getTitle(), thread.getCategory(),
+                thread.getPinned(), thread.getLocked(), principal.getUsername(), thread.getCreatedAt(),
+                thread.getLastActivityAt(), 0, null);
+    }
+
+    @Transactional
+    public void deleteThread(UUID threadId, UserPrincipal principal) {
+        ForumThread thread = threadRepository.findById(threadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Thread not found"));
+        checkCanModify(thread.getCreator().getId(), principal);
+
+        // Bulk delete so the posts collection is never loaded for the cascade
+        int removedPosts = postRepository.deleteByThreadId(threadId);
+        threadRepository.deleteById(threadId);
+        threadRepository.flush();
+
+        categoryStatsRepository.recordThreadRemoved(thread.getCategory(), removedPosts,
+                lastAuthorInCategory(thread.getCategory()));
+    }
+
+    @Transactional
+    public ForumPostView createPost(UUID threadId, ForumPostRequest request, UserPrincipal principal) {
+        ForumThread thread = threadRepository.findById(threadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Thread not found"));
+        if (Boolean.TRUE.equals(thread.getLocked())) {
+            throw new ConflictException("Thread is locked");
+        }
+
+        ForumPost post = postRepository.saveAndFlush(ForumPost.builder()
+                .content(request.getContent())
+                .author(userRepository.getReferenceById(principal.getId()))
+                .thread(thread)
+                .edited(false)
+                .build());
+
+        cachedRowUpdates.update(ForumThread.class, threadId, ForumThreadRepository.RECORD_POST_ADDED,
+                post.getCreatedAt(), principal.getUsername(), post.getCreatedAt(), threadId);
+        updateCategoryStats(thread.getCategory(), () ->
+                categoryStatsRepository.recordPostAdded(thread.getCategory(), post.getCreatedAt(), principal.getUsername()));
+
+        ForumPostView view = new ForumPostView(post.getId(), post.getContent(), principal.getUsername(),
+                post.getEdited(), post.getCreatedAt(), post.getUpdatedAt());
+        outboxPublisher.publish(new PostCreated(threadId, principal.getId(), view));
+        return view;
+    }
+
+    @Transactional
+    public void deletePost(UUID postId, UserPrincipal principal) {
+        ForumPost post = postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        checkCanModify(post.getAuthor().getId(), principal);
+        UUID threadId = post.getThread().getId();
+        String category = post.getThread().getCategory();
+
+        postRepository.delete(post);
+        postRepository.flush();
+
+        cachedRowUpdates.update(ForumThread.class, threadId, ForumThreadRepository.RECORD_POST_REMOVED,
+                first(postRepository.findLatestAuthor(threadId, Pageable.ofSize(1))), LocalDateTime.now(), threadId);
+        categoryStatsRepository.recordPostRemoved(category, lastAuthorInCategory(category));
+    }
+
+    private void updateCategoryStats(String category, IntSupplier update) {
+        if (update.getAsInt() == 0) {
+            createCategoryStats(category);
+            update.getAsInt();
+        }
+    }
+
+    private void createCategoryStats(String category) {
+        try {
+            newTransaction.executeWithoutResult(status -> categoryStatsRepository.insertIfAbsent(category));
+        } catch (DataIntegrityViolationException ex) {
+            // Created by a concurrent request
+        }
+    }
+
+    private String lastAuthorInCategory(String category) {
+        return first(threadRepository.findLastPostAuthorInCategory(category, Pageable.ofSize(1)));
+    }
+
+    private static String first(List<String> values) {
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    private static void checkCanModify(UUID ownerId, UserPrincipal principal) {
+        if (!ownerId.equals(principal.getId())
+                && principal.getRole() != UserRole.MODERATOR
+                && principal.getRole() != UserRole.ADMIN) {
+            throw new AccessDeniedException("Not allowed to modify this content");
+        }
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+    }
+}
@@ -0,0 +1,45 @@
+package com.archipellibre.service;
+
+import com.archipellibre.repository.ForumCategoryStatsRepository;
+import com.archipellibre.repository.ForumThreadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repair job for the denormalized forum statistics.
+ */
+@Service
+public class ForumStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForumStatsService.class);
+
+    @Autowired
+    private ForumThreadRepository threadRepository;
+
+    @Autowired
+    private ForumCategoryStatsRepository categoryStatsRepository;
+
+    public record RebuildReport(int threads, int categories) {
+    }
+
+    @Transactional
+    public RebuildReport rebuild() {
+        int threads = threadRepository.rebuildStats(LocalDateTime.now());
+        categoryStatsRepository.deleteAllStats();
+        int categories = categoryStatsRepository.rebuildFromThreads();
+        logger.info("Rebuilt forum statistics for {} threads in {} categories", threads, categories);
+        return new RebuildReport(threads, categories);
+    }
+
+    @Scheduled(cron = "${app.forum.stats-repair-cron:-}")
+    @Transactional
+    public void scheduledRebuild() {
+        rebuild();
+    }
+}
@@ -0,0 +1,11 @@
+package com.archipellibre.service;
+
+/**
+ * Thrown when a bulk import is requested while another one is still running.
+ */
+public class ImportInProgressException extends RuntimeException {
+
+    public ImportInProgressException(String message) {
+        super(message);
+    }
+}
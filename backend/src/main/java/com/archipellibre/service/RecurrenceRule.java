@@ -0,0 +1,258 @@
+package com.archipellibre.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * The subset of the iCalendar RRULE (RFC 5545) that event series accept, e.g.
+ * {@code FREQ=WEEKLY;BYDAY=TU,TH;UNTIL=20271231}.
+ */
+public record RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay, Integer count,
+                             LocalDateTime until) {
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+
+    public static final int MAX_INTERVAL = 1000;
+    public static final int MAX_COUNT = 1000;
+
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    // iCalendar wants UNTIL in UTC when DTSTART is, as it is in our feeds
+    private static final DateTimeFormatter UNTIL_UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY,
+            "TH", DayOfWeek.THURSDAY, "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    public static RecurrenceRule parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new BadRequestException("A recurrence rule is required");
+        }
+        String rule = text.trim().toUpperCase(Locale.ROOT);
+        if (rule.startsWith("RRULE:")) {
+            rule = rule.substring("RRULE:".length());
+        }
+        Frequency frequency = null;
+        int interval = 1;
+        EnumSet<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        Integer count = null;
+        LocalDateTime until = null;
+        for (String part : rule.split(";")) {
+            int separator = part.indexOf('=');
+            if (separator < 1) {
+                throw new BadRequestException("Invalid recurrence rule part '" + part + "'");
+            }
+            String name = part.substring(0, separator).trim();
+            String value = part.substring(separator + 1).trim();
+            switch (name) {
+                case "FREQ" -> frequency = parseFrequency(value);
+                case "INTERVAL" -> interval = parseNumber(name, value, MAX_INTERVAL);
+                case "COUNT" -> count = parseNumber(name, value, MAX_COUNT);
+                case "UNTIL" -> until = parseUntil(value);
+                case "BYDAY" -> {
+                    for (String code : value.split(",")) {
+                        DayOfWeek day = DAYS.get(code.trim());
+                        if (day == null) {
+                            throw new BadRequestException("Unsupported BYDAY value '" + code + "'");
+                        }
+                        byDay.add(day);
+                    }
+                }
+                case "WKST" -> {
+                    if (!value.equals("MO")) {
+                        throw new BadRequestException("Only WKST=MO is supported");
+                    }
+                }
+                default -> throw new BadRequestException("Unsupported recurrence rule part " + name);
+            }
+        }
+        if (frequency == null) {
+            throw new BadRequestException("The recurrence rule needs a FREQ");
+        }
+        if (count != null && until != null) {
+            throw new BadRequestException("COUNT and UNTIL cannot be combined");
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new BadRequestException("BYDAY is only supported with FREQ=WEEKLY");
+        }
+        return new RecurrenceRule(frequency, interval, Collections.unmodifiableSet(byDay), count, until);
+    }
+
+    /**
+     * Checks that a series starting at {@code firstStart} is well formed.
+     */
+    public void checkFirstStart(LocalDateTime firstStart) {
+        if (!byDay.isEmpty() && !byDay.contains(firstStart.getDayOfWeek())) {
+            throw new BadRequestException("The first occurrence must fall on one of the BYDAY days");
+        }
+        if (until != null && until.isBefore(firstStart)) {
+            throw new BadRequestException("UNTIL is before the first occurrence");
+        }
+    }
+
+    /**
+     * Start of the last occurrence, or null when the rule never ends.
+     */
+    public LocalDateTime lastStart(LocalDateTime firstStart) {
+        LocalDateTime[] last = {null};
+        if (count != null) {
+            int[] remaining = {count};
+            walk(firstStart, firstStart, start -> {
+                last[0] = start;
+                return --remaining[0] > 0;
+            });
+        } else if (until != null) {
+            // Start a couple of periods before UNTIL rather than at the first occurrence
+            LocalDateTime from = until.minus(2L * interval, frequency == Frequency.MONTHLY
+                    ? ChronoUnit.MONTHS : frequency == Frequency.WEEKLY ? ChronoUnit.WEEKS : ChronoUnit.DAYS);
+            Predicate<LocalDateTime> upToUntil = start -> {
+                if (start.isAfter(until)) {
+                    return false;
+                }
+                last[0] = start;
+                return true;
+            };
+            walk(firstStart, from.isBefore(firstStart) ? firstStart : from, upToUntil);
+            if (last[0] == null) {
+                // Monthly rules can skip more than two periods in a row
+                walk(firstStart, firstStart, upToUntil);
+            }
+        }
+        return last[0];
+    }
+
+    /**
+     * Occurrence starts in [from, to), in order, up to {@code lastStart}
+     * when it is not null.
+     */
+    public List<LocalDateTime> between(LocalDateTime firstStart, LocalDateTime lastStart,
+                                       LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        walk(firstStart, from, start -> {
+            if (!start.isBefore(to) || (lastStart != null && start.isAfter(lastStart))) {
+                return false;
+            }
+            if (!start.isBefore(from)) {
+                starts.add(start);
+            }
+            return true;
+        });
+        return starts;
+    }
+
+    public boolean includes(LocalDateTime firstStart, LocalDateTime lastStart, LocalDateTime start) {
+        return !between(firstStart, lastStart, start, start.plusNanos(1)).isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=").append(byDay.stream()
+                    .map(day -> day.name().substring(0, 2))
+                    .collect(Collectors.joining(",")));
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_UTC_FORMAT.format(until));
+        }
+        return rule.toString();
+    }
+
+    /**
+     * Visits occurrences in order from the period containing {@code from},
+     * never before {@code firstStart}, until the visitor returns false.
+     */
+    private void walk(LocalDateTime firstStart, LocalDateTime from, Predicate<LocalDateTime> visitor) {
+        LocalDate firstDate = firstStart.toLocalDate();
+        LocalTime time = firstStart.toLocalTime();
+        switch (frequency) {
+            case DAILY, WEEKLY -> {
+                if (byDay.isEmpty()) {
+                    long step = frequency == Frequency.DAILY ? interval : 7L * interval;
+                    long k = Math.max(0, Math.floorDiv(ChronoUnit.DAYS.between(firstDate, from.toLocalDate()), step));
+                    while (visitor.test(firstStart.plusDays(k * step))) {
+                        k++;
+                    }
+                    return;
+                }
+                LocalDate firstWeek = firstDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                long step = 7L * interval;
+                long k = Math.max(0, Math.floorDiv(ChronoUnit.DAYS.between(firstWeek, from.toLocalDate()), step));
+                while (true) {
+                    LocalDate week = firstWeek.plusDays(k * step);
+                    for (DayOfWeek day : byDay) {
+                        LocalDateTime start = week.plusDays(day.ordinal()).atTime(time);
+                        if (!start.isBefore(firstStart) && !visitor.test(start)) {
+                            return;
+                        }
+                    }
+                    k++;
+                }
+            }
+            case MONTHLY -> {
+                YearMonth firstMonth = YearMonth.from(firstDate);
+                int dayOfMonth = firstDate.getDayOfMonth();
+                long k = Math.max(0, Math.floorDiv(ChronoUnit.MONTHS.between(firstMonth, YearMonth.from(from)),
+                        interval));
+                while (true) {
+                    YearMonth month = firstMonth.plusMonths(k * interval);
+                    // The first month recurs every 12 periods, so a valid day always comes (Feb 29 in a leap year)
+                    if (month.isValidDay(dayOfMonth) && !visitor.test(month.atDay(dayOfMonth).atTime(time))) {
+                        return;
+                    }
+                    k++;
+                }
+            }
+        }
+    }
+
+    private static Frequency parseFrequency(String value) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unsupported FREQ '" + value + "'");
+        }
+    }
+
+    private static int parseNumber(String name, String value, int max) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number >= 1 && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException ex) {
+            // Reported below
+        }
+        throw new BadRequestException(name + " must be between 1 and " + max);
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        // Times are UTC throughout the application, so a trailing Z changes nothing
+        String local = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            return local.length() == 8
+                    ? LocalDate.parse(local, DateTimeFormatter.BASIC_ISO_DATE).atTime(LocalTime.of(23, 59, 59))
+                    : LocalDateTime.parse(local, UNTIL_FORMAT);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid UNTIL '" + value + "'");
+        }
+    }
+}
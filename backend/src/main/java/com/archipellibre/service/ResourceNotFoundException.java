@@ -0,0 +1,11 @@
+package com.archipellibre.service;
+
+/**
+ * Thrown when a requested entity does not exist.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
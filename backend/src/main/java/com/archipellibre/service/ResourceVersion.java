@@ -0,0 +1,52 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.VersionStamp;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * ETag and Last-Modified of one representation of a public resource.
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    /**
+     * A resource read from several sets of rows, such as events and the
+     * series expanded next to them, changes when any of them does.
+     */
+    public static ResourceVersion of(String resource, VersionStamp... stamps) {
+        List<Object> parts = new ArrayList<>();
+        parts.add(resource);
+        LocalDateTime latest = null;
+        for (VersionStamp stamp : stamps) {
+            parts.add(stamp.count());
+            parts.add(stamp.lastModified());
+            if (stamp.lastModified() != null && (latest == null || stamp.lastModified().isAfter(latest))) {
+                latest = stamp.lastModified();
+            }
+        }
+        Instant lastModified = latest == null ? null : latest.atZone(ZoneId.systemDefault()).toInstant();
+        return of(lastModified, parts.toArray());
+    }
+
+    public static ResourceVersion of(Instant lastModified, Object... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        for (Object part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return new ResourceVersion("\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"", lastModified);
+    }
+}
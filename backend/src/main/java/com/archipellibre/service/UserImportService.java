@@ -0,0 +1,312 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.UserImportReport;
+import com.archipellibre.dto.UserImportRow;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a member list (CSV or NDJSON) into the users table in chunks.
+ * Invalid rows are reported and never abort the rest of the file.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService hashingPool;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public UserImportService(PlatformTransactionManager transactionManager,
+                             @Value("${app.user-import.chunk-size:500}") int chunkSize,
+                             @Value("${app.user-import.hashing-threads:0}") int hashingThreads,
+                             @Value("${app.security.password-hashing.bcrypt-strength:10}") int bcryptStrength) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        this.hashingPool = Executors.newFixedThreadPool(
+                hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hashing");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public UserImportReport importUsers(InputStream input, Format format) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new ImportInProgressException("A user import is already running");
+        }
+
+        try {
+            return doImport(input, format);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private UserImportReport doImport(InputStream input, Format format) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        UserImportReport report = new UserImportReport();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                    continue;
+                }
+                report.setProcessed(report.getProcessed() + 1);
+
+                UserImportRow row;
+                try {
+                    row = format == Format.CSV ? parseCsv(line) : objectMapper.readValue(line, UserImportRow.class);
+                } catch (IllegalArgumentException | JsonProcessingException ex) {
+                    row = null;
+                }
+                // A JSON null line parses to null
+                if (row == null) {
+                    reject(report, lineNumber, "Unreadable row");
+                    continue;
+                }
+
+                String error = validate(row);
+                if (error == null && !seenUsernames.add(row.getUsername())) {
+                    error = "Duplicate username in file";
+                }
+                if (error == null && !seenEmails.add(row.getEmail())) {
+                    error = "Duplicate email in file";
+                }
+                if (error != null) {
+                    reject(report, lineNumber, error);
+                    continue;
+                }
+
+                chunk.add(new PendingRow(lineNumber, row));
+                if (chunk.size() >= chunkSize) {
+                    flushChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flushChunk(chunk, report);
+        }
+
+        report.setDurationMs(System.currentTimeMillis() - startedAt);
+        logger.info("User import finished: {} processed, {} imported, {} failed in {} ms",
+                report.getProcessed(), report.getImported(), report.getFailed(), report.getDurationMs());
+        return report;
+    }
+
+    private void flushChunk(List<PendingRow> chunk, UserImportReport report) {
+        Set<String> existingUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(pending -> pending.row().getUsername()).toList()));
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(pending -> pending.row().getEmail()).toList()));
+
+        List<PendingRow> accepted = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            if (existingUsernames.contains(pending.row().getUsername())) {
+                reject(report, pending.line(), "Username already exists");
+            } else if (existingEmails.contains(pending.row().getEmail())) {
+                reject(report, pending.line(), "Email already in use");
+            } else {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<User> users = hashAll(accepted);
+        try {
+            insert(users);
+            report.setImported(report.getImported() + users.size());
+        } catch (DataAccessException ex) {
+            // A concurrent registration can still collide: isolate the offending rows
+            logger.warn("Batch insert failed, retrying {} rows individually", users.size());
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                user.setId(null);
+                try {
+                    insert(List.of(user));
+                    report.setImported(report.getImported() + 1);
+                } catch (DataAccessException rowEx) {
+                    reject(report, accepted.get(i).line(), "Username or email already in use");
+                }
+            }
+        }
+    }
+
+    private List<User> hashAll(List<PendingRow> rows) {
+        List<Future<User>> futures = new ArrayList<>(rows.size());
+        for (PendingRow pending : rows) {
+            UserImportRow row = pending.row();
+            futures.add(hashingPool.submit(() -> User.builder()
+                    .username(row.getUsername())
+                    .email(row.getEmail())
+                    .passwordHash(passwordEncoder.encode(row.getPassword()))
+                    .role(row.getRole() == null || row.getRole().isBlank()
+                            ? UserRole.USER
+                            : UserRole.valueOf(row.getRole().trim().toUpperCase(Locale.ROOT)))
+                    .active(true)
+                    .build()));
+        }
+
+        List<User> users = new ArrayList<>(rows.size());
+        try {
+            for (Future<User> future : futures) {
+                users.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("User import interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+        return users;
+    }
+
+    private void insert(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAll(users);
+            userRepository.flush();
+            // Keep the persistence context from growing across chunks
+            entityManager.clear();
+        });
+    }
+
+    private String validate(UserImportRow row) {
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (row.getRole() != null && !row.getRole().isBlank()) {
+            try {
+                UserRole.valueOf(row.getRole().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                return "role must be one of " + Arrays.toString(UserRole.values());
+            }
+        }
+        return null;
+    }
+
+    private void reject(UserImportReport report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new UserImportReport.RowError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.trim().toLowerCase(Locale.ROOT).startsWith("username");
+    }
+
+    /**
+     * Minimal RFC 4180 field splitting: username,email,password[,role] with
+     * optional double quotes around fields.
+     */
+    static UserImportRow parseCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+
+        if (fields.size() < 3 || fields.size() > 4) {
+            throw new IllegalArgumentException("Expected username,email,password[,role]");
+        }
+        return new UserImportRow(fields.get(0), fields.get(1), fields.get(2), fields.size() == 4 ? fields.get(3) : null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    private record PendingRow(long line, UserImportRow row) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.UserProfile;
+import com.archipellibre.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class UserProfileService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Profile of an active member; deactivated accounts are not found.
+     */
+    @Transactional(readOnly = true)
+    public UserProfile getProfile(String username) {
+        return userRepository.findProfile(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+}
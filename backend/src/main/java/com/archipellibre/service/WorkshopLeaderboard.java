@@ -0,0 +1,212 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.WorkshopRanking;
+import com.archipellibre.model.ProposalStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory vote tallies and a bounded top-K board per {@link ProposalStatus}.
+ */
+@Component
+public class WorkshopLeaderboard {
+
+    private static final Comparator<Ranked> ORDER = Comparator
+            .comparingLong(Ranked::votes).reversed()
+            .thenComparing(Ranked::id);
+
+    private final int capacity;
+    private final ConcurrentHashMap<UUID, Tally> tallies = new ConcurrentHashMap<>();
+    private final EnumMap<ProposalStatus, Board> boards = new EnumMap<>(ProposalStatus.class);
+    // Revisions restart with the process, so ETags also carry an instance id
+    private final UUID instance = UUID.randomUUID();
+    private final AtomicLong revision = new AtomicLong();
+    private volatile Instant lastModified = Instant.now();
+
+    public WorkshopLeaderboard(@Value("${app.workshops.leaderboard-size:50}") int capacity) {
+        this.capacity = capacity;
+        for (ProposalStatus status : ProposalStatus.values()) {
+            boards.put(status, new Board(status));
+        }
+    }
+
+    /**
+     * Replaces all state with the given snapshot.
+     */
+    public void load(Collection<WorkshopRanking> rankings) {
+        tallies.clear();
+        for (WorkshopRanking ranking : rankings) {
+            tallies.put(ranking.id(), new Tally(ranking.id(), ranking.title(), ranking.status(), ranking.votes()));
+        }
+        for (ProposalStatus status : ProposalStatus.values()) {
+            boards.get(status).rebuild();
+        }
+        changed();
+    }
+
+    public boolean contains(UUID proposalId) {
+        return tallies.containsKey(proposalId);
+    }
+
+    /**
+     * Adds a proposal or updates its title and status, keeping its tally.
+     */
+    public void upsert(UUID proposalId, String title, ProposalStatus status, long votes) {
+        Tally tally = tallies.computeIfAbsent(proposalId, id -> new Tally(id, title, status, votes));
+        tally.title = title;
+        ProposalStatus previous = tally.status;
+        if (previous != status) {
+            tally.status = status;
+            boards.get(previous).remove(tally);
+        }
+        boards.get(status).offer(tally);
+        changed();
+    }
+
+    public void remove(UUID proposalId) {
+        Tally tally = tallies.remove(proposalId);
+        if (tally != null) {
+            boards.get(tally.status).remove(tally);
+            changed();
+        }
+    }
+
+    /**
+     * Applies a vote delta and returns the new tally, or -1 if the proposal is unknown.
+     */
+    public long add(UUID proposalId, long delta) {
+        Tally tally = tallies.get(proposalId);
+        if (tally == null) {
+            return -1;
+        }
+        long votes = tally.votes.addAndGet(delta);
+        Board board = boards.get(tally.status);
+        if (delta > 0) {
+            board.offer(tally);
+        } else {
+            board.decreased(tally);
+        }
+        changed();
+        return votes;
+    }
+
+    public long votes(UUID proposalId) {
+        Tally tally = tallies.get(proposalId);
+        return tally == null ? 0 : tally.votes.get();
+    }
+
+    public List<WorkshopRanking> top(ProposalStatus status, int limit) {
+        return boards.get(status).snapshot(Math.min(limit, capacity));
+    }
+
+    /**
+     * Changes with every vote or proposal update on any board.
+     */
+    public ResourceVersion version() {
+        return ResourceVersion.of(lastModified, "leaderboard", instance, revision.get());
+    }
+
+    private void changed() {
+        lastModified = Instant.now();
+        revision.incrementAndGet();
+    }
+
+    private static final class Tally {
+        final UUID id;
+        final AtomicLong votes;
+        volatile String title;
+        volatile ProposalStatus status;
+
+        Tally(UUID id, String title, ProposalStatus status, long votes) {
+            this.id = id;
+            this.title = title;
+            this.status = status;
+            this.votes = new AtomicLong(votes);
+        }
+    }
+
+    private record Ranked(UUID id, long votes) {
+    }
+
+    private final class Board {
+        private final ProposalStatus status;
+        private final TreeSet<Ranked> ranked = new TreeSet<>(ORDER);
+        private final Map<UUID, Ranked> members = new HashMap<>();
+
+        Board(ProposalStatus status) {
+            this.status = status;
+        }
+
+        synchronized void offer(Tally tally) {
+            if (tally.status != status) {
+                return;
+            }
+            // Read the tally under the lock so the latest concurrent value wins
+            Ranked candidate = new Ranked(tally.id, tally.votes.get());
+            Ranked current = members.remove(tally.id);
+            if (current != null) {
+                ranked.remove(current);
+            } else if (ranked.size() >= capacity && ORDER.compare(candidate, ranked.last()) >= 0) {
+                return;
+            }
+            ranked.add(candidate);
+            members.put(candidate.id(), candidate);
+            if (ranked.size() > capacity) {
+                members.remove(ranked.pollLast().id());
+            }
+        }
+
+        synchronized void decreased(Tally tally) {
+            if (!members.containsKey(tally.id)) {
+                return;
+            }
+            if (ranked.size() < capacity) {
+                offer(tally);
+            } else {
+                rebuild();
+            }
+        }
+
+        synchronized void remove(Tally tally) {
+            Ranked current = members.remove(tally.id);
+            if (current != null) {
+                ranked.remove(current);
+                rebuild();
+            }
+        }
+
+        synchronized void rebuild() {
+            ranked.clear();
+            members.clear();
+            for (Tally tally : tallies.values()) {
+                if (tally.status == status) {
+                    Ranked entry = new Ranked(tally.id, tally.votes.get());
+                    ranked.add(entry);
+                    members.put(entry.id(), entry);
+                    if (ranked.size() > capacity) {
+                        members.remove(ranked.pollLast().id());
+                    }
+                }
+            }
+        }
+
+        synchronized List<WorkshopRanking> snapshot(int limit) {
+            List<WorkshopRanking> result = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (Ranked entry : ranked) {
+                if (result.size() == limit) {
+                    break;
+                }
+                Tally tally = tallies.get(entry.id());
+                if (tally != null) {
+                    result.add(new WorkshopRanking(entry.id(), tally.title, tally.status, (int) entry.votes()));
+                }
+            }
+            return result;
+        }
+    }
+}
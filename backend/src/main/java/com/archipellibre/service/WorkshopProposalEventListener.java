@@ -0,0 +1,50 @@
+package com.archipellibre.service;
+
+import com.archipellibre.model.WorkshopProposal;
+import com.archipellibre.persistence.PostCommitEntityListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@link WorkshopLeaderboard} in step with committed proposal writes.
+ */
+@Component
+public class WorkshopProposalEventListener extends PostCommitEntityListener {
+
+    @Autowired
+    private WorkshopLeaderboard leaderboard;
+
+    public WorkshopProposalEventListener() {
+        super(WorkshopProposal.class);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof WorkshopProposal proposal) {
+            upsert(proposal);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof WorkshopProposal proposal) {
+            upsert(proposal);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof WorkshopProposal proposal) {
+            leaderboard.remove(proposal.getId());
+        }
+    }
+
+    private void upsert(WorkshopProposal proposal) {
+        // The entity's upvotes may lag the ledger; it only seeds proposals not yet tracked
+        long votes = proposal.getUpvotes() == null ? 0 : proposal.getUpvotes();
+        leaderboard.upsert(proposal.getId(), proposal.getTitle(), proposal.getStatus(), votes);
+    }
+}
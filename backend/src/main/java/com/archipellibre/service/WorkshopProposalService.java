@@ -0,0 +1,52 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.CursorPage;
+import com.archipellibre.dto.WorkshopProposalDetail;
+import com.archipellibre.dto.WorkshopProposalSummary;
+import com.archipellibre.model.ProposalStatus;
+import com.archipellibre.repository.WorkshopProposalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Proposal listings, newest first, with keyset pagination.
+ */
+@Service
+public class WorkshopProposalService {
+
+    @Autowired
+    private WorkshopProposalRepository proposalRepository;
+
+    @Value("${app.workshops.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.workshops.max-page-size:100}")
+    private int maxPageSize;
+
+    @Transactional(readOnly = true)
+    public CursorPage<WorkshopProposalSummary> listProposals(ProposalStatus status, Integer limit, String cursor) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        // Fetch one extra row to know whether another page exists
+        Pageable window = Pageable.ofSize(pageSize + 1);
+        List<WorkshopProposalSummary> proposals;
+        if (cursor == null || cursor.isBlank()) {
+            proposals = proposalRepository.findLatest(status, window);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            proposals = proposalRepository.findLatestBefore(status, position.position(), position.id(), window);
+        }
+        return KeysetCursor.page(proposals, pageSize, last -> new KeysetCursor(last.createdAt(), last.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public WorkshopProposalDetail getProposal(UUID proposalId) {
+        return proposalRepository.findDetail(proposalId)
+                .orElseThrow(() -> new ResourceNotFoundException("Proposal not found"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.WorkshopRanking;
+import com.archipellibre.model.ProposalStatus;
+import com.archipellibre.model.WorkshopProposal;
+import com.archipellibre.outbox.OutboxPublisher;
+import com.archipellibre.outbox.ProposalReviewed;
+import com.archipellibre.repository.WorkshopProposalRepository;
+import com.archipellibre.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Approves or rejects pending workshop proposals under a row lock.
+ */
+@Service
+public class WorkshopReviewService {
+
+    @Autowired
+    private WorkshopProposalRepository proposalRepository;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Transactional
+    public WorkshopRanking review(UUID proposalId, ProposalStatus decision, UserPrincipal reviewer) {
+        if (decision != ProposalStatus.APPROVED && decision != ProposalStatus.REJECTED) {
+            throw new BadRequestException("A review either approves or rejects the proposal");
+        }
+        WorkshopProposal proposal = proposalRepository.findByIdForUpdate(proposalId)
+                .orElseThrow(() -> new ResourceNotFoundException("Proposal not found"));
+        if (proposal.getStatus() != ProposalStatus.PENDING) {
+            throw new ConflictException("Proposal has already been reviewed");
+        }
+        proposal.setStatus(decision);
+        proposal.setReviewedAt(LocalDateTime.now());
+
+        outboxPublisher.publish(new ProposalReviewed(proposalId, decision, reviewer.getId()));
+        return new WorkshopRanking(proposal.getId(), proposal.getTitle(), proposal.getStatus(),
+                proposal.getUpvotes());
+    }
+}
@@ -0,0 +1,183 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.WorkshopRanking;
+import com.archipellibre.dto.WorkshopVoteResponse;
+import com.archipellibre.model.ProposalStatus;
+import com.archipellibre.model.WorkshopProposal;
+import com.archipellibre.repository.WorkshopProposalRepository;
+import com.archipellibre.repository.WorkshopVoteRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Workshop voting: a ledger row per vote, with dirty proposals recounted from
+ * the ledger in batches. Flushes are idempotent across nodes.
+ */
+@Service
+public class WorkshopVoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkshopVoteService.class);
+
+    @Autowired
+    private WorkshopVoteRepository voteRepository;
+
+    @Autowired
+    private WorkshopProposalRepository proposalRepository;
+
+    @Autowired
+    private WorkshopLeaderboard leaderboard;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    public WorkshopVoteService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    public WorkshopVoteResponse vote(UUID proposalId, UUID userId) {
+        ensureKnown(proposalId);
+        int added;
+        try {
+            added = voteRepository.insertIfAbsent(UUID.randomUUID(), proposalId, userId, LocalDateTime.now());
+        } catch (DataIntegrityViolationException ex) {
+            // Concurrent vote by the same member: the unique key keeps only one
+            throw new ConflictException("Already voted for this proposal");
+        }
+        if (added == 1) {
+            afterCommit(proposalId, 1);
+        }
+        return new WorkshopVoteResponse(proposalId, true, leaderboard.votes(proposalId) + added);
+    }
+
+    @Transactional
+    public WorkshopVoteResponse unvote(UUID proposalId, UUID userId) {
+        ensureKnown(proposalId);
+        int removed = voteRepository.deleteByProposalIdAndUserId(proposalId, userId);
+        if (removed == 1) {
+            afterCommit(proposalId, -1);
+        }
+        return new WorkshopVoteResponse(proposalId, false, leaderboard.votes(proposalId) - removed);
+    }
+
+    public List<WorkshopRanking> leaderboard(ProposalStatus status, int limit) {
+        return leaderboard.top(status, limit);
+    }
+
+    public ResourceVersion leaderboardVersion() {
+        return leaderboard.version();
+    }
+
+    /**
+     * Recounts the dirty proposals in one batch. Proposals of a failed batch
+     * are marked dirty again and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.workshops.vote-flush-interval:1000}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (UUID proposalId : dirty) {
+            if (dirty.remove(proposalId)) {
+                batch.add(new Object[]{proposalId});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE workshop_proposals p SET upvotes = p.legacy_upvotes + " +
+                    "(SELECT COUNT(*) FROM workshop_votes v WHERE v.proposal_id = p.id) WHERE p.id = ?", batch));
+            Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+            for (Object[] row : batch) {
+                cache.evictEntityData(WorkshopProposal.class, row[0]);
+            }
+            cache.evictQueryRegion(WorkshopProposalRepository.LIST_CACHE_REGION);
+        } catch (DataAccessException ex) {
+            logger.warn("Vote flush failed, {} proposals will be retried: {}", batch.size(), ex.getMessage());
+            for (Object[] row : batch) {
+                dirty.add((UUID) row[0]);
+            }
+        }
+    }
+
+    /**
+     * Recounts at startup too: votes a crashed node never flushed are in the
+     * ledger but not in the tallies.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLeaderboard() {
+        recount();
+    }
+
+    /**
+     * Recounts every tally from its baseline and the ledger, then reloads the
+     * leaderboards. Each node only adds its own votes to its leaderboard, so
+     * with several nodes a board lags the others' votes until this runs.
+     */
+    @Scheduled(cron = "${app.workshops.vote-reconcile-cron:-}")
+    public void reconcile() {
+        flush();
+        recount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void recount() {
+        transactionTemplate.executeWithoutResult(status -> {
+            int proposals = proposalRepository.reconcileUpvotes();
+            leaderboard.load(proposalRepository.findAllRankings());
+            logger.info("Reconciled vote tallies for {} workshop proposals", proposals);
+        });
+    }
+
+    private void ensureKnown(UUID proposalId) {
+        if (leaderboard.contains(proposalId)) {
+            return;
+        }
+        WorkshopRanking ranking = proposalRepository.findRanking(proposalId)
+                .orElseThrow(() -> new ResourceNotFoundException("Workshop proposal not found"));
+        leaderboard.upsert(ranking.id(), ranking.title(), ranking.status(), ranking.votes());
+    }
+
+    private void afterCommit(UUID proposalId, long delta) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dirty.add(proposalId);
+                leaderboard.add(proposalId, delta);
+            }
+        });
+    }
+}
@@ -0,0 +1,26 @@
+-- Contention-safe registration: a participant counter next to the capacity,
+-- one row per participant and event, and a FIFO waitlist.
+
+-- ddl-auto never enforced uniqueness here, so drop duplicate registrations first
+CREATE TABLE event_participants_distinct AS SELECT DISTINCT event_id, user_id FROM event_participants;
+DELETE FROM event_participants;
+INSERT INTO event_participants (event_id, user_id) SELECT event_id, user_id FROM event_participants_distinct;
+DROP TABLE event_participants_distinct;
+
+ALTER TABLE event_participants ADD CONSTRAINT uk_event_participants UNIQUE (event_id, user_id);
+
+ALTER TABLE events ADD COLUMN participant_count INTEGER DEFAULT 0 NOT NULL;
+
+-- Seats are reserved against this counter, so it must start from the real count
+UPDATE events e SET participant_count = (SELECT COUNT(*) FROM event_participants p WHERE p.event_id = e.id);
+
+CREATE TABLE event_waitlist (
+    id         UUID         NOT NULL,
+    event_id   UUID         NOT NULL,
+    user_id    UUID         NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_event_waitlist PRIMARY KEY (id),
+    CONSTRAINT uk_event_waitlist UNIQUE (event_id, user_id),
+    CONSTRAINT fk_event_waitlist_event FOREIGN KEY (event_id) REFERENCES events (id),
+    CONSTRAINT fk_event_waitlist_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
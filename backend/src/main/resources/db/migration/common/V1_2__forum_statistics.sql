@@ -0,0 +1,32 @@
+-- Denormalized forum statistics: post counters and last activity per thread,
+-- and one summary row per category. Both are filled the way the repair job
+-- (ForumStatsService) rebuilds them.
+
+ALTER TABLE forum_threads ADD COLUMN post_count INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE forum_threads ADD COLUMN last_post_author VARCHAR(255);
+
+UPDATE forum_threads t SET
+    post_count = (SELECT COUNT(*) FROM forum_posts p WHERE p.thread_id = t.id),
+    last_activity_at = COALESCE((SELECT MAX(p.created_at) FROM forum_posts p WHERE p.thread_id = t.id),
+                                t.last_activity_at, t.created_at),
+    last_post_author = (SELECT u.username FROM forum_posts p JOIN users u ON u.id = p.author_id
+                        WHERE p.thread_id = t.id ORDER BY p.created_at DESC, p.id DESC LIMIT 1);
+
+-- Keyset pagination orders on it
+ALTER TABLE forum_threads ALTER COLUMN last_activity_at SET NOT NULL;
+
+CREATE TABLE forum_category_stats (
+    category         VARCHAR(50)  NOT NULL,
+    thread_count     BIGINT       DEFAULT 0 NOT NULL,
+    post_count       BIGINT       DEFAULT 0 NOT NULL,
+    last_activity_at TIMESTAMP(6),
+    last_post_author VARCHAR(255),
+    CONSTRAINT pk_forum_category_stats PRIMARY KEY (category)
+);
+
+INSERT INTO forum_category_stats (category, thread_count, post_count, last_activity_at, last_post_author)
+SELECT t.category, COUNT(*), SUM(t.post_count), MAX(t.last_activity_at),
+       (SELECT t2.last_post_author FROM forum_threads t2
+        WHERE t2.category = t.category AND t2.last_post_author IS NOT NULL
+        ORDER BY t2.last_activity_at DESC, t2.id DESC LIMIT 1)
+FROM forum_threads t GROUP BY t.category;
@@ -0,0 +1,16 @@
+-- One row per vote, so a member can vote for a proposal only once.
+
+CREATE TABLE workshop_votes (
+    id          UUID         NOT NULL,
+    proposal_id UUID         NOT NULL,
+    user_id     UUID         NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_workshop_votes PRIMARY KEY (id),
+    CONSTRAINT uk_workshop_votes UNIQUE (proposal_id, user_id),
+    CONSTRAINT fk_workshop_votes_proposal FOREIGN KEY (proposal_id) REFERENCES workshop_proposals (id),
+    CONSTRAINT fk_workshop_votes_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Votes cast before the ledger existed have no rows; tallies are this baseline plus the ledger count.
+ALTER TABLE workshop_proposals ADD COLUMN legacy_upvotes INTEGER DEFAULT 0 NOT NULL;
+UPDATE workshop_proposals SET legacy_upvotes = upvotes;
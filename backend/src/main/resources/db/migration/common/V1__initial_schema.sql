@@ -0,0 +1,92 @@
+-- Schema as previously maintained by hibernate.ddl-auto=update, before any
+-- of the tables and columns added since. Existing databases are baselined at
+-- this version (spring.flyway.baseline-on-migrate) and get the rest from V1.1 on.
+
+CREATE TABLE users (
+    id            UUID         NOT NULL,
+    username      VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role          VARCHAR(255) NOT NULL,
+    bio           VARCHAR(500),
+    avatar_url    VARCHAR(255),
+    active        BOOLEAN      NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT ck_users_role CHECK (role IN ('USER', 'MODERATOR', 'ADMIN'))
+);
+
+CREATE TABLE events (
+    id               UUID         NOT NULL,
+    title            VARCHAR(255) NOT NULL,
+    description      TEXT         NOT NULL,
+    start_time       TIMESTAMP(6) NOT NULL,
+    end_time         TIMESTAMP(6) NOT NULL,
+    location         VARCHAR(255),
+    image_url        VARCHAR(255),
+    max_participants INTEGER      NOT NULL,
+    status           VARCHAR(255) NOT NULL,
+    organizer_id     UUID         NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT pk_events PRIMARY KEY (id),
+    CONSTRAINT fk_events_organizer FOREIGN KEY (organizer_id) REFERENCES users (id),
+    CONSTRAINT ck_events_status CHECK (status IN ('SCHEDULED', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED'))
+);
+
+CREATE TABLE event_participants (
+    event_id UUID NOT NULL,
+    user_id  UUID NOT NULL,
+    CONSTRAINT fk_event_participants_event FOREIGN KEY (event_id) REFERENCES events (id),
+    CONSTRAINT fk_event_participants_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE forum_threads (
+    id               UUID         NOT NULL,
+    title            VARCHAR(255) NOT NULL,
+    content          TEXT         NOT NULL,
+    category         VARCHAR(255) NOT NULL,
+    pinned           BOOLEAN      NOT NULL,
+    locked           BOOLEAN      NOT NULL,
+    creator_id       UUID         NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6),
+    last_activity_at TIMESTAMP(6),
+    CONSTRAINT pk_forum_threads PRIMARY KEY (id),
+    CONSTRAINT fk_forum_threads_creator FOREIGN KEY (creator_id) REFERENCES users (id)
+);
+
+CREATE TABLE forum_posts (
+    id         UUID         NOT NULL,
+    content    TEXT         NOT NULL,
+    author_id  UUID         NOT NULL,
+    thread_id  UUID         NOT NULL,
+    edited     BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_forum_posts PRIMARY KEY (id),
+    CONSTRAINT fk_forum_posts_author FOREIGN KEY (author_id) REFERENCES users (id),
+    CONSTRAINT fk_forum_posts_thread FOREIGN KEY (thread_id) REFERENCES forum_threads (id)
+);
+
+CREATE TABLE workshop_proposals (
+    id                 UUID         NOT NULL,
+    title              VARCHAR(255) NOT NULL,
+    description        TEXT         NOT NULL,
+    objectives         VARCHAR(255) NOT NULL,
+    target_audience    VARCHAR(255),
+    estimated_duration INTEGER,
+    status             VARCHAR(255) NOT NULL,
+    upvotes            INTEGER      NOT NULL,
+    proposer_id        UUID         NOT NULL,
+    reviewed_at        TIMESTAMP(6),
+    created_at         TIMESTAMP(6) NOT NULL,
+    updated_at         TIMESTAMP(6),
+    CONSTRAINT pk_workshop_proposals PRIMARY KEY (id),
+    CONSTRAINT fk_workshop_proposals_proposer FOREIGN KEY (proposer_id) REFERENCES users (id),
+    CONSTRAINT ck_workshop_proposals_status
+        CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED', 'IN_PROGRESS', 'COMPLETED'))
+);
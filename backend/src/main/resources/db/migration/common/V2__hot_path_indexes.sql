@@ -0,0 +1,29 @@
+-- Indexes for the list, calendar and lookup queries in the repositories.
+-- Databases baselined from ddl-auto only have the primary keys and unique
+-- constraints of V1, so every index here is new to them.
+
+-- Events: calendar range scans, listings by status and organizer
+CREATE INDEX idx_event_time ON events (start_time, end_time);
+CREATE INDEX idx_event_status_start ON events (status, start_time);
+CREATE INDEX idx_event_organizer_start ON events (organizer_id, start_time);
+
+-- Participants: uk_event_participants serves lookups by event; this one serves "my events"
+CREATE INDEX idx_event_participants_user ON event_participants (user_id, event_id);
+
+-- Waitlist: FIFO promotion per event, cleanup per user
+CREATE INDEX idx_event_waitlist_queue ON event_waitlist (event_id, created_at);
+CREATE INDEX idx_event_waitlist_user ON event_waitlist (user_id);
+
+-- Forum threads: keyset pagination by activity, per category and per creator
+CREATE INDEX idx_forum_thread_activity ON forum_threads (last_activity_at, id);
+CREATE INDEX idx_forum_thread_category_activity ON forum_threads (category, last_activity_at, id);
+CREATE INDEX idx_forum_thread_creator ON forum_threads (creator_id, created_at);
+
+-- Forum posts: keyset pagination inside a thread, posts by author
+CREATE INDEX idx_forum_post_thread_created ON forum_posts (thread_id, created_at, id);
+CREATE INDEX idx_forum_post_author ON forum_posts (author_id, created_at);
+
+-- Workshops: listings by status and proposer; uk_workshop_votes serves lookups by proposal
+CREATE INDEX idx_workshop_status_created ON workshop_proposals (status, created_at);
+CREATE INDEX idx_workshop_proposer ON workshop_proposals (proposer_id);
+CREATE INDEX idx_workshop_vote_user ON workshop_votes (user_id);
@@ -0,0 +1,21 @@
+-- Domain events written in the same transaction as the change they describe
+-- and drained by OutboxDispatcher. Delivered rows are deleted; rows that used
+-- up their attempts keep failed_at and last_error for inspection.
+
+CREATE TABLE outbox_events (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    aggregate_type     VARCHAR(50)   NOT NULL,
+    aggregate_id       UUID          NOT NULL,
+    event_type         VARCHAR(100)  NOT NULL,
+    payload            TEXT          NOT NULL,
+    created_at         TIMESTAMP(6)  NOT NULL,
+    attempts           INTEGER       DEFAULT 0 NOT NULL,
+    next_attempt_at    TIMESTAMP(6)  NOT NULL,
+    completed_handlers VARCHAR(500),
+    last_error         VARCHAR(1000),
+    failed_at          TIMESTAMP(6),
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id)
+);
+
+-- Finds the oldest pending event of each aggregate in a batch
+CREATE INDEX idx_outbox_events_aggregate ON outbox_events (aggregate_id, id);
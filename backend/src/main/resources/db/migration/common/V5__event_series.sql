@@ -0,0 +1,41 @@
+-- Recurring events. A series stores its recurrence rule once; occurrences
+-- are expanded per calendar request. An occurrence only gets an events row
+-- once it is registered for or overridden, keyed by the start the rule gave
+-- it (occurrence_start). Exceptions are the starts not to expand: occurrences
+-- cancelled without a row, and those that have one.
+
+CREATE TABLE event_series (
+    id               UUID         NOT NULL,
+    title            VARCHAR(255) NOT NULL,
+    description      TEXT         NOT NULL,
+    location         VARCHAR(255),
+    image_url        VARCHAR(255),
+    max_participants INTEGER      NOT NULL,
+    organizer_id     UUID         NOT NULL,
+    first_start      TIMESTAMP(6) NOT NULL,
+    duration_minutes INTEGER      NOT NULL,
+    recurrence_rule  VARCHAR(255) NOT NULL,
+    last_end         TIMESTAMP(6),
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT pk_event_series PRIMARY KEY (id),
+    CONSTRAINT fk_event_series_organizer FOREIGN KEY (organizer_id) REFERENCES users (id)
+);
+
+-- Series overlapping a calendar range; last_end is NULL for series that never end
+CREATE INDEX idx_event_series_span ON event_series (first_start, last_end);
+
+CREATE TABLE event_series_exceptions (
+    series_id        UUID         NOT NULL,
+    occurrence_start TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_event_series_exceptions PRIMARY KEY (series_id, occurrence_start),
+    CONSTRAINT fk_event_series_exceptions_series FOREIGN KEY (series_id) REFERENCES event_series (id)
+);
+
+-- Exceptions in a calendar range, whatever their series
+CREATE INDEX idx_event_series_exceptions_start ON event_series_exceptions (occurrence_start);
+
+ALTER TABLE events ADD COLUMN series_id UUID;
+ALTER TABLE events ADD COLUMN occurrence_start TIMESTAMP(6);
+ALTER TABLE events ADD CONSTRAINT fk_events_series FOREIGN KEY (series_id) REFERENCES event_series (id);
+ALTER TABLE events ADD CONSTRAINT uk_events_occurrence UNIQUE (series_id, occurrence_start);
@@ -0,0 +1,16 @@
+-- Small indexes over the rows the hot queries actually filter on.
+
+-- Pinned threads are listed on every forum page load
+CREATE INDEX IF NOT EXISTS idx_forum_thread_pinned
+    ON forum_threads (last_activity_at DESC)
+    WHERE pinned;
+
+-- Moderation queue: only PENDING proposals, oldest first
+CREATE INDEX IF NOT EXISTS idx_workshop_pending
+    ON workshop_proposals (created_at)
+    WHERE status = 'PENDING';
+
+-- Upcoming scheduled events, the default calendar view
+CREATE INDEX IF NOT EXISTS idx_event_scheduled_start
+    ON events (start_time)
+    WHERE status = 'SCHEDULED';
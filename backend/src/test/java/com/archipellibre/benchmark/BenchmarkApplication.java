@@ -0,0 +1,52 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.ArchipelLibreApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.stream.Stream;
+
+/**
+ * Boots the application on the H2 test profile with SQL logging off, for
+ * benchmarks that need real repositories and transactions.
+ */
+final class BenchmarkApplication {
+
+    private static final String[] QUIET = {
+            "spring.datasource.url=jdbc:h2:mem:benchmark;LOCK_TIMEOUT=10000",
+            "spring.jpa.show-sql=false",
+            "logging.level.root=WARN",
+            "logging.level.com.archipellibre=WARN",
+            "logging.level.org.hibernate.SQL=WARN",
+            "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(ArchipelLibreApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .properties(QUIET)
+                .run();
+    }
+
+    /**
+     * Starts the full application with Tomcat on a random port
+     * ({@code local.server.port}). The given properties are passed as command
+     * line arguments, so they override application.yml.
+     */
+    static ConfigurableApplicationContext startServer(ApplicationContextInitializer<?> initializer,
+                                                      String... properties) {
+        return new SpringApplicationBuilder(ArchipelLibreApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.SERVLET)
+                .initializers(initializer)
+                .run(Stream.concat(Stream.of(QUIET), Stream.of(properties))
+                        .map(property -> "--" + property)
+                        .toArray(String[]::new));
+    }
+}
@@ -0,0 +1,123 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.dto.CalendarResponse;
+import com.archipellibre.model.*;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.EventSeriesRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.service.EventCalendarService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calendar reads over weekly meetups, stored either as one row per meeting
+ * ({@code events}) or as one series each whose meetings are expanded per
+ * request ({@code series}). Both hold the same meetings, next to the same
+ * one-off events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalendarBenchmark {
+
+    private static final LocalDate FIRST_MONDAY = LocalDate.of(2030, 1, 7);
+    private static final int MEETUPS = 20;
+    private static final int WEEKS = 3 * 52;
+    private static final int ONE_OFF_EVENTS = 1000;
+    // The second year, well past the first meetings
+    private static final LocalDate YEAR = FIRST_MONDAY.plusWeeks(52);
+
+    @Param({"events", "series"})
+    private String storage;
+
+    private ConfigurableApplicationContext context;
+    private EventCalendarService calendarService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        calendarService = context.getBean(EventCalendarService.class);
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        EventSeriesRepository seriesRepository = context.getBean(EventSeriesRepository.class);
+
+        User organizer = context.getBean(UserRepository.class).save(User.builder()
+                .username("organizer")
+                .email("organizer@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < ONE_OFF_EVENTS; i++) {
+            LocalDateTime start = FIRST_MONDAY.atTime(10, 0).plusHours(25L * i);
+            events.add(event("One-off " + i, start, organizer));
+        }
+        for (int m = 0; m < MEETUPS; m++) {
+            LocalDateTime first = FIRST_MONDAY.plusDays(m % 7).atTime(18, m);
+            if (storage.equals("series")) {
+                seriesRepository.save(EventSeries.builder()
+                        .title("Meetup " + m)
+                        .description("Every week")
+                        .maxParticipants(20)
+                        .organizer(organizer)
+                        .firstStart(first)
+                        .durationMinutes(120)
+                        .recurrenceRule("FREQ=WEEKLY;COUNT=" + WEEKS)
+                        .lastEnd(first.plusWeeks(WEEKS - 1).plusHours(2))
+                        .build());
+            } else {
+                for (int w = 0; w < WEEKS; w++) {
+                    events.add(event("Meetup " + m, first.plusWeeks(w), organizer));
+                }
+            }
+        }
+        eventRepository.saveAll(events);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CalendarResponse week() {
+        return calendarService.getCalendar(YEAR.plusWeeks(20), YEAR.plusWeeks(21),
+                CalendarResponse.Granularity.DAY, null, null);
+    }
+
+    @Benchmark
+    public CalendarResponse month() {
+        return calendarService.getCalendar(YEAR.plusWeeks(20), YEAR.plusWeeks(20).plusMonths(1),
+                CalendarResponse.Granularity.WEEK, null, null);
+    }
+
+    /**
+     * More meetings than the page cap: the first page only.
+     */
+    @Benchmark
+    public CalendarResponse year() {
+        return calendarService.getCalendar(YEAR, YEAR.plusYears(1), CalendarResponse.Granularity.MONTH, null, null);
+    }
+
+    private static Event event(String title, LocalDateTime start, User organizer) {
+        return Event.builder()
+                .title(title)
+                .description(title)
+                .startTime(start)
+                .endTime(start.plusHours(2))
+                .maxParticipants(20)
+                .status(EventStatus.SCHEDULED)
+                .organizer(organizer)
+                .build();
+    }
+}
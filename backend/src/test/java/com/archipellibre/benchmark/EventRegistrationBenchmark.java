@@ -0,0 +1,96 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.model.Event;
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.service.EventRegistrationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Join/leave throughput on a single hot event with 8 concurrent members.
+ * With {@code capacity = 4} half of the joins land on the waitlist and every
+ * leave promotes someone, exercising the locked slow path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class EventRegistrationBenchmark {
+
+    private static final int MEMBERS = 8;
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        @Param({"0", "4"})
+        public int capacity;
+
+        ConfigurableApplicationContext context;
+        EventRegistrationService registrationService;
+        UUID eventId;
+        List<UUID> memberIds = new ArrayList<>();
+        AtomicInteger nextMember = new AtomicInteger();
+
+        @Setup
+        public void setUp() {
+            context = BenchmarkApplication.start();
+            registrationService = context.getBean(EventRegistrationService.class);
+            UserRepository userRepository = context.getBean(UserRepository.class);
+
+            for (int i = 0; i < MEMBERS; i++) {
+                memberIds.add(userRepository.save(User.builder()
+                        .username("member" + i)
+                        .email("member" + i + "@example.com")
+                        .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                        .role(UserRole.USER)
+                        .active(true)
+                        .build()).getId());
+            }
+
+            eventId = context.getBean(EventRepository.class).save(Event.builder()
+                    .title("Hot event")
+                    .description("Everyone wants in")
+                    .startTime(LocalDateTime.now().plusDays(1))
+                    .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                    .maxParticipants(capacity)
+                    .status(EventStatus.SCHEDULED)
+                    .organizer(userRepository.getReferenceById(memberIds.get(0)))
+                    .build()).getId();
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Member {
+
+        UUID userId;
+
+        @Setup
+        public void setUp(Shared shared) {
+            userId = shared.memberIds.get(shared.nextMember.getAndIncrement() % MEMBERS);
+        }
+    }
+
+    @Benchmark
+    public Object joinThenLeave(Shared shared, Member member) {
+        shared.registrationService.join(shared.eventId, member.userId);
+        return shared.registrationService.leave(shared.eventId, member.userId);
+    }
+}
@@ -0,0 +1,99 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of typical response payloads: an event detail with its
+ * participants and a page of forum threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"0", "50"})
+    public int participants;
+
+    private ObjectMapper objectMapper;
+    private Event event;
+    private List<ForumThread> threadPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        User organizer = user("organizer");
+        List<User> attendees = new ArrayList<>();
+        for (int i = 0; i < participants; i++) {
+            attendees.add(user("participant" + i));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        event = Event.builder()
+                .id(UUID.randomUUID())
+                .title("Atelier réparation de vélos")
+                .description("Venez réparer votre vélo avec l'aide de bénévoles. ".repeat(20))
+                .startTime(now.plusDays(3))
+                .endTime(now.plusDays(3).plusHours(2))
+                .location("Maison des associations")
+                .maxParticipants(100)
+                .status(EventStatus.SCHEDULED)
+                .organizer(organizer)
+                .participants(attendees)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        threadPage = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            threadPage.add(ForumThread.builder()
+                    .id(UUID.randomUUID())
+                    .title("Sujet de discussion " + i)
+                    .content("Contenu du sujet de discussion. ".repeat(30))
+                    .category("general")
+                    .pinned(i == 0)
+                    .locked(false)
+                    .creator(organizer)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .lastActivityAt(now)
+                    .build());
+        }
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .username(username)
+                .email(username + "@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] eventDetail() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] threadPage() throws Exception {
+        return objectMapper.writeValueAsBytes(threadPage);
+    }
+}
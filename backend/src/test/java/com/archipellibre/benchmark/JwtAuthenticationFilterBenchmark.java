@@ -0,0 +1,80 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.model.UserRole;
+import com.archipellibre.security.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Full {@link JwtAuthenticationFilter} pass for one request, with the user
+ * lookup mocked out:
+ * <ul>
+ *   <li>{@code claims}: principal built from self-contained token claims</li>
+ *   <li>{@code cached}: principal served by the {@link PrincipalCache}</li>
+ *   <li>{@code uncached}: every request calls {@link UserDetailsServiceImpl}</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"claims", "cached", "uncached"})
+    public String mode;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = JwtTokenProviderBenchmark.newTokenProvider();
+
+        UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), "benchmark", "benchmark@example.com",
+                "", UserRole.USER, true, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        UserDetailsServiceImpl userDetailsService = Mockito.mock(UserDetailsServiceImpl.class);
+        Mockito.when(userDetailsService.loadUserByUsername(anyString())).thenReturn(principal);
+
+        TokenRevocationList revocationList = new TokenRevocationList();
+        ReflectionTestUtils.setField(revocationList, "accessTokenExpirationMs", 3_600_000L);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "tokenRevocationList", revocationList);
+        ReflectionTestUtils.setField(filter, "principalCache",
+                new PrincipalCache(10_000, "uncached".equals(mode) ? 0 : 60_000));
+        ReflectionTestUtils.setField(filter, "selfContainedTokens", "claims".equals(mode));
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+
+        authorization = "Bearer " + tokenProvider.generateAccessToken(principal);
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader("Authorization", authorization);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,83 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.security.JwtTokenProvider;
+import com.archipellibre.security.TokenVerification;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification cost. {@code twoPassWithReencodedKey}
+ * reproduces the former validate-then-parse sequence (two HMAC checks, secret
+ * re-encoded each time) as a baseline for {@link JwtTokenProvider#verify(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET =
+            "BenchmarkSecretKeyForJWTTokenGenerationMustBe256BitsOrMoreForHS512Algorithm";
+
+    private JwtTokenProvider tokenProvider;
+    private UserDetails principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = newTokenProvider();
+        principal = User.withUsername("benchmark").password("").roles("USER").build();
+        token = tokenProvider.generateAccessToken(principal);
+    }
+
+    static JwtTokenProvider newTokenProvider() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshExpirationMs", 86_400_000L);
+        tokenProvider.init();
+        return tokenProvider;
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return tokenProvider.generateAccessToken(principal);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return tokenProvider.generateRefreshToken("benchmark");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String twoPassWithReencodedKey() {
+        byte[] key = SECRET.getBytes(StandardCharsets.UTF_8);
+        Jwts.parser().setSigningKey(key).parseClaimsJws(token);
+
+        Claims claims = Jwts.parser()
+                .setSigningKey(SECRET.getBytes(StandardCharsets.UTF_8))
+                .parseClaimsJws(token)
+                .getBody();
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public String singlePassWithPrecomputedKey() {
+        TokenVerification verification = tokenProvider.verify(token);
+        return verification.claims().getSubject();
+    }
+}
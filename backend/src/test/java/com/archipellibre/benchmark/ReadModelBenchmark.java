@@ -0,0 +1,228 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.dto.*;
+import com.archipellibre.model.*;
+import com.archipellibre.repository.*;
+import com.archipellibre.service.EventCalendarService;
+import com.archipellibre.service.ForumService;
+import com.archipellibre.service.UserProfileService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * List and detail reads, each served two ways and serialized to JSON:
+ * {@code entity*} hydrates entities and maps them in an open transaction;
+ * {@code projected*} selects the response records directly. Thread pages and
+ * profiles go through the services, which use projections. Event details
+ * compare a projection with the cached entity the service maps instead.
+ *
+ * Besides the time per operation, each trial prints the SQL statements and
+ * bytes allocated per operation over its last iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadModelBenchmark {
+
+    private static final int USERS = 50;
+    private static final int THREADS = 200;
+    private static final int POSTS_BY_ACTIVE_MEMBER = 500;
+    private static final int PAGE_SIZE = 20;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+    private com.sun.management.ThreadMXBean threads;
+
+    private EntityManager entityManager;
+    private ForumThreadRepository threadRepository;
+    private EventRepository eventRepository;
+    private UserRepository userRepository;
+    private ForumService forumService;
+    private EventCalendarService calendarService;
+    private UserProfileService profileService;
+
+    private UUID eventId;
+    private String activeMember;
+
+    private long operations;
+    private long statements;
+    private long allocatedBytes;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        // Shared proxy bound to the current transaction
+        entityManager = context.getBean(EntityManager.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        threadRepository = context.getBean(ForumThreadRepository.class);
+        eventRepository = context.getBean(EventRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        forumService = context.getBean(ForumService.class);
+        calendarService = context.getBean(EventCalendarService.class);
+        profileService = context.getBean(UserProfileService.class);
+
+        seed();
+    }
+
+    private void seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .username("member" + i)
+                    .email("member" + i + "@example.com")
+                    .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                    .role(UserRole.USER)
+                    .active(true)
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+        User active = users.get(0);
+        activeMember = active.getUsername();
+
+        List<ForumThread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            threads.add(ForumThread.builder()
+                    .title("Thread " + i)
+                    .content("Content of thread " + i)
+                    .category("general")
+                    .pinned(false)
+                    .locked(false)
+                    .creator(users.get(i % USERS))
+                    .lastActivityAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+        threads = threadRepository.saveAll(threads);
+
+        List<ForumPost> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS_BY_ACTIVE_MEMBER; i++) {
+            posts.add(ForumPost.builder()
+                    .content("Reply " + i)
+                    .author(active)
+                    .thread(threads.get(i % THREADS))
+                    .edited(false)
+                    .build());
+        }
+        context.getBean(ForumPostRepository.class).saveAll(posts);
+
+        eventId = eventRepository.save(Event.builder()
+                .title("Repair café")
+                .description("Bring your broken things")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(3))
+                .maxParticipants(0)
+                .status(EventStatus.SCHEDULED)
+                .organizer(active)
+                .build()).getId();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        operations = 0;
+        statements = 0;
+        allocatedBytes = 0;
+    }
+
+    @TearDown
+    public void tearDown(BenchmarkParams params) {
+        if (operations > 0) {
+            System.out.printf("%n%s: %.1f SQL statements/op, %d bytes allocated/op%n",
+                    params.getBenchmark(), (double) statements / operations, allocatedBytes / operations);
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entityThreadPage() {
+        return measured(() -> readOnly.execute(status -> threadRepository
+                .findAllByOrderByLastActivityAtDesc(PageRequest.of(0, PAGE_SIZE))
+                .map(t -> new ForumThreadSummary(t.getId(), t.getTitle(), t.getCategory(), t.getPinned(),
+                        t.getLocked(), t.getCreator().getUsername(), t.getCreatedAt(), t.getLastActivityAt(),
+                        t.getPostCount(), t.getLastPostAuthor()))
+                .getContent()));
+    }
+
+    @Benchmark
+    public byte[] projectedThreadPage() {
+        return measured(() -> forumService.listThreads(PAGE_SIZE, null));
+    }
+
+    /**
+     * Mapped from the second-level cache. Nothing writes the event during a
+     * trial, so this measures a warm cache hit, not a typical read.
+     */
+    @Benchmark
+    public byte[] cachedEventDetail() {
+        return measured(() -> calendarService.getEvent(eventId));
+    }
+
+    @Benchmark
+    public byte[] projectedEventDetail() {
+        return measured(() -> readOnly.execute(status -> entityManager.createQuery(
+                        "SELECT new com.archipellibre.dto.EventDetail(e.id, e.title, e.description, e.startTime, " +
+                        "e.endTime, e.location, e.imageUrl, e.status, e.maxParticipants, e.participantCount, " +
+                        "o.username, e.createdAt, e.updatedAt) FROM Event e JOIN e.organizer o WHERE e.id = :id",
+                        EventDetail.class)
+                .setParameter("id", eventId)
+                .getSingleResult()));
+    }
+
+    @Benchmark
+    public byte[] entityProfile() {
+        return measured(() -> readOnly.execute(status -> {
+            User u = userRepository.findByUsername(activeMember).orElseThrow();
+            return new UserProfile(u.getId(), u.getUsername(), u.getRole(), u.getBio(), u.getAvatarUrl(),
+                    u.getCreatedAt(), u.getCreatedEvents().size(), u.getForumThreads().size(),
+                    u.getForumPosts().size(), u.getWorkshopProposals().size());
+        }));
+    }
+
+    @Benchmark
+    public byte[] projectedProfile() {
+        return measured(() -> profileService.getProfile(activeMember));
+    }
+
+    private byte[] measured(Supplier<?> read) {
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(read.get());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        allocatedBytes += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        statements += statistics.getPrepareStatementCount() - statementsBefore;
+        operations++;
+        return json;
+    }
+}
@@ -0,0 +1,91 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.dto.EventRecommendation;
+import com.archipellibre.recommend.CoParticipationMatrix;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recommendation latency and full rebuild time over a synthetic history where
+ * event popularity is skewed and members keep to a few neighbouring themes.
+ * Run with {@code -Djmh.include=RecommendationBenchmark} and check the
+ * {@code recommend} p0.99 against the 10 ms target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RecommendationBenchmark {
+
+    @Param({"20000"})
+    public int events;
+
+    @Param({"100000"})
+    public int members;
+
+    @Param({"20"})
+    public int eventsPerMember;
+
+    private CoParticipationMatrix.EventInfo[] eventInfos;
+    private UUID[] memberIds;
+    private int[][] history;
+    private CoParticipationMatrix matrix;
+    private LocalDateTime now;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        now = LocalDateTime.now();
+        eventInfos = new CoParticipationMatrix.EventInfo[events];
+        for (int e = 0; e < events; e++) {
+            eventInfos[e] = new CoParticipationMatrix.EventInfo(UUID.randomUUID(), "Event " + e,
+                    now.plusDays(random.nextInt(730) - 365), e % 10 != 0);
+        }
+        memberIds = new UUID[members];
+        history = new int[members][];
+        for (int u = 0; u < members; u++) {
+            memberIds[u] = UUID.randomUUID();
+            int theme = random.nextInt(events);
+            history[u] = random.ints(eventsPerMember, 0, 500)
+                    // Squared offsets: nearby events, and the first of a theme, are the busiest
+                    .map(offset -> (theme + offset * offset / 500) % events)
+                    .distinct()
+                    .toArray();
+        }
+        matrix = build();
+    }
+
+    @Benchmark
+    public List<EventRecommendation> recommend() {
+        return matrix.recommend(memberIds[next++ % members], now, 10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public CoParticipationMatrix rebuild() {
+        return build();
+    }
+
+    private CoParticipationMatrix build() {
+        CoParticipationMatrix.Builder builder = CoParticipationMatrix.builder();
+        for (CoParticipationMatrix.EventInfo info : eventInfos) {
+            builder.event(info);
+        }
+        for (int u = 0; u < members; u++) {
+            for (int e : history[u]) {
+                builder.participation(eventInfos[e].id(), memberIds[u]);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.model.*;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.ForumPostRepository;
+import com.archipellibre.repository.ForumThreadRepository;
+import com.archipellibre.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot repository queries against the embedded H2 database of the test
+ * profile, seeded with a few thousand rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int EVENTS = 2_000;
+    private static final int THREADS = 500;
+    private static final int POSTS_PER_THREAD = 10;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private EventRepository eventRepository;
+    private ForumThreadRepository forumThreadRepository;
+    private ForumPostRepository forumPostRepository;
+
+    private LocalDateTime rangeStart;
+    private UUID threadId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+
+        userRepository = context.getBean(UserRepository.class);
+        eventRepository = context.getBean(EventRepository.class);
+        forumThreadRepository = context.getBean(ForumThreadRepository.class);
+        forumPostRepository = context.getBean(ForumPostRepository.class);
+
+        seed();
+    }
+
+    private void seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                    .role(UserRole.USER)
+                    .active(true)
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+
+        rangeStart = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            LocalDateTime start = rangeStart.plusHours(i * 6L);
+            events.add(Event.builder()
+                    .title("Event " + i)
+                    .description("Description of event " + i)
+                    .startTime(start)
+                    .endTime(start.plusHours(2))
+                    .maxParticipants(0)
+                    .status(EventStatus.SCHEDULED)
+                    .organizer(users.get(i % USERS))
+                    .build());
+        }
+        eventRepository.saveAll(events);
+
+        List<ForumPost> posts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ForumThread thread = forumThreadRepository.save(ForumThread.builder()
+                    .title("Thread " + i)
+                    .content("Content of thread " + i)
+                    .category("general")
+                    .pinned(false)
+                    .locked(false)
+                    .creator(users.get(i % USERS))
+                    .lastActivityAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+            threadId = thread.getId();
+            for (int j = 0; j < POSTS_PER_THREAD; j++) {
+                posts.add(ForumPost.builder()
+                        .content("Reply " + j)
+                        .author(users.get((i + j) % USERS))
+                        .thread(thread)
+                        .edited(false)
+                        .build());
+            }
+        }
+        forumPostRepository.saveAll(posts);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findUserByUsername() {
+        return userRepository.findByUsername("user500");
+    }
+
+    @Benchmark
+    public int findEventsBetweenDates() {
+        return eventRepository.findEventsBetweenDates(rangeStart, rangeStart.plusMonths(1)).size();
+    }
+
+    @Benchmark
+    public int threadsByLastActivity() {
+        return forumThreadRepository.findAllByOrderByLastActivityAtDesc(PageRequest.of(0, 20))
+                .getNumberOfElements();
+    }
+
+    @Benchmark
+    public int postsOfThread() {
+        return forumPostRepository.findByThreadId(threadId, PageRequest.of(0, 20)).getNumberOfElements();
+    }
+
+    @Benchmark
+    public Long countPostsOfThread() {
+        return forumPostRepository.countByThreadId(threadId);
+    }
+}
@@ -0,0 +1,125 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.dto.SearchResponse;
+import com.archipellibre.search.SearchDocument;
+import com.archipellibre.search.SearchIndex;
+import com.archipellibre.search.SearchType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency (with highlighting) over a synthetic corpus of forum posts.
+ * Sample mode reports percentiles; run with {@code -Djmh.include=SearchBenchmark}
+ * and check p0.99 against the 50 ms target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SearchBenchmark {
+
+    private static final String[] COMMON = {
+            "atelier", "vélo", "réparation", "jardin", "compost", "bénévoles", "samedi", "outils",
+            "repair", "bike", "garden", "tools", "weekend", "meeting", "café", "quartier"
+    };
+
+    private static final int COMMON_RANK = 100;
+    private static final int MIN_QUERY_RANK = 50;
+
+    @Param({"1000000"})
+    public int documents;
+
+    private SearchIndex index;
+    private String[] vocabulary;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        vocabulary = new String[20000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = randomWord(random);
+        }
+        // Place the realistic query terms among frequent, but not stop-word-like, ranks
+        System.arraycopy(COMMON, 0, vocabulary, COMMON_RANK, COMMON.length);
+
+        index = newIndex();
+        UUID thread = UUID.randomUUID();
+        for (int i = 0; i < documents; i++) {
+            if (i % 50 == 0) {
+                thread = UUID.randomUUID();
+            }
+            index.index(new SearchDocument(SearchType.POST, UUID.randomUUID(), thread, null, sentence(random, 40)));
+        }
+        index.refresh();
+
+        queries = new String[256];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = switch (i % 4) {
+                case 0 -> COMMON[random.nextInt(COMMON.length)];
+                case 1 -> COMMON[random.nextInt(COMMON.length)] + " " + COMMON[random.nextInt(COMMON.length)];
+                case 2 -> queryWord(random) + " " + queryWord(random);
+                default -> "\"" + COMMON[random.nextInt(COMMON.length)] + " " + queryWord(random) + "\"";
+            };
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public SearchResponse searchTop20() {
+        String query = queries[next++ & (queries.length - 1)];
+        return index.search(query, null, 20);
+    }
+
+    private static SearchIndex newIndex() {
+        try {
+            return new SearchIndex("");
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(zipfWord(random)).append(' ');
+        }
+        return text.toString();
+    }
+
+    private String zipfWord(Random random) {
+        return vocabulary[zipfRank(random)];
+    }
+
+    private String queryWord(Random random) {
+        // Analyzers drop stop words, so queries never consist of the very top ranks
+        int rank;
+        do {
+            rank = zipfRank(random);
+        } while (rank < MIN_QUERY_RANK);
+        return vocabulary[rank];
+    }
+
+    private int zipfRank(Random random) {
+        // Roughly Zipfian: low ranks dominate
+        return (int) Math.floor(Math.pow(vocabulary.length, random.nextDouble())) - 1;
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+}
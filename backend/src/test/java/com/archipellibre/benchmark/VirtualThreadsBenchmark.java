@@ -0,0 +1,186 @@
+package com.archipellibre.benchmark;
+
+import com.archipellibre.model.ForumThread;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.ForumThreadRepository;
+import com.archipellibre.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bursts of concurrent {@code GET /api/forum/threads} against a real Tomcat,
+ * on platform threads (Tomcat's 200-thread pool) and on virtual threads (with
+ * the connection admission limit). Every JDBC statement sleeps
+ * {@code statementLatencyMs} to stand in for the network round trip to
+ * PostgreSQL, and the pool has 10 connections, so requests spend most of
+ * their time blocked on JDBC, as in production.
+ *
+ * Reports the time per burst plus the {@code ok} / {@code busy} (503) /
+ * {@code failed} response counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"100", "1000"})
+    public int concurrency;
+
+    @Param({"5", "100"})
+    public int statementLatencyMs;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Responses {
+        public long ok;
+        public long busy;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            ok = 0;
+            busy = 0;
+            failed = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        int latency = statementLatencyMs;
+        context = BenchmarkApplication.startServer(
+                applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource ? new SlowDataSource(dataSource, latency) : bean;
+                    }
+                }),
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size=10",
+                "spring.datasource.hikari.connection-timeout=30000",
+                "management.server.port=-1");
+
+        User author = context.getBean(UserRepository.class).save(User.builder()
+                .username("author")
+                .email("author@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+        ForumThreadRepository threadRepository = context.getBean(ForumThreadRepository.class);
+        for (int i = 0; i < 50; i++) {
+            threadRepository.save(ForumThread.builder()
+                    .title("Thread " + i)
+                    .content("Body " + i)
+                    .category("general")
+                    .pinned(false)
+                    .locked(false)
+                    .creator(author)
+                    .lastActivityAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder().executor(clientExecutor).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/forum/threads?limit=20")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void burst(Responses responses) {
+        List<CompletableFuture<HttpResponse<Void>>> inFlight = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        for (CompletableFuture<HttpResponse<Void>> response : inFlight) {
+            int status = response.handle((ok, error) -> error == null ? ok.statusCode() : -1).join();
+            if (status == 200) {
+                responses.ok++;
+            } else if (status == 503) {
+                responses.busy++;
+            } else {
+                responses.failed++;
+            }
+        }
+    }
+
+    /**
+     * Adds a fixed sleep before every statement execution.
+     */
+    static final class SlowDataSource extends DelegatingDataSource {
+
+        private final long latencyMs;
+
+        SlowDataSource(DataSource target, long latencyMs) {
+            super(target);
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public Connection getConnection() throws java.sql.SQLException {
+            return wrap(super.getConnection(), Connection.class);
+        }
+
+        private <T> T wrap(T target, Class<T> type) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        if (target instanceof Statement && method.getName().startsWith("execute")) {
+                            Thread.sleep(latencyMs);
+                        }
+                        Object result;
+                        try {
+                            result = method.invoke(target, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                        Class<?> returned = method.getReturnType();
+                        if (Statement.class.isAssignableFrom(returned) && returned.isInterface() && result != null) {
+                            return wrapStatement(result, returned);
+                        }
+                        return result;
+                    }));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> Object wrapStatement(Object statement, Class<T> type) {
+            return wrap((T) statement, type);
+        }
+    }
+}
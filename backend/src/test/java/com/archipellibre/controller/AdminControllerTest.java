@@ -0,0 +1,174 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.model.ProposalStatus;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.model.WorkshopProposal;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.repository.WorkshopProposalRepository;
+import com.archipellibre.security.JwtTokenProvider;
+import com.archipellibre.security.TokenRevocationList;
+import com.archipellibre.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WorkshopProposalRepository proposalRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    private String adminToken;
+    private String userToken;
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        proposalRepository.deleteAll();
+        userRepository.deleteAll();
+        // Deleting users revokes their tokens; start each test from a clean list
+        tokenRevocationList.reset();
+
+        User admin = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@example.com")
+                .passwordHash(passwordEncoder.encode("password123"))
+                .role(UserRole.ADMIN)
+                .active(true)
+                .build());
+        member = userRepository.save(User.builder()
+                .username("member")
+                .email("member@example.com")
+                .passwordHash(passwordEncoder.encode("password123"))
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+
+        adminToken = tokenProvider.generateAccessToken(userDetailsService.toUserDetails(admin));
+        userToken = tokenProvider.generateAccessToken(userDetailsService.toUserDetails(member));
+    }
+
+    @Test
+    void shouldImportCsvAndReportRowErrors() throws Exception {
+        String csv = """
+                username,email,password,role
+                alice,alice@example.com,password123,
+                bob,bob@example.com,"pass,word",moderator
+                member,other@example.com,password123,
+                carol,not-an-email,password123,
+                alice,alice2@example.com,password123,
+                """;
+
+        mockMvc.perform(post("/api/admin/users/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(5))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(5))
+                .andExpect(jsonPath("$.errors[0].message").value("email must be a well-formed email address"))
+                .andExpect(jsonPath("$.errors[1].line").value(6))
+                .andExpect(jsonPath("$.errors[2].line").value(4))
+                .andExpect(jsonPath("$.errors[2].message").value("Username already exists"));
+
+        User bob = userRepository.findByUsername("bob").orElseThrow();
+        assertThat(bob.getRole()).isEqualTo(UserRole.MODERATOR);
+        assertThat(passwordEncoder.matches("pass,word", bob.getPasswordHash())).isTrue();
+    }
+
+    @Test
+    void shouldImportNdjson() throws Exception {
+        String ndjson = """
+                {"username":"dave","email":"dave@example.com","password":"password123"}
+                null
+                {"username":"erin","email":"erin@example.com","password":"password123","role":"ADMIN"}
+                """;
+
+        mockMvc.perform(post("/api/admin/users/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Unreadable row"));
+    }
+
+    @Test
+    void shouldRejectImportFromNonAdmin() throws Exception {
+        mockMvc.perform(post("/api/admin/users/import")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType("text/csv")
+                .content("frank,frank@example.com,password123"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldReviewAPendingProposalOnce() throws Exception {
+        WorkshopProposal proposal = proposalRepository.save(WorkshopProposal.builder()
+                .title("Compostage")
+                .description("Monter un composteur collectif")
+                .objectives("Réduire les déchets")
+                .status(ProposalStatus.PENDING)
+                .upvotes(0)
+                .proposer(member)
+                .build());
+
+        mockMvc.perform(post("/api/admin/workshops/{id}/review", proposal.getId())
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/admin/workshops/{id}/review", proposal.getId())
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"APPROVED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"));
+
+        mockMvc.perform(post("/api/admin/workshops/{id}/review", proposal.getId())
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"REJECTED\"}"))
+                .andExpect(status().isConflict());
+
+        WorkshopProposal reviewed = proposalRepository.findById(proposal.getId()).orElseThrow();
+        assertThat(reviewed.getStatus()).isEqualTo(ProposalStatus.APPROVED);
+        assertThat(reviewed.getReviewedAt()).isNotNull();
+    }
+}
@@ -2,14 +2,22 @@ package com.archipellibre.controller;
 
 import com.archipellibre.dto.LoginRequest;
 import com.archipellibre.dto.RegisterRequest;
+import com.archipellibre.dto.TokenRefreshRequest;
 import com.archipellibre.model.User;
 import com.archipellibre.model.UserRole;
 import com.archipellibre.repository.UserRepository;
 import com.archipellibre.security.JwtTokenProvider;
+import com.archipellibre.security.LoginAttemptThrottle;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -18,6 +26,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -42,11 +55,21 @@ class AuthControllerTest {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jwt.secret}")
+    private String jwtSecret;
+
     private User testUser;
 
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
+        loginAttemptThrottle.reset();
         
         testUser = User.builder()
                 .username("testuser")
@@ -145,4 +168,122 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void shouldThrottleRepeatedFailedLogins() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setUsernameOrEmail("testuser");
+        request.setPassword("wrongpassword");
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        request.setPassword("password123");
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void shouldRotateRefreshToken() throws Exception {
+        String refreshToken = login().get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TokenRefreshRequest(refreshToken))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").exists())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andExpect(jsonPath("$.role").value("USER"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TokenRefreshRequest(refreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldNotRefreshWithAccessToken() throws Exception {
+        String accessToken = login().get("accessToken").asText();
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TokenRefreshRequest(accessToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRevokeRefreshTokenOnLogout() throws Exception {
+        JsonNode tokens = login();
+        String refreshToken = tokens.get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/auth/logout")
+                .header("Authorization", "Bearer " + tokens.get("accessToken").asText())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TokenRefreshRequest(refreshToken))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TokenRefreshRequest(refreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldTimeLoginsAndTokenChecksByOutcome() throws Exception {
+        long successes = timerCount("auth.login", "success");
+        long failures = timerCount("auth.login", "bad_credentials");
+        long malformed = timerCount("auth.jwt.filter", "malformed");
+        long invalid = timerCount("auth.jwt.filter", "invalid");
+
+        login();
+        LoginRequest request = new LoginRequest();
+        request.setUsernameOrEmail("testuser");
+        request.setPassword("wrongpassword");
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/events/calendar").header("Authorization", "Bearer not-a-jwt"));
+        String premature = Jwts.builder()
+                .setSubject("testuser")
+                .setNotBefore(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS512, jwtSecret.getBytes(StandardCharsets.UTF_8))
+                .compact();
+        mockMvc.perform(get("/api/events/calendar").header("Authorization", "Bearer " + premature));
+
+        assertThat(timerCount("auth.login", "success")).isEqualTo(successes + 1);
+        assertThat(timerCount("auth.login", "bad_credentials")).isEqualTo(failures + 1);
+        assertThat(timerCount("auth.jwt.filter", "malformed")).isEqualTo(malformed + 1);
+        assertThat(timerCount("auth.jwt.filter", "invalid")).isEqualTo(invalid + 1);
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count())
+                .isGreaterThanOrEqualTo(2);
+    }
+
+    private long timerCount(String name, String outcome) {
+        Timer timer = meterRegistry.find(name).tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private JsonNode login() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setUsernameOrEmail("testuser");
+        request.setPassword("password123");
+
+        String body = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(body);
+    }
 }
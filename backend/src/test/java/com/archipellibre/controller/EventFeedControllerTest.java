@@ -0,0 +1,202 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.model.*;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.EventSeriesRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.security.TokenRevocationList;
+import com.archipellibre.security.UserDetailsServiceImpl;
+import com.archipellibre.security.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The iCalendar feeds: streamed content, conditional GETs, and feed tokens
+ * that open the feeds and nothing else.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSeriesRepository seriesRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    private User organizer;
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        organizer = saveUser("organisatrice");
+        member = saveUser("benevole");
+        LocalDateTime start = LocalDateTime.now().plusDays(2).withNano(0);
+        eventRepository.save(Event.builder()
+                .title("Repair café, vélos")
+                .description("Apportez vos objets cassés")
+                .location("Atelier")
+                .startTime(start)
+                .endTime(start.plusHours(3))
+                .maxParticipants(20)
+                .status(EventStatus.SCHEDULED)
+                .organizer(organizer)
+                .participants(List.of(member))
+                .participantCount(1)
+                .build());
+        eventRepository.save(Event.builder()
+                .title("Vide-grenier")
+                .description("Annulé pour cause de pluie")
+                .startTime(start.plusDays(1))
+                .endTime(start.plusDays(1).plusHours(5))
+                .maxParticipants(50)
+                .status(EventStatus.CANCELLED)
+                .organizer(organizer)
+                .build());
+        // Ended long ago: outside every feed
+        eventRepository.save(Event.builder()
+                .title("Ancienne permanence")
+                .description("Passée")
+                .startTime(start.minusYears(1))
+                .endTime(start.minusYears(1).plusHours(2))
+                .maxParticipants(10)
+                .status(EventStatus.COMPLETED)
+                .organizer(organizer)
+                .build());
+        seriesRepository.save(EventSeries.builder()
+                .title("Permanence")
+                .description("Chaque mardi")
+                .maxParticipants(10)
+                .organizer(organizer)
+                .firstStart(LocalDateTime.of(2030, 1, 1, 18, 0))
+                .durationMinutes(120)
+                .recurrenceRule("FREQ=WEEKLY;BYDAY=TU")
+                .exceptions(Set.of(LocalDateTime.of(2030, 1, 8, 18, 0), LocalDateTime.of(2030, 1, 15, 18, 0)))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+        seriesRepository.deleteAll();
+        userRepository.deleteAll();
+        tokenRevocationList.reset();
+    }
+
+    @Test
+    void publicFeedShouldListEventsAndSeriesAndAnswerConditionalGets() throws Exception {
+        MvcResult result = stream(get("/api/events/feed/public.ics"));
+        String ics = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(result.getResponse().getContentType()).startsWith("text/calendar");
+        assertThat(ics).startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(ics).contains("SUMMARY:Repair café\\, vélos\r\n", "STATUS:CANCELLED\r\n",
+                "DTSTART:20300101T180000Z\r\n", "DTEND:20300101T200000Z\r\n", "RRULE:FREQ=WEEKLY;BYDAY=TU\r\n",
+                "EXDATE:20300108T180000Z\r\n", "EXDATE:20300115T180000Z\r\n");
+        assertThat(ics).doesNotContain("Ancienne permanence");
+        assertThat(count(ics, "BEGIN:VEVENT")).isEqualTo(3);
+
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/events/feed/public.ics").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void memberFeedsShouldOpenWithTheFeedToken() throws Exception {
+        String accessToken = tokenProvider.generateAccessToken(userDetailsService.toUserDetails(member));
+        String response = mockMvc.perform(post("/api/events/feed/token")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String participatingFeed = objectMapper.readTree(response).get("participatingFeed").asText();
+
+        MvcResult result = stream(get(participatingFeed));
+        String ics = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(ics).contains("SUMMARY:Repair café\\, vélos\r\n").doesNotContain("Vide-grenier", "RRULE");
+        assertThat(result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("private");
+
+        String feedToken = objectMapper.readTree(response).get("token").asText();
+        String organized = stream(get("/api/events/feed/organized.ics").param("token", feedToken))
+                .getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(organized).doesNotContain("BEGIN:VEVENT");
+    }
+
+    @Test
+    void feedTokensShouldOpenNothingButTheFeeds() throws Exception {
+        String feedToken = tokenProvider.generateFeedToken(userDetailsService.toUserDetails(member));
+        String accessToken = tokenProvider.generateAccessToken(userDetailsService.toUserDetails(member));
+
+        mockMvc.perform(post("/api/events/feed/token").header("Authorization", "Bearer " + feedToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/events/feed/participating.ics").param("token", accessToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/events/feed/participating.ics").param("token", "not-a-token"))
+                .andExpect(status().isNotFound());
+
+        member.setActive(false);
+        userRepository.save(member);
+        mockMvc.perform(get("/api/events/feed/participating.ics").param("token", feedToken))
+                .andExpect(status().isNotFound());
+    }
+
+    private MvcResult stream(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private static int count(String text, String part) {
+        return text.split(part, -1).length - 1;
+    }
+
+    private User saveUser(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+    }
+}
@@ -0,0 +1,163 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.dto.ForumPostRequest;
+import com.archipellibre.model.ForumPost;
+import com.archipellibre.model.ForumThread;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.ForumPostRepository;
+import com.archipellibre.repository.ForumThreadRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.security.UserDetailsServiceImpl;
+import com.archipellibre.security.UserPrincipal;
+import com.archipellibre.service.ForumService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static com.archipellibre.support.SqlStatementMatchers.maxStatements;
+import static com.archipellibre.support.SqlStatementMatchers.noRepeatedSelects;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ForumControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ForumThreadRepository threadRepository;
+
+    @Autowired
+    private ForumPostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ForumService forumService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    private ForumThread thread;
+
+    @BeforeEach
+    void setUp() {
+        User[] authors = new User[3];
+        for (int i = 0; i < authors.length; i++) {
+            authors[i] = userRepository.save(User.builder()
+                    .username("membre" + i)
+                    .email("membre" + i + "@example.com")
+                    .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                    .role(UserRole.USER)
+                    .active(true)
+                    .build());
+        }
+        for (int i = 0; i < 10; i++) {
+            thread = threadRepository.save(ForumThread.builder()
+                    .title("Sujet " + i)
+                    .content("Contenu " + i)
+                    .category("general")
+                    .pinned(false)
+                    .locked(false)
+                    .creator(authors[i % authors.length])
+                    .lastActivityAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+        for (int i = 0; i < 10; i++) {
+            postRepository.save(ForumPost.builder()
+                    .content("Réponse " + i)
+                    .author(authors[i % authors.length])
+                    .thread(thread)
+                    .edited(false)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        threadRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void threadListShouldBeOneQueryRegardlessOfPageSize() throws Exception {
+        mockMvc.perform(get("/api/forum/threads").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(10))
+                .andExpect(jsonPath("$.items[0].creatorName").exists())
+                // Version lookup plus the page itself
+                .andExpect(maxStatements(2));
+    }
+
+    @Test
+    void threadAndPostDetailsShouldBeSingleProjections() throws Exception {
+        mockMvc.perform(get("/api/forum/threads/{id}", thread.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("Contenu 9"))
+                .andExpect(jsonPath("$.creatorName").value("membre0"))
+                .andExpect(jsonPath("$.posts").doesNotExist())
+                // Version lookup plus the detail itself
+                .andExpect(maxStatements(2));
+
+        ForumPost post = postRepository.findAll().get(0);
+        mockMvc.perform(get("/api/forum/posts/{id}", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authorName").exists())
+                .andExpect(jsonPath("$.thread").doesNotExist())
+                .andExpect(maxStatements(1));
+    }
+
+    @Test
+    void postListShouldNotLoadAuthorsOneByOne() throws Exception {
+        mockMvc.perform(get("/api/forum/threads/{id}/posts", thread.getId()).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(10))
+                .andExpect(maxStatements(3))
+                .andExpect(noRepeatedSelects(2));
+    }
+
+    @Test
+    void threadListShouldAnswerRevalidationFromTheVersionAlone() throws Exception {
+        String etag = mockMvc.perform(get("/api/forum/threads"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=0, public, s-maxage=10"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/forum/threads").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "max-age=0, public, s-maxage=10"))
+                .andExpect(content().string(""))
+                .andExpect(maxStatements(1));
+    }
+
+    @Test
+    void newPostShouldChangeThePostListVersion() throws Exception {
+        String etag = mockMvc.perform(get("/api/forum/threads/{id}/posts", thread.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        UserPrincipal author = userDetailsService.toUserDetails(thread.getCreator());
+        forumService.createPost(thread.getId(), new ForumPostRequest("Une de plus"), author);
+
+        mockMvc.perform(get("/api/forum/threads/{id}/posts", thread.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.items.length()").value(11));
+    }
+}
@@ -0,0 +1,223 @@
+package com.archipellibre.controller;
+
+import com.archipellibre.model.*;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.EventSeriesRepository;
+import com.archipellibre.repository.ForumThreadRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.repository.WorkshopProposalRepository;
+import com.archipellibre.security.JwtTokenProvider;
+import com.archipellibre.security.TokenRevocationList;
+import com.archipellibre.security.UserDetailsServiceImpl;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.archipellibre.support.SqlStatementMatchers.maxStatements;
+import static org.hamcrest.Matchers.hasSize;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Event, proposal and profile reads: a bounded number of statements, and
+ * only the projected fields in the JSON.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadModelEndpointsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSeriesRepository seriesRepository;
+
+    @Autowired
+    private ForumThreadRepository threadRepository;
+
+    @Autowired
+    private WorkshopProposalRepository proposalRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    private User member;
+    private Event event;
+    private List<WorkshopProposal> proposals;
+
+    @BeforeEach
+    void setUp() {
+        member = userRepository.save(User.builder()
+                .username("benevole")
+                .email("benevole@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .bio("Réparateur de vélos")
+                .active(true)
+                .build());
+        event = eventRepository.save(Event.builder()
+                .title("Repair café")
+                .description("Apportez vos objets cassés")
+                .startTime(LocalDateTime.now().plusDays(2))
+                .endTime(LocalDateTime.now().plusDays(2).plusHours(3))
+                .maxParticipants(20)
+                .status(EventStatus.SCHEDULED)
+                .organizer(member)
+                .build());
+        threadRepository.save(ForumThread.builder()
+                .title("Outils")
+                .content("Qui a une clé de 15 ?")
+                .category("general")
+                .pinned(false)
+                .locked(false)
+                .creator(member)
+                .lastActivityAt(LocalDateTime.now())
+                .build());
+        proposals = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            proposals.add(proposalRepository.save(WorkshopProposal.builder()
+                    .title("Atelier " + i)
+                    .description("Description " + i)
+                    .objectives("Objectifs " + i)
+                    .status(ProposalStatus.PENDING)
+                    .upvotes(0)
+                    .proposer(member)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        proposalRepository.deleteAll();
+        threadRepository.deleteAll();
+        eventRepository.deleteAll();
+        seriesRepository.deleteAll();
+        userRepository.deleteAll();
+        // Deleting users revokes their tokens; leave a clean list for the next test
+        tokenRevocationList.reset();
+    }
+
+    @Test
+    void eventDetailShouldNotLoadParticipants() throws Exception {
+        mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.organizerName").value("benevole"))
+                .andExpect(jsonPath("$.participantCount").value(0))
+                .andExpect(jsonPath("$.participants").doesNotExist())
+                .andExpect(jsonPath("$.organizer").doesNotExist())
+                // The event and its organizer by id, when not already cached
+                .andExpect(maxStatements(2));
+    }
+
+    @Test
+    void calendarShouldExpandSeriesWithoutAQueryPerOccurrence() throws Exception {
+        LocalDate monday = LocalDate.of(2030, 3, 4);
+        for (int i = 0; i < 3; i++) {
+            seriesRepository.save(EventSeries.builder()
+                    .title("Permanence " + i)
+                    .description("Chaque semaine")
+                    .maxParticipants(10)
+                    .organizer(member)
+                    .firstStart(monday.plusDays(i).atTime(18, 0))
+                    .durationMinutes(120)
+                    .recurrenceRule("FREQ=WEEKLY")
+                    .build());
+        }
+
+        mockMvc.perform(get("/api/events/calendar")
+                        .param("from", monday.toString())
+                        .param("to", monday.plusWeeks(26).toString())
+                        .param("granularity", "MONTH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.buckets[0].events[0].title").value("Permanence 0"))
+                .andExpect(jsonPath("$.buckets[0].events[0].id").doesNotExist())
+                .andExpect(jsonPath("$.buckets[*].events[*]", hasSize(78)))
+                // Both versions, then the events, series and exceptions of the range
+                .andExpect(maxStatements(5));
+    }
+
+    @Test
+    void proposalListShouldPageWithOneQueryPerPage() throws Exception {
+        String cursor = mockMvc.perform(get("/api/workshops").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].proposerName").value("benevole"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(maxStatements(1))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/workshops").param("limit", "3")
+                        .param("cursor", objectMapper.readTree(cursor).get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(maxStatements(1));
+
+        mockMvc.perform(get("/api/workshops/{id}", proposals.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.objectives").value("Objectifs 0"))
+                .andExpect(jsonPath("$.proposer").doesNotExist())
+                .andExpect(maxStatements(1));
+    }
+
+    @Test
+    void profileShouldCountActivityInOneQueryWithoutPrivateFields() throws Exception {
+        String token = tokenProvider.generateAccessToken(userDetailsService.toUserDetails(member));
+
+        mockMvc.perform(get("/api/users/{username}", "benevole")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bio").value("Réparateur de vélos"))
+                .andExpect(jsonPath("$.eventsOrganized").value(1))
+                .andExpect(jsonPath("$.threadsStarted").value(1))
+                .andExpect(jsonPath("$.postsWritten").value(0))
+                .andExpect(jsonPath("$.proposalsSubmitted").value(5))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.passwordHash").doesNotExist())
+                .andExpect(maxStatements(1));
+
+        mockMvc.perform(get("/api/users/{username}", "inconnu")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void entitiesShouldNeverBeSerialized() {
+        assertThatThrownBy(() -> objectMapper.writeValueAsString(member))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("Entity User must be mapped to a DTO");
+        assertThatThrownBy(() -> objectMapper.writeValueAsString(
+                        threadRepository.getReferenceById(UUID.randomUUID())))
+                .isInstanceOf(JsonMappingException.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.archipellibre.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ICalendarWriterTest {
+
+    @Test
+    void shouldEscapeTextValues() throws IOException {
+        String written = write(ics -> ics
+                .text("SUMMARY", "Vélos, outils; pièces\\détachées")
+                .text("DESCRIPTION", "Ligne 1\r\nLigne 2")
+                .text("LOCATION", " ")
+                .dateTime("DTSTART", LocalDateTime.of(2030, 3, 4, 18, 0)));
+
+        assertThat(written).isEqualTo("SUMMARY:Vélos\\, outils\\; pièces\\\\détachées\r\n"
+                + "DESCRIPTION:Ligne 1\\nLigne 2\r\n"
+                + "DTSTART:20300304T180000Z\r\n");
+    }
+
+    @Test
+    void shouldFoldLongLinesWithoutSplittingCharacters() throws IOException {
+        String title = "é".repeat(100);
+        byte[] written = write(ics -> ics.text("SUMMARY", title)).getBytes(StandardCharsets.UTF_8);
+
+        String[] lines = new String(written, StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(3);
+        for (String line : lines) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+        }
+        assertThat(lines[1]).startsWith(" ");
+        assertThat(lines[0] + lines[1].substring(1) + lines[2].substring(1)).isEqualTo("SUMMARY:" + title);
+    }
+
+    private interface Lines {
+        void write(ICalendarWriter ics) throws IOException;
+    }
+
+    private static String write(Lines lines) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        lines.write(new ICalendarWriter(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
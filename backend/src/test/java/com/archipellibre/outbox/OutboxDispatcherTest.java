@@ -0,0 +1,231 @@
+package com.archipellibre.outbox;
+
+import com.archipellibre.model.OutboxEvent;
+import com.archipellibre.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs on its own database with the scheduled poll pushed out of the way, so
+ * each test drives the dispatcher by hand.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox",
+        "app.outbox.poll-interval=3600000",
+        "app.outbox.max-attempts=3"
+})
+@ActiveProfiles("test")
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxPublisher publisher;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecordingHandler recordingHandler;
+
+    @Autowired
+    private FlakyHandler flakyHandler;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        recordingHandler.events.clear();
+        recordingHandler.inTransaction.clear();
+        recordingHandler.claimedUntil.clear();
+        flakyHandler.failuresLeft.clear();
+    }
+
+    @Test
+    void shouldOnlyPublishInsideATransaction() {
+        assertThatThrownBy(() -> publisher.publish(new UserRegistered(UUID.randomUUID(), "hors-transaction")))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void shouldDeliverInOrderAndDeleteDeliveredEvents() {
+        UUID eventId = UUID.randomUUID();
+        publish(new EventJoined(eventId, UUID.randomUUID(), false),
+                new UserRegistered(UUID.randomUUID(), "alice"),
+                new EventJoined(eventId, UUID.randomUUID(), true));
+
+        dispatcher.poll();
+
+        assertThat(recordingHandler.events).extracting(DomainEvent::getClass)
+                .containsExactly(EventJoined.class, UserRegistered.class, EventJoined.class);
+        assertThat(((EventJoined) recordingHandler.events.get(2)).waitlisted()).isTrue();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldRunHandlersOutsideATransactionOnClaimedEvents() {
+        publish(new UserRegistered(UUID.randomUUID(), "alice"));
+
+        dispatcher.poll();
+
+        assertThat(recordingHandler.inTransaction).containsExactly(false);
+        assertThat(recordingHandler.claimedUntil).singleElement()
+                .satisfies(until -> assertThat(until).isAfter(LocalDateTime.now().plusMinutes(1)));
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldHoldBackAnAggregateWhileItsEarlierEventBacksOff() {
+        UUID userId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        flakyHandler.failuresLeft.put("flaky", 1);
+        publish(new UserRegistered(userId, "flaky"),
+                new UserRegistered(otherId, "bob"),
+                new UserRegistered(userId, "flaky-renamed"));
+
+        dispatcher.poll();
+
+        // The other aggregate goes ahead; the failed event's later sibling waits
+        assertThat(recordingHandler.usernames()).containsExactly("flaky", "bob");
+        List<OutboxEvent> pending = outboxEventRepository.findAll();
+        assertThat(pending).hasSize(2);
+        OutboxEvent failed = pending.get(0);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(failed.getCompletedHandlers()).isEqualTo("RecordingHandler");
+        assertThat(failed.getLastError()).contains("flaky");
+
+        dispatcher.poll();
+        assertThat(recordingHandler.usernames()).containsExactly("flaky", "bob");
+
+        failed.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(failed);
+        dispatcher.poll();
+
+        // The handler that already succeeded is not run again
+        assertThat(recordingHandler.usernames()).containsExactly("flaky", "bob", "flaky-renamed");
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldParkAnEventAfterTheLastAttempt() {
+        UUID userId = UUID.randomUUID();
+        flakyHandler.failuresLeft.put("flaky", Integer.MAX_VALUE);
+        publish(new UserRegistered(userId, "flaky"), new UserRegistered(userId, "flaky-renamed"));
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            dispatcher.poll();
+            outboxEventRepository.findAll().forEach(event -> {
+                event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+                outboxEventRepository.save(event);
+            });
+        }
+        dispatcher.poll();
+
+        OutboxEvent parked = outboxEventRepository.findAll().get(0);
+        assertThat(parked.getAttempts()).isEqualTo(3);
+        assertThat(parked.getFailedAt()).isNotNull();
+        // A parked event no longer blocks its aggregate
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+        assertThat(recordingHandler.usernames()).containsExactly("flaky", "flaky-renamed");
+    }
+
+    @Test
+    void shouldBackOffExponentiallyUpToTheLimit() {
+        assertThat(dispatcher.backoff(1)).hasSeconds(1);
+        assertThat(dispatcher.backoff(4)).hasSeconds(8);
+        assertThat(dispatcher.backoff(9)).hasSeconds(256);
+        assertThat(dispatcher.backoff(10)).hasMinutes(5);
+        assertThat(dispatcher.backoff(60)).hasMinutes(5);
+    }
+
+    private void publish(DomainEvent... events) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (DomainEvent event : events) {
+                publisher.publish(event);
+            }
+        });
+    }
+
+    @TestConfiguration
+    static class Handlers {
+
+        @Bean
+        RecordingHandler recordingHandler(OutboxEventRepository outboxEventRepository) {
+            return new RecordingHandler(outboxEventRepository);
+        }
+
+        @Bean
+        FlakyHandler flakyHandler() {
+            return new FlakyHandler();
+        }
+    }
+
+    @Order(1)
+    static class RecordingHandler implements DomainEventHandler {
+
+        final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+        final List<Boolean> inTransaction = new CopyOnWriteArrayList<>();
+        final List<LocalDateTime> claimedUntil = new CopyOnWriteArrayList<>();
+        private final OutboxEventRepository outboxEventRepository;
+
+        RecordingHandler(OutboxEventRepository outboxEventRepository) {
+            this.outboxEventRepository = outboxEventRepository;
+        }
+
+        @Override
+        public void handle(DomainEvent event) {
+            events.add(event);
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            outboxEventRepository.findAll().forEach(pending -> claimedUntil.add(pending.getNextAttemptAt()));
+        }
+
+        List<String> usernames() {
+            return events.stream()
+                    .filter(UserRegistered.class::isInstance)
+                    .map(event -> ((UserRegistered) event).username())
+                    .toList();
+        }
+    }
+
+    /**
+     * Fails for a username as many times as configured.
+     */
+    @Order(2)
+    static class FlakyHandler implements DomainEventHandler {
+
+        final Map<String, Integer> failuresLeft = new ConcurrentHashMap<>();
+
+        @Override
+        public void handle(DomainEvent event) {
+            if (event instanceof UserRegistered registered
+                    && failuresLeft.getOrDefault(registered.username(), 0) > 0) {
+                failuresLeft.merge(registered.username(), -1, Integer::sum);
+                throw new IllegalStateException("Handler failure for " + registered.username());
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.archipellibre.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ConnectionAdmissionDataSourceTest {
+
+    @Test
+    void shouldRefuseConnectionsBeyondCapacityUntilOneIsClosed() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        ConnectionAdmissionDataSource dataSource = new ConnectionAdmissionDataSource(pool, "test", 2, 0);
+
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.getRejected()).isEqualTo(1);
+
+        first.close();
+        first.close();
+        assertThat(dataSource.getAdmitted()).isEqualTo(1);
+        assertThat(dataSource.getConnection()).isNotNull();
+        verify(pooled, times(2)).close();
+    }
+
+    @Test
+    void shouldReleaseAdmissionWhenThePoolFails() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+        ConnectionAdmissionDataSource dataSource = new ConnectionAdmissionDataSource(pool, "test", 1, 0);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+        assertThat(dataSource.getAdmitted()).isZero();
+        assertThat(dataSource.getRejected()).isZero();
+    }
+}
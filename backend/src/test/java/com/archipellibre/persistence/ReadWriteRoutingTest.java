@@ -0,0 +1,119 @@
+package com.archipellibre.persistence;
+
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.security.TokenRevocationList;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two embedded databases stand in for the primary and its replica. Nothing
+ * replicates between them, so a read shows which one served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "app.datasource.replica.jdbc-url=" + ReadWriteRoutingTest.REPLICA_URL,
+        "app.datasource.replica-lag=60s"
+})
+@ActiveProfiles("test")
+class ReadWriteRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    /**
+     * Startup already reads in read-only transactions, so the replica needs
+     * the schema before the context loads.
+     */
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        userRepository.deleteAll();
+        tokenRevocationList.reset();
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToTheReplica() {
+        assertThat(inTransaction(false, this::database)).isEqualTo("ROUTING-PRIMARY");
+        assertThat(inTransaction(true, this::database)).isEqualTo("ROUTING-REPLICA");
+        assertThat(database()).isEqualTo("ROUTING-PRIMARY");
+    }
+
+    @Test
+    void shouldKeepAWritersReadsOnThePrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("redacteur", null, List.of()));
+        saveUser("redacteur");
+
+        assertThat(inTransaction(true, () -> userRepository.findByUsername("redacteur"))).isPresent();
+        assertThat(inTransaction(true, this::database)).isEqualTo("ROUTING-PRIMARY");
+    }
+
+    @Test
+    void shouldNotCacheTheReplicasAnswerPastTheLag() {
+        saveUser("redacteur");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("lecteur", null, List.of()));
+        assertThat(inTransaction(true, () -> userRepository.findByUsername("redacteur"))).isEmpty();
+
+        // Stored within the lag after the write, the replica's empty answer is stale to the query cache
+        assertThat(inTransaction(false, () -> userRepository.findByUsername("redacteur"))).isPresent();
+    }
+
+    private void saveUser(String username) {
+        userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,171 @@
+package com.archipellibre.persistence;
+
+import com.archipellibre.model.Event;
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.model.ForumThread;
+import com.archipellibre.model.ProposalStatus;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.model.WorkshopProposal;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.ForumThreadRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.repository.WorkshopProposalRepository;
+import com.archipellibre.repository.WorkshopVoteRepository;
+import com.archipellibre.service.EventRegistrationService;
+import com.archipellibre.service.WorkshopVoteService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ForumThreadRepository threadRepository;
+
+    @Autowired
+    private WorkshopProposalRepository proposalRepository;
+
+    @Autowired
+    private WorkshopVoteRepository voteRepository;
+
+    @Autowired
+    private WorkshopVoteService voteService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder()
+                .username("lecteur")
+                .email("lecteur@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteRepository.deleteAll();
+        proposalRepository.deleteAll();
+        threadRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeRepeatedEntityLoadsFromTheCache() {
+        SqlRequestStats first = SqlStatementTracker.track(() -> { userRepository.findById(user.getId()); });
+        SqlRequestStats second = SqlStatementTracker.track(() -> { userRepository.findById(user.getId()); });
+
+        assertThat(first.getStatements()).isEqualTo(1);
+        assertThat(second.getStatements()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateCachedQueriesWhenTheirTableChanges() {
+        ForumThread thread = threadRepository.save(ForumThread.builder()
+                .title("Épinglé")
+                .content("Règles du forum")
+                .category("general")
+                .pinned(true)
+                .locked(false)
+                .creator(user)
+                .build());
+
+        transactionTemplate.executeWithoutResult(status -> threadRepository.findByPinnedTrue());
+        SqlRequestStats cached = SqlStatementTracker.track(() ->
+                transactionTemplate.executeWithoutResult(status -> threadRepository.findByPinnedTrue()));
+        assertThat(cached.getStatements()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        thread.setPinned(false);
+        threadRepository.save(thread);
+
+        assertThat(threadRepository.findByPinnedTrue()).isEmpty();
+    }
+
+    @Test
+    void shouldEvictProposalsWhenVotesAreFlushed() {
+        WorkshopProposal proposal = proposalRepository.save(WorkshopProposal.builder()
+                .title("Atelier vélo")
+                .description("Réparer son vélo soi-même")
+                .objectives("Changer une chambre à air")
+                .status(ProposalStatus.PENDING)
+                .upvotes(0)
+                .proposer(user)
+                .build());
+        proposalRepository.findById(proposal.getId());
+        proposalRepository.findByStatus(ProposalStatus.PENDING, PageRequest.of(0, 10));
+
+        voteService.vote(proposal.getId(), user.getId());
+        voteService.flush();
+
+        assertThat(proposalRepository.findById(proposal.getId()).orElseThrow().getUpvotes()).isEqualTo(1);
+        assertThat(proposalRepository.findByStatus(ProposalStatus.PENDING, PageRequest.of(0, 10)))
+                .singleElement()
+                .satisfies(listed -> assertThat(listed.getUpvotes()).isEqualTo(1));
+    }
+
+    @Test
+    void shouldEvictOnlyTheJoinedEvent() {
+        Event joined = eventRepository.save(event("Atelier vélo"));
+        Event other = eventRepository.save(event("Atelier couture"));
+        eventRepository.findById(joined.getId());
+        eventRepository.findById(other.getId());
+
+        registrationService.join(joined.getId(), user.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Event.class, other.getId())).isTrue();
+        SqlRequestStats reload = SqlStatementTracker.track(() -> { eventRepository.findById(other.getId()); });
+        assertThat(reload.getStatements()).isZero();
+        assertThat(eventRepository.findById(joined.getId()).orElseThrow().getParticipantCount()).isEqualTo(1);
+    }
+
+    private Event event(String title) {
+        return Event.builder()
+                .title(title)
+                .description("Atelier du samedi")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                .maxParticipants(10)
+                .status(EventStatus.SCHEDULED)
+                .organizer(user)
+                .build();
+    }
+}
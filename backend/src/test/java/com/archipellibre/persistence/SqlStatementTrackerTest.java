@@ -0,0 +1,96 @@
+package com.archipellibre.persistence;
+
+import com.archipellibre.model.ForumPost;
+import com.archipellibre.model.ForumThread;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.ForumPostRepository;
+import com.archipellibre.repository.ForumThreadRepository;
+import com.archipellibre.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SqlStatementTrackerTest {
+
+    @Autowired
+    private ForumThreadRepository threadRepository;
+
+    @Autowired
+    private ForumPostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        User creator = null;
+        for (int i = 0; i < 6; i++) {
+            creator = userRepository.save(User.builder()
+                    .username("auteur" + i)
+                    .email("auteur" + i + "@example.com")
+                    .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                    .role(UserRole.USER)
+                    .active(true)
+                    .build());
+            ForumThread thread = threadRepository.save(ForumThread.builder()
+                    .title("Sujet " + i)
+                    .content("Contenu")
+                    .category("general")
+                    .pinned(false)
+                    .locked(false)
+                    .creator(creator)
+                    .build());
+            postRepository.save(ForumPost.builder()
+                    .content("Réponse")
+                    .author(creator)
+                    .thread(thread)
+                    .edited(false)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        threadRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldFlagLazyLoadingInALoop() {
+        // Cold second-level cache, so each creator costs a select
+        entityManagerFactory.getCache().evict(User.class);
+        SqlRequestStats stats = SqlStatementTracker.track(() -> transactionTemplate.executeWithoutResult(status -> {
+            List<ForumThread> threads = threadRepository.findAll();
+            threads.forEach(thread -> thread.getCreator().getUsername());
+        }));
+
+        assertThat(stats.getStatements()).isEqualTo(7);
+        assertThat(stats.repeatedSelects(5)).singleElement()
+                .satisfies(repeated -> assertThat(repeated.count()).isEqualTo(6));
+    }
+
+    @Test
+    void shouldTreatInListsOfAnyLengthAsOneShape() {
+        assertThat(SqlRequestStats.normalize("select * from users where id in (?, ?,?)"))
+                .isEqualTo(SqlRequestStats.normalize("select *\n from users where id in (?)"));
+    }
+}
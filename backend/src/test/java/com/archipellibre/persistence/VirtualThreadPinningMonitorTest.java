@@ -0,0 +1,39 @@
+package com.archipellibre.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void shouldReportBlockingInsideSynchronized() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10), registry)) {
+            monitor.start();
+
+            // The stream starts asynchronously, so keep pinning until an event arrives
+            await().atMost(Duration.ofSeconds(10)).until(() -> {
+                Thread.ofVirtual().start(() -> {
+                    synchronized (lock) {
+                        sleep(50);
+                    }
+                }).join();
+                return registry.get("jvm.threads.virtual.pinned").timer().count() > 0;
+            });
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
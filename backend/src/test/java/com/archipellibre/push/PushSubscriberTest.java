@@ -0,0 +1,67 @@
+package com.archipellibre.push;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PushSubscriberTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final WebSocketSession session = mock(WebSocketSession.class);
+    private final PushSubscriber subscriber = new PushSubscriber(session, null, 2, tasks::add,
+            new SimpleMeterRegistry().counter("sent"));
+
+    @Test
+    void shouldKeepOnlyTheLatestPendingValuePerKey() throws Exception {
+        TextMessage post = new TextMessage("post");
+        TextMessage stale = new TextMessage("count 1");
+        TextMessage latest = new TextMessage("count 2");
+
+        assertThat(subscriber.offer("count", stale)).isEqualTo(PushSubscriber.Offer.QUEUED);
+        assertThat(subscriber.offer(null, post)).isEqualTo(PushSubscriber.Offer.QUEUED);
+        assertThat(subscriber.offer("count", latest)).isEqualTo(PushSubscriber.Offer.COALESCED);
+        runTasks();
+
+        InOrder order = inOrder(session);
+        order.verify(session).sendMessage(latest);
+        order.verify(session).sendMessage(post);
+        verify(session, never()).sendMessage(stale);
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void shouldReportOverflowOnceTheBufferIsFull() {
+        subscriber.offer(null, new TextMessage("1"));
+        subscriber.offer(null, new TextMessage("2"));
+
+        assertThat(subscriber.offer(null, new TextMessage("3"))).isEqualTo(PushSubscriber.Offer.OVERFLOW);
+    }
+
+    @Test
+    void shouldDropPendingMessagesAndCloseFromTheDrainTask() throws Exception {
+        subscriber.offer(null, new TextMessage("1"));
+        subscriber.close(CloseStatus.SERVICE_OVERLOAD);
+
+        assertThat(subscriber.offer(null, new TextMessage("2"))).isEqualTo(PushSubscriber.Offer.CLOSED);
+        runTasks();
+
+        verify(session, never()).sendMessage(any());
+        verify(session).close(CloseStatus.SERVICE_OVERLOAD);
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+}
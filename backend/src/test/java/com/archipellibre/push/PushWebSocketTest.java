@@ -0,0 +1,147 @@
+package com.archipellibre.push;
+
+import com.archipellibre.dto.ForumPostRequest;
+import com.archipellibre.model.ForumThread;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.ForumPostRepository;
+import com.archipellibre.repository.ForumThreadRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.security.JwtTokenProvider;
+import com.archipellibre.security.TokenRevocationList;
+import com.archipellibre.security.UserDetailsServiceImpl;
+import com.archipellibre.security.UserPrincipal;
+import com.archipellibre.service.ForumService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PushWebSocketTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ForumThreadRepository threadRepository;
+
+    @Autowired
+    private ForumPostRepository postRepository;
+
+    @Autowired
+    private ForumService forumService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private UserPrincipal principal;
+    private ForumThread thread;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .username("abonne")
+                .email("abonne@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+        principal = userDetailsService.toUserDetails(user);
+        thread = threadRepository.save(ForumThread.builder()
+                .title("Sujet suivi")
+                .content("Contenu")
+                .category("general")
+                .pinned(false)
+                .locked(false)
+                .creator(user)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        threadRepository.deleteAll();
+        userRepository.deleteAll();
+        tokenRevocationList.reset();
+    }
+
+    @Test
+    void shouldPushNewPostsAndThreadStateToSubscribers() throws Exception {
+        WebSocketSession session = connect("?access_token=" + tokenProvider.generateAccessToken(principal));
+        send(session, "{\"action\":\"subscribe\",\"topic\":\"thread:" + thread.getId() + "\"}");
+        // Commands are handled in order, so this reply means the subscription is in place
+        send(session, "{\"action\":\"subscribe\",\"topic\":\"nowhere\"}");
+        assertThat(next().get("type").asText()).isEqualTo("error");
+
+        forumService.createPost(thread.getId(), new ForumPostRequest("Bonjour"), principal);
+
+        JsonNode post = next();
+        assertThat(post.get("type").asText()).isEqualTo("post.created");
+        assertThat(post.get("topic").asText()).isEqualTo("thread:" + thread.getId());
+        assertThat(post.at("/data/content").asText()).isEqualTo("Bonjour");
+
+        thread.setLocked(true);
+        threadRepository.save(thread);
+
+        JsonNode state = next();
+        assertThat(state.get("type").asText()).isEqualTo("thread.state");
+        assertThat(state.at("/data/locked").asBoolean()).isTrue();
+        session.close();
+    }
+
+    @Test
+    void shouldRefuseHandshakesWithoutAToken() {
+        assertThatThrownBy(() -> connect("")).isInstanceOf(ExecutionException.class);
+    }
+
+    private WebSocketSession connect(String query) throws Exception {
+        return new StandardWebSocketClient().execute(new TextWebSocketHandler() {
+            @Override
+            protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                received.add(message.getPayload());
+            }
+        }, "ws://localhost:" + port + PushWebSocketHandler.PATH + query).get(5, TimeUnit.SECONDS);
+    }
+
+    private static void send(WebSocketSession session, String payload) throws Exception {
+        session.sendMessage(new TextMessage(payload));
+    }
+
+    private JsonNode next() throws Exception {
+        String payload = received.poll(5, TimeUnit.SECONDS);
+        assertThat(payload).as("pushed message").isNotNull();
+        return objectMapper.readTree(payload);
+    }
+}
@@ -0,0 +1,120 @@
+package com.archipellibre.recommend;
+
+import com.archipellibre.dto.EventRecommendation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoParticipationMatrixTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+
+    @Test
+    void shouldRankEventsSharingMoreParticipantsFirst() {
+        CoParticipationMatrix.EventInfo repair = event("Repair café", 1, true);
+        CoParticipationMatrix.EventInfo bikes = event("Bike workshop", 2, true);
+        CoParticipationMatrix.EventInfo garden = event("Garden day", 3, true);
+        CoParticipationMatrix matrix = CoParticipationMatrix.builder()
+                .event(repair).event(bikes).event(garden)
+                .participation(repair.id(), alice)
+                .participation(repair.id(), bob)
+                .participation(bikes.id(), bob)
+                .participation(repair.id(), carol)
+                .participation(garden.id(), carol)
+                .participation(bikes.id(), carol)
+                .build();
+
+        assertThat(matrix.shared(repair.id(), bikes.id())).isEqualTo(2);
+        assertThat(matrix.shared(bikes.id(), garden.id())).isEqualTo(1);
+        // bikes: 2 / sqrt(3 * 2), garden: 1 / sqrt(3 * 1); repair is already joined
+        assertThat(matrix.recommend(alice, NOW, 10))
+                .extracting(EventRecommendation::title)
+                .containsExactly("Bike workshop", "Garden day");
+    }
+
+    @Test
+    void shouldOnlySuggestOpenUpcomingEvents() {
+        CoParticipationMatrix.EventInfo joined = event("Joined", 1, true);
+        CoParticipationMatrix.EventInfo past = event("Past", -1, true);
+        CoParticipationMatrix.EventInfo cancelled = event("Cancelled", 2, false);
+        CoParticipationMatrix.EventInfo open = event("Open", 3, true);
+        CoParticipationMatrix matrix = CoParticipationMatrix.builder()
+                .event(joined).event(past).event(cancelled).event(open)
+                .build();
+        for (CoParticipationMatrix.EventInfo event : List.of(joined, past, cancelled, open)) {
+            matrix.join(bob, event.id());
+        }
+        matrix.join(alice, joined.id());
+
+        assertThat(matrix.recommend(alice, NOW, 10))
+                .extracting(EventRecommendation::title)
+                .containsExactly("Open");
+    }
+
+    @Test
+    void shouldFallBackToPopularityWithoutHistory() {
+        CoParticipationMatrix.EventInfo quiet = event("Quiet", 3, true);
+        CoParticipationMatrix.EventInfo busy = event("Busy", 2, true);
+        CoParticipationMatrix.EventInfo soon = event("Soon", 1, true);
+        CoParticipationMatrix matrix = CoParticipationMatrix.builder()
+                .event(quiet).event(busy).event(soon)
+                .participation(busy.id(), bob)
+                .participation(busy.id(), carol)
+                .build();
+
+        List<EventRecommendation> recommended = matrix.recommend(alice, NOW, 2);
+        assertThat(recommended).extracting(EventRecommendation::title).containsExactly("Busy", "Soon");
+        assertThat(recommended).extracting(EventRecommendation::score).containsOnly(0.0);
+    }
+
+    @Test
+    void incrementalJoinsShouldMatchAFullRebuild() {
+        Random random = new Random(7);
+        List<CoParticipationMatrix.EventInfo> events = new ArrayList<>();
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            events.add(event("Event " + i, i % 5 + 1, i % 7 != 0));
+        }
+        for (int i = 0; i < 60; i++) {
+            users.add(UUID.randomUUID());
+        }
+
+        // Same numbering on both sides, so scores are summed in the same order
+        CoParticipationMatrix incremental = CoParticipationMatrix.builder().build();
+        CoParticipationMatrix.Builder builder = CoParticipationMatrix.builder();
+        events.forEach(incremental::putEvent);
+        events.forEach(builder::event);
+        for (int i = 0; i < 500; i++) {
+            UUID user = users.get(random.nextInt(users.size()));
+            CoParticipationMatrix.EventInfo event = events.get(random.nextInt(events.size()));
+            if (incremental.join(user, event.id())) {
+                builder.participation(event.id(), user);
+            }
+        }
+        CoParticipationMatrix rebuilt = builder.build();
+
+        for (CoParticipationMatrix.EventInfo a : events) {
+            for (CoParticipationMatrix.EventInfo b : events) {
+                assertThat(incremental.shared(a.id(), b.id()))
+                        .isEqualTo(rebuilt.shared(a.id(), b.id()));
+            }
+        }
+        for (UUID user : users) {
+            assertThat(incremental.recommend(user, NOW, 5)).isEqualTo(rebuilt.recommend(user, NOW, 5));
+        }
+    }
+
+    private static CoParticipationMatrix.EventInfo event(String title, int daysAhead, boolean open) {
+        return new CoParticipationMatrix.EventInfo(UUID.randomUUID(), title, NOW.plusDays(daysAhead), open);
+    }
+}
@@ -0,0 +1,145 @@
+package com.archipellibre.recommend;
+
+import com.archipellibre.model.*;
+import com.archipellibre.outbox.OutboxDispatcher;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.security.JwtTokenProvider;
+import com.archipellibre.security.TokenRevocationList;
+import com.archipellibre.security.UserDetailsServiceImpl;
+import com.archipellibre.service.EventRegistrationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static com.archipellibre.support.SqlStatementMatchers.maxStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventRecommenderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecommendationRebuildService rebuildService;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    private User alice;
+    private User bob;
+    private Event repair;
+    private Event bikes;
+    private Event garden;
+
+    @BeforeEach
+    void setUp() {
+        alice = saveUser("alice");
+        bob = saveUser("bob");
+        repair = saveEvent("Repair café", 1, bob);
+        bikes = saveEvent("Bike workshop", 2, bob);
+        garden = saveEvent("Garden day", 3, bob);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+        tokenRevocationList.reset();
+        rebuildService.rebuild();
+    }
+
+    @Test
+    void shouldRecommendFromMemoryAndFollowNewJoins() throws Exception {
+        registrationService.join(repair.getId(), bob.getId());
+        registrationService.join(bikes.getId(), bob.getId());
+        rebuildService.rebuild();
+        String token = tokenProvider.generateAccessToken(userDetailsService.toUserDetails(alice));
+
+        // No history yet: the busiest upcoming events first
+        mockMvc.perform(get("/api/events/recommended").param("limit", "2")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Repair café"))
+                .andExpect(jsonPath("$[0].score").value(0.0))
+                .andExpect(maxStatements(0));
+
+        // Applied from the outbox, without a rebuild
+        registrationService.join(repair.getId(), alice.getId());
+        outboxDispatcher.poll();
+
+        mockMvc.perform(get("/api/events/recommended")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Bike workshop"))
+                .andExpect(jsonPath("$[0].participantCount").value(1))
+                .andExpect(jsonPath("$[1].title").value("Garden day"))
+                .andExpect(jsonPath("$[1].score").value(0.0))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(maxStatements(0));
+    }
+
+    @Test
+    void shouldRequireAMemberAndABoundedLimit() throws Exception {
+        mockMvc.perform(get("/api/events/recommended"))
+                .andExpect(status().isUnauthorized());
+
+        String token = tokenProvider.generateAccessToken(userDetailsService.toUserDetails(alice));
+        mockMvc.perform(get("/api/events/recommended").param("limit", "0")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private User saveUser(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+    }
+
+    private Event saveEvent(String title, int daysAhead, User organizer) {
+        return eventRepository.save(Event.builder()
+                .title(title)
+                .description(title + " au local associatif")
+                .startTime(LocalDateTime.now().plusDays(daysAhead))
+                .endTime(LocalDateTime.now().plusDays(daysAhead).plusHours(2))
+                .maxParticipants(0)
+                .status(EventStatus.SCHEDULED)
+                .organizer(organizer)
+                .build());
+    }
+}
@@ -0,0 +1,186 @@
+package com.archipellibre.search;
+
+import com.archipellibre.dto.ForumPostRequest;
+import com.archipellibre.dto.SearchHit;
+import com.archipellibre.dto.SearchResponse;
+import com.archipellibre.model.*;
+import com.archipellibre.outbox.OutboxDispatcher;
+import com.archipellibre.repository.*;
+import com.archipellibre.security.UserDetailsServiceImpl;
+import com.archipellibre.service.BadRequestException;
+import com.archipellibre.service.ForumService;
+import org.apache.lucene.search.IndexSearcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchIndexTest {
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private SearchReindexService reindexService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ForumThreadRepository threadRepository;
+
+    @Autowired
+    private ForumPostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ForumService forumService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    private User author;
+    private ForumThread thread;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder()
+                .username("chercheur")
+                .email("chercheur@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+        eventRepository.save(Event.builder()
+                .title("Café réparation")
+                .description("Venez réparer vos vélos et grille-pains avec les bénévoles.")
+                .startTime(LocalDateTime.now().plusDays(3))
+                .endTime(LocalDateTime.now().plusDays(3).plusHours(3))
+                .maxParticipants(0)
+                .status(EventStatus.SCHEDULED)
+                .organizer(author)
+                .build());
+        thread = threadRepository.save(ForumThread.builder()
+                .title("Bike workshop")
+                .content("Who is repairing bikes this weekend?")
+                .category("general")
+                .pinned(false)
+                .locked(false)
+                .creator(author)
+                .build());
+        forumService.createPost(thread.getId(),
+                new ForumPostRequest("J'apporte les outils pour les réparations de freins."),
+                userDetailsService.toUserDetails(author));
+        // New posts are indexed from the outbox
+        outboxDispatcher.poll();
+        searchIndex.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        threadRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+        searchIndex.refresh();
+    }
+
+    @Test
+    void shouldMatchFrenchAndEnglishStemsWithHighlights() {
+        SearchResponse french = searchIndex.search("réparations", null, 10);
+        assertThat(french.hits()).extracting(SearchHit::type)
+                .containsExactlyInAnyOrder(SearchType.EVENT, SearchType.POST);
+        SearchHit event = french.hits().stream().filter(hit -> hit.type() == SearchType.EVENT).findFirst().orElseThrow();
+        // Title matches rank above body-only matches
+        assertThat(french.hits().get(0).type()).isEqualTo(SearchType.EVENT);
+        assertThat(event.title()).isEqualTo("Café réparation");
+
+        SearchResponse english = searchIndex.search("repair bike", null, 10);
+        assertThat(english.hits()).singleElement().satisfies(hit -> {
+            assertThat(hit.type()).isEqualTo(SearchType.THREAD);
+            assertThat(hit.snippet()).contains("<mark>repairing</mark>").contains("<mark>bikes</mark>");
+        });
+
+        SearchResponse posts = searchIndex.search("freins", Set.of(SearchType.POST), 10);
+        assertThat(posts.hits()).singleElement().satisfies(hit -> {
+            assertThat(hit.parentId()).isEqualTo(thread.getId());
+            assertThat(hit.snippet()).contains("<mark>freins</mark>").contains("J&#x27;apporte");
+        });
+    }
+
+    @Test
+    void shouldDropPostsWithTheirThreadAndRestoreOnReindex() {
+        postRepository.deleteAll();
+        threadRepository.delete(thread);
+        searchIndex.refresh();
+        assertThat(searchIndex.search("freins", null, 10).hits()).isEmpty();
+
+        assertThat(reindexService.reindex().documents()).isEqualTo(1);
+        assertThat(searchIndex.search("vélos", null, 10).hits()).hasSize(1);
+    }
+
+    @Test
+    void shouldKeepWritesMadeDuringARebuild() {
+        UUID id = UUID.randomUUID();
+        SearchDocument stale = new SearchDocument(SearchType.WORKSHOP, id, null, "Atelier couture", "Ancienne version");
+        SearchDocument edited = new SearchDocument(SearchType.WORKSHOP, id, null, "Atelier tricot", "Nouvelle version");
+        Iterator<SearchDocument> streamed = new Iterator<>() {
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                return !done;
+            }
+
+            @Override
+            public SearchDocument next() {
+                // The edit commits after the row was read but before it is written
+                searchIndex.index(edited);
+                done = true;
+                return stale;
+            }
+        };
+
+        searchIndex.rebuild(streamed);
+
+        assertThat(searchIndex.search("couture", null, 10).hits()).isEmpty();
+        assertThat(searchIndex.search("tricot", null, 10).hits()).singleElement()
+                .satisfies(hit -> assertThat(hit.id()).isEqualTo(id));
+        searchIndex.delete(SearchType.WORKSHOP, id);
+    }
+
+    @Test
+    void shouldRejectQueriesWithTooManyClauses() {
+        int maxClauseCount = IndexSearcher.getMaxClauseCount();
+        IndexSearcher.setMaxClauseCount(4);
+        try {
+            assertThatThrownBy(() -> searchIndex.search("vélos freins", null, 10))
+                    .isInstanceOf(BadRequestException.class);
+        } finally {
+            IndexSearcher.setMaxClauseCount(maxClauseCount);
+        }
+    }
+
+    @Test
+    void shouldRejectEmptyQuery() {
+        assertThatThrownBy(() -> searchIndex.search("  ", null, 10)).isInstanceOf(BadRequestException.class);
+        assertThat(searchIndex.search("+ -", null, 10).hits()).isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package com.archipellibre.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginAttemptThrottleTest {
+
+    private final LoginAttemptThrottle throttle = new LoginAttemptThrottle(5, 20, 60_000);
+
+    @Test
+    void shouldNotLetAConcurrentBurstPastTheLimit() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        for (int i = 0; i < 50; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    throttle.acquire("alice", "203.0.113.7");
+                    admitted.incrementAndGet();
+                } catch (LoginThrottledException | InterruptedException ex) {
+                    // Refused
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(admitted).hasValue(5);
+    }
+
+    @Test
+    void shouldGiveBackAttemptsThatDidNotFail() {
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire("alice", "203.0.113.7");
+        }
+        throttle.acquire("alice", "203.0.113.7");
+        throttle.release("alice", "203.0.113.7");
+        throttle.acquire("alice", "203.0.113.7");
+        assertThatThrownBy(() -> throttle.acquire("alice", "203.0.113.7"))
+                .isInstanceOf(LoginThrottledException.class);
+
+        throttle.acquire("bob", "203.0.113.7");
+        throttle.recordSuccess("bob", "203.0.113.7");
+        assertThatCode(() -> throttle.acquire("bob", "203.0.113.7")).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,85 @@
+package com.archipellibre.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return User.withUsername(username).password("hash").roles("USER").build();
+    };
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        PrincipalCache cache = new PrincipalCache(10, 60000);
+
+        cache.get("alice", loader);
+        UserDetails cached = cache.get("alice", loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cached.getPassword()).isNull();
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReloadExpiredEntries() {
+        PrincipalCache cache = new PrincipalCache(10, 0);
+
+        cache.get("alice", loader);
+        cache.get("alice", loader);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().evictions()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictOldestEntriesWhenFull() {
+        PrincipalCache cache = new PrincipalCache(2, 60000);
+
+        cache.get("alice", loader);
+        cache.get("bob", loader);
+        cache.get("carol", loader);
+
+        assertThat(cache.stats().size()).isEqualTo(2);
+        cache.get("carol", loader);
+        assertThat(loads).hasValue(3);
+        cache.get("alice", loader);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void shouldDropEvictedSubjects() {
+        PrincipalCache cache = new PrincipalCache(10, 60000);
+
+        cache.get("alice", loader);
+        cache.evict("alice");
+        cache.get("alice", loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldPublishStatsAsMeters() {
+        PrincipalCache cache = new PrincipalCache(10, 60000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get("alice", loader);
+        cache.get("alice", loader);
+
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.size").tag("cache", "principals").gauge().value()).isEqualTo(1);
+    }
+}
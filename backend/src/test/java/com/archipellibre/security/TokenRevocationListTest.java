@@ -0,0 +1,37 @@
+package com.archipellibre.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+
+    private final TokenRevocationList list = new TokenRevocationList();
+
+    TokenRevocationListTest() {
+        ReflectionTestUtils.setField(list, "accessTokenExpirationMs", 900_000L);
+    }
+
+    @Test
+    void shouldRevokeATokenOnlyOnce() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+
+        assertThat(list.revoke("jti", expiresAt)).isTrue();
+        assertThat(list.revoke("jti", expiresAt)).isFalse();
+        assertThat(list.isTokenRevoked("jti", expiresAt)).isTrue();
+    }
+
+    @Test
+    void shouldAcceptTokensIssuedInTheSecondOfTheCutoff() {
+        list.revokeUser("alice");
+        // JWT iat is whole seconds
+        long now = System.currentTimeMillis();
+        Date issuedThisSecond = new Date(now - now % 1000);
+
+        assertThat(list.isUserRevoked("alice", issuedThisSecond)).isFalse();
+        assertThat(list.isUserRevoked("alice", new Date(issuedThisSecond.getTime() - 1000))).isTrue();
+    }
+}
@@ -0,0 +1,122 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.CalendarEventView;
+import com.archipellibre.dto.CalendarResponse;
+import com.archipellibre.model.Event;
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventCalendarServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 3, 4);
+
+    @Autowired
+    private EventCalendarService calendarService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User organizer;
+
+    @BeforeEach
+    void setUp() {
+        organizer = userRepository.save(User.builder()
+                .username("calendar")
+                .email("calendar@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+
+        // Started the day before the range and still running inside it
+        save("Chantier", MONDAY.minusDays(1).atTime(18, 0), MONDAY.atTime(10, 0));
+        for (int day = 0; day < 10; day++) {
+            save("Atelier " + day, MONDAY.plusDays(day).atTime(14, 0), MONDAY.plusDays(day).atTime(16, 0));
+        }
+        // Ends exactly where the range starts, so it does not overlap
+        save("Veille", MONDAY.minusDays(1).atTime(8, 0), MONDAY.atStartOfDay());
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldGroupOverlappingEventsByWeek() {
+        CalendarResponse response = calendarService.getCalendar(MONDAY, MONDAY.plusDays(14),
+                CalendarResponse.Granularity.WEEK, null, null);
+
+        assertThat(response.isTruncated()).isFalse();
+        assertThat(response.getBuckets()).extracting(CalendarResponse.Bucket::getStart)
+                .containsExactly(MONDAY, MONDAY.plusWeeks(1));
+        assertThat(response.getBuckets().get(0).getEvents()).hasSize(8)
+                .first().extracting(CalendarEventView::title).isEqualTo("Chantier");
+        assertThat(response.getBuckets().get(1).getEvents()).hasSize(3);
+    }
+
+    @Test
+    void shouldResumeFromContinuationTokenWithoutGapsOrDuplicates() {
+        List<String> titles = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            CalendarResponse page = calendarService.getCalendar(MONDAY, MONDAY.plusDays(14),
+                    CalendarResponse.Granularity.DAY, 4, token);
+            page.getBuckets().forEach(bucket -> bucket.getEvents().forEach(e -> titles.add(e.title())));
+            token = page.getContinuationToken();
+            pages++;
+        } while (token != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(titles).hasSize(11).doesNotHaveDuplicates().doesNotContain("Veille");
+    }
+
+    @Test
+    void shouldRejectInvalidRanges() {
+        assertThatThrownBy(() -> calendarService.getCalendar(MONDAY, MONDAY,
+                CalendarResponse.Granularity.DAY, null, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> calendarService.getCalendar(MONDAY, MONDAY.plusYears(2),
+                CalendarResponse.Granularity.MONTH, null, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> calendarService.getCalendar(MONDAY, MONDAY.plusDays(1),
+                CalendarResponse.Granularity.DAY, null, "not-a-token"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private void save(String title, LocalDateTime start, LocalDateTime end) {
+        eventRepository.save(Event.builder()
+                .title(title)
+                .description(title)
+                .startTime(start)
+                .endTime(end)
+                .maxParticipants(10)
+                .status(EventStatus.SCHEDULED)
+                .organizer(organizer)
+                .build());
+    }
+}
@@ -0,0 +1,161 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.EventRegistrationResponse;
+import com.archipellibre.model.Event;
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.EventWaitlistRepository;
+import com.archipellibre.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventRegistrationServiceTest {
+
+    private static final int CAPACITY = 5;
+    private static final int USERS = 20;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventWaitlistRepository waitlistRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Event event;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(User.builder()
+                    .username("joiner" + i)
+                    .email("joiner" + i + "@example.com")
+                    .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                    .role(UserRole.USER)
+                    .active(true)
+                    .build()));
+        }
+
+        event = eventRepository.save(Event.builder()
+                .title("Atelier vélo")
+                .description("Réparation collective")
+                .startTime(LocalDateTime.now().plusDays(1))
+                .endTime(LocalDateTime.now().plusDays(1).plusHours(2))
+                .maxParticipants(CAPACITY)
+                .status(EventStatus.SCHEDULED)
+                .organizer(users.get(0))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlistRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNeverOverbookUnderConcurrentJoins() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(USERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EventRegistrationResponse>> results = new ArrayList<>();
+        for (User user : users) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return registrationService.join(event.getId(), user.getId());
+            }));
+        }
+        start.countDown();
+
+        int registered = 0;
+        int waitlisted = 0;
+        for (Future<EventRegistrationResponse> result : results) {
+            switch (result.get(30, TimeUnit.SECONDS).getStatus()) {
+                case REGISTERED -> registered++;
+                case WAITLISTED -> waitlisted++;
+                default -> { }
+            }
+        }
+        pool.shutdown();
+
+        assertThat(registered).isEqualTo(CAPACITY);
+        assertThat(waitlisted).isEqualTo(USERS - CAPACITY);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getParticipantCount()).isEqualTo(CAPACITY);
+        assertThat(waitlistRepository.countByEventId(event.getId())).isEqualTo(USERS - CAPACITY);
+    }
+
+    @Test
+    void shouldPromoteWaitlistInFifoOrderOnLeave() {
+        for (int i = 0; i < CAPACITY + 2; i++) {
+            registrationService.join(event.getId(), users.get(i).getId());
+        }
+        EventRegistrationResponse queued = registrationService.status(event.getId(), users.get(CAPACITY + 1).getId());
+        assertThat(queued.getWaitlistPosition()).isEqualTo(2);
+
+        EventRegistrationResponse left = registrationService.leave(event.getId(), users.get(0).getId());
+
+        assertThat(left.getStatus()).isEqualTo(EventRegistrationResponse.Status.NOT_REGISTERED);
+        assertThat(left.getParticipantCount()).isEqualTo(CAPACITY);
+        assertThat(registrationService.status(event.getId(), users.get(CAPACITY).getId()).getStatus())
+                .isEqualTo(EventRegistrationResponse.Status.REGISTERED);
+        assertThat(registrationService.status(event.getId(), users.get(CAPACITY + 1).getId()).getWaitlistPosition())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldQueueAMemberOnceUnderConcurrentJoins() throws Exception {
+        for (int i = 0; i < CAPACITY; i++) {
+            registrationService.join(event.getId(), users.get(i).getId());
+        }
+        User late = users.get(CAPACITY);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EventRegistrationResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return registrationService.join(event.getId(), late.getId());
+            }));
+        }
+        start.countDown();
+
+        for (Future<EventRegistrationResponse> result : results) {
+            EventRegistrationResponse response = result.get(30, TimeUnit.SECONDS);
+            assertThat(response.getStatus()).isEqualTo(EventRegistrationResponse.Status.WAITLISTED);
+            assertThat(response.getWaitlistPosition()).isEqualTo(1);
+        }
+        pool.shutdown();
+        assertThat(waitlistRepository.countByEventId(event.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectJoiningCancelledEvent() {
+        event.setStatus(EventStatus.CANCELLED);
+        eventRepository.save(event);
+
+        assertThatThrownBy(() -> registrationService.join(event.getId(), users.get(1).getId()))
+                .isInstanceOf(ConflictException.class);
+    }
+}
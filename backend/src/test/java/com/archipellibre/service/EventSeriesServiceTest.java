@@ -0,0 +1,232 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.CalendarEventView;
+import com.archipellibre.dto.CalendarResponse;
+import com.archipellibre.dto.EventDetail;
+import com.archipellibre.dto.EventOccurrenceRequest;
+import com.archipellibre.dto.EventSeriesDetail;
+import com.archipellibre.dto.EventSeriesRequest;
+import com.archipellibre.model.Event;
+import com.archipellibre.model.EventStatus;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.EventRepository;
+import com.archipellibre.repository.EventSeriesRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.security.UserDetailsServiceImpl;
+import com.archipellibre.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventSeriesServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 3, 4);
+
+    @Autowired
+    private EventSeriesService seriesService;
+
+    @Autowired
+    private EventCalendarService calendarService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSeriesRepository seriesRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    private UserPrincipal organizer;
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        organizer = userDetailsService.toUserDetails(saveUser("organisatrice"));
+        member = saveUser("membre");
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+        seriesRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldExpandAYearOfOccurrencesFromOneRow() {
+        EventSeriesDetail series = create("Repair café", MONDAY.atTime(18, 0), "FREQ=WEEKLY;BYDAY=MO,TH");
+
+        CalendarResponse year = calendarService.getCalendar(MONDAY, MONDAY.plusYears(1),
+                CalendarResponse.Granularity.MONTH, null, null);
+
+        assertThat(events(year)).hasSize(105)
+                .allSatisfy(e -> {
+                    assertThat(e.id()).isNull();
+                    assertThat(e.seriesId()).isEqualTo(series.id());
+                    assertThat(e.startTime().getDayOfWeek().getValue()).isIn(1, 4);
+                });
+        assertThat(eventRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldShowChangedAndCancelledOccurrencesOnce() {
+        EventSeriesDetail series = create("Atelier vélo", MONDAY.atTime(18, 0), "FREQ=DAILY;COUNT=5");
+        EventOccurrenceRequest move = new EventOccurrenceRequest();
+        move.setStartTime(MONDAY.plusDays(1).atTime(20, 0));
+        move.setEndTime(MONDAY.plusDays(1).atTime(22, 0));
+        move.setLocation("Hangar");
+
+        EventDetail moved = seriesService.updateOccurrence(series.id(), MONDAY.plusDays(1).atTime(18, 0), move,
+                organizer);
+        seriesService.cancelOccurrence(series.id(), MONDAY.plusDays(2).atTime(18, 0), organizer);
+
+        List<CalendarEventView> week = events(calendarService.getCalendar(MONDAY, MONDAY.plusDays(7),
+                CalendarResponse.Granularity.WEEK, null, null));
+        assertThat(week).extracting(CalendarEventView::startTime).containsExactly(
+                MONDAY.atTime(18, 0), MONDAY.plusDays(1).atTime(20, 0),
+                MONDAY.plusDays(3).atTime(18, 0), MONDAY.plusDays(4).atTime(18, 0));
+        assertThat(week.get(1).id()).isEqualTo(moved.id());
+        assertThat(week.get(1).location()).isEqualTo("Hangar");
+        assertThat(week.get(1).occurrenceStart()).isEqualTo(MONDAY.plusDays(1).atTime(18, 0));
+
+        assertThatThrownBy(() -> seriesService.cancelOccurrence(series.id(), MONDAY.plusDays(2).atTime(18, 0),
+                organizer)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> seriesService.cancelOccurrence(series.id(), MONDAY.plusDays(3).atTime(18, 0),
+                userDetailsService.toUserDetails(member))).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void shouldGiveAnOccurrenceOneRowWhenJoined() {
+        EventSeriesDetail series = create("Jardin partagé", MONDAY.atTime(9, 0), "FREQ=WEEKLY");
+        LocalDateTime occurrence = MONDAY.plusWeeks(3).atTime(9, 0);
+
+        seriesService.joinOccurrence(series.id(), occurrence, member.getId());
+        seriesService.joinOccurrence(series.id(), occurrence, organizer.getId());
+
+        Event row = eventRepository.findBySeriesIdAndOccurrenceStart(series.id(), occurrence).orElseThrow();
+        assertThat(eventRepository.count()).isEqualTo(1);
+        assertThat(row.getParticipantCount()).isEqualTo(2);
+        assertThatThrownBy(() -> seriesService.joinOccurrence(series.id(), occurrence.plusDays(1), member.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void shouldPageThroughRowsAndOccurrencesWithoutGapsOrDuplicates() {
+        EventSeriesDetail series = create("Permanence", MONDAY.atTime(14, 0), "FREQ=DAILY;COUNT=10");
+        seriesService.joinOccurrence(series.id(), MONDAY.plusDays(4).atTime(14, 0), member.getId());
+        for (int day = 0; day < 10; day += 2) {
+            // Same start as the occurrence, so ties are broken by id across both kinds
+            eventRepository.save(Event.builder()
+                    .title("Atelier " + day)
+                    .description("Atelier")
+                    .startTime(MONDAY.plusDays(day).atTime(14, 0))
+                    .endTime(MONDAY.plusDays(day).atTime(16, 0))
+                    .maxParticipants(10)
+                    .status(EventStatus.SCHEDULED)
+                    .organizer(member)
+                    .build());
+        }
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        String token = null;
+        do {
+            CalendarResponse page = calendarService.getCalendar(MONDAY, MONDAY.plusDays(14),
+                    CalendarResponse.Granularity.DAY, 3, token);
+            events(page).forEach(e -> starts.add(e.startTime()));
+            token = page.getContinuationToken();
+        } while (token != null);
+
+        assertThat(starts).hasSize(15).isSorted();
+        assertThat(starts.stream().distinct()).hasSize(10);
+    }
+
+    @Test
+    void shouldChangeTheCalendarVersionWithTheSeries() {
+        EventSeriesDetail series = create("Repair café", MONDAY.atTime(18, 0), "FREQ=WEEKLY;COUNT=4");
+        ResourceVersion before = calendarService.calendarVersion(MONDAY, MONDAY.plusDays(7));
+
+        seriesService.cancelOccurrence(series.id(), MONDAY.atTime(18, 0), organizer);
+
+        assertThat(calendarService.calendarVersion(MONDAY, MONDAY.plusDays(7)).etag())
+                .isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void shouldRefuseSpansLongerThanTheCalendarLooksBack() {
+        // The calendar would miss such an occurrence in ranges after its 31st day
+        EventSeriesRequest tooLong = request("Exposition", MONDAY.atTime(10, 0), "FREQ=WEEKLY");
+        tooLong.setEndTime(MONDAY.plusDays(32).atTime(10, 0));
+        assertThatThrownBy(() -> seriesService.createSeries(tooLong, organizer))
+                .isInstanceOf(BadRequestException.class);
+
+        EventSeriesDetail series = create("Permanence", MONDAY.atTime(10, 0), "FREQ=WEEKLY");
+        EventOccurrenceRequest reversed = new EventOccurrenceRequest();
+        reversed.setEndTime(MONDAY.atTime(9, 0));
+        assertThatThrownBy(() -> seriesService.updateOccurrence(series.id(), MONDAY.atTime(10, 0), reversed,
+                organizer)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void shouldKeepLegacyLongOccurrencesEditable() {
+        EventSeriesDetail series = create("Exposition", MONDAY.atTime(10, 0), "FREQ=WEEKLY");
+        seriesService.joinOccurrence(series.id(), MONDAY.atTime(10, 0), member.getId());
+        Event row = eventRepository.findBySeriesIdAndOccurrenceStart(series.id(), MONDAY.atTime(10, 0)).orElseThrow();
+        row.setEndTime(MONDAY.plusDays(40).atTime(10, 0));
+        eventRepository.save(row);
+
+        EventOccurrenceRequest rename = new EventOccurrenceRequest();
+        rename.setTitle("Grande exposition");
+        EventDetail renamed = seriesService.updateOccurrence(series.id(), MONDAY.atTime(10, 0), rename, organizer);
+
+        assertThat(renamed.title()).isEqualTo("Grande exposition");
+        assertThat(renamed.endTime()).isEqualTo(MONDAY.plusDays(40).atTime(10, 0));
+    }
+
+    private EventSeriesDetail create(String title, LocalDateTime start, String recurrence) {
+        return seriesService.createSeries(request(title, start, recurrence), organizer);
+    }
+
+    private static EventSeriesRequest request(String title, LocalDateTime start, String recurrence) {
+        EventSeriesRequest request = new EventSeriesRequest();
+        request.setTitle(title);
+        request.setDescription(title);
+        request.setStartTime(start);
+        request.setEndTime(start.plusHours(2));
+        request.setMaxParticipants(10);
+        request.setRecurrence(recurrence);
+        return request;
+    }
+
+    private static List<CalendarEventView> events(CalendarResponse response) {
+        return response.getBuckets().stream().flatMap(bucket -> bucket.getEvents().stream()).toList();
+    }
+
+    private User saveUser(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+    }
+}
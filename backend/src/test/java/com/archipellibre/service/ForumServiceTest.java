@@ -0,0 +1,257 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.*;
+import com.archipellibre.model.ForumPost;
+import com.archipellibre.model.ForumThread;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.repository.ForumCategoryStatsRepository;
+import com.archipellibre.repository.ForumPostRepository;
+import com.archipellibre.repository.ForumThreadRepository;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.security.UserDetailsServiceImpl;
+import com.archipellibre.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ForumServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Autowired
+    private ForumService forumService;
+
+    @Autowired
+    private ForumThreadRepository threadRepository;
+
+    @Autowired
+    private ForumPostRepository postRepository;
+
+    @Autowired
+    private ForumCategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private ForumStatsService forumStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder()
+                .username("forumeur")
+                .email("forumeur@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        threadRepository.deleteAll();
+        categoryStatsRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldWalkThreadsByActivityWithoutGapsOrDuplicates() {
+        for (int i = 0; i < 7; i++) {
+            // Pairs of threads share a timestamp so the id tie-breaker is exercised
+            saveThread("Sujet " + i, BASE.plusMinutes(i / 2));
+        }
+
+        List<ForumThreadSummary> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ForumThreadSummary> page = forumService.listThreads(3, cursor);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            assertThat(page.hasMore()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(7).extracting(ForumThreadSummary::id).doesNotHaveDuplicates();
+        assertThat(seen).extracting(ForumThreadSummary::lastActivityAt)
+                .isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    @Test
+    void shouldPagePostsInChronologicalOrder() {
+        ForumThread thread = saveThread("Entraide", BASE);
+        for (int i = 0; i < 5; i++) {
+            postRepository.save(ForumPost.builder()
+                    .content("Réponse " + i)
+                    .author(author)
+                    .thread(thread)
+                    .edited(false)
+                    .build());
+        }
+
+        CursorPage<ForumPostView> first = forumService.listPosts(thread.getId(), 3, null);
+        CursorPage<ForumPostView> second = forumService.listPosts(thread.getId(), 3, first.nextCursor());
+
+        assertThat(first.items()).extracting(ForumPostView::content)
+                .containsExactly("Réponse 0", "Réponse 1", "Réponse 2");
+        assertThat(second.items()).extracting(ForumPostView::content)
+                .containsExactly("Réponse 3", "Réponse 4");
+        assertThat(second.hasMore()).isFalse();
+    }
+
+    @Test
+    void shouldRejectUnknownThreadAndBadCursor() {
+        assertThatThrownBy(() -> forumService.listPosts(UUID.randomUUID(), null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> forumService.listThreads(null, "%%%"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void shouldMaintainThreadAndCategoryStatsOnEachWrite() {
+        UserPrincipal principal = userDetailsService.toUserDetails(author);
+        User other = userRepository.save(User.builder()
+                .username("lecteur")
+                .email("lecteur@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                .role(UserRole.USER)
+                .active(true)
+                .build());
+        UserPrincipal otherPrincipal = userDetailsService.toUserDetails(other);
+
+        ForumThreadSummary thread = forumService.createThread(
+                new ForumThreadRequest("Jardin partagé", "Qui arrose ?", "jardin"), principal);
+        ForumPostView first = forumService.createPost(thread.id(), new ForumPostRequest("Moi lundi"), principal);
+        ForumPostView last = forumService.createPost(thread.id(), new ForumPostRequest("Moi mardi"), otherPrincipal);
+
+        ForumThreadSummary listed = forumService.listThreads(null, null).items().get(0);
+        assertThat(listed.postCount()).isEqualTo(2);
+        assertThat(listed.lastPostAuthor()).isEqualTo("lecteur");
+        assertThat(listed.lastActivityAt()).isEqualTo(last.createdAt());
+
+        forumService.deletePost(last.id(), otherPrincipal);
+
+        ForumCategorySummary category = jardin();
+        assertThat(category.threadCount()).isEqualTo(1);
+        assertThat(category.postCount()).isEqualTo(1);
+        assertThat(category.lastPostAuthor()).isEqualTo("forumeur");
+        assertThat(category.lastActivityAt()).isEqualTo(first.createdAt());
+        listed = forumService.listThreads(null, null).items().get(0);
+        assertThat(listed.lastPostAuthor()).isEqualTo("forumeur");
+        assertThat(listed.lastActivityAt()).isEqualTo(first.createdAt());
+
+        forumService.deletePost(first.id(), principal);
+
+        listed = forumService.listThreads(null, null).items().get(0);
+        assertThat(listed.postCount()).isZero();
+        assertThat(listed.lastPostAuthor()).isNull();
+        assertThat(listed.lastActivityAt()).isEqualTo(listed.createdAt());
+        assertThat(jardin().lastActivityAt()).isEqualTo(listed.createdAt());
+    }
+
+    @Test
+    void shouldRewindCategoryActivityWhenTheLatestThreadIsDeleted() {
+        UserPrincipal principal = userDetailsService.toUserDetails(author);
+        forumService.createThread(new ForumThreadRequest("Ancien", "Contenu", "potager"), principal);
+        ForumThreadSummary older = forumService.listThreads(null, null).items().get(0);
+        ForumThreadSummary latest = forumService.createThread(
+                new ForumThreadRequest("Récent", "Contenu", "potager"), principal);
+
+        forumService.deleteThread(latest.id(), principal);
+
+        assertThat(forumService.listCategories()).filteredOn(c -> c.category().equals("potager"))
+                .singleElement().satisfies(c -> {
+            assertThat(c.threadCount()).isEqualTo(1L);
+            assertThat(c.lastActivityAt()).isEqualTo(older.lastActivityAt());
+        });
+    }
+
+    @Test
+    void shouldCreateCategoryStatsOnceUnderConcurrentThreads() throws Exception {
+        UserPrincipal principal = userDetailsService.toUserDetails(author);
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ForumThreadSummary>> created = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                ForumThreadRequest request = new ForumThreadRequest("Fil " + i, "Contenu", "nouveau");
+                created.add(executor.submit(() -> {
+                    start.await();
+                    return forumService.createThread(request, principal);
+                }));
+            }
+            start.countDown();
+            for (Future<ForumThreadSummary> thread : created) {
+                thread.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(forumService.listCategories()).filteredOn(c -> c.category().equals("nouveau"))
+                .singleElement().satisfies(c -> assertThat(c.threadCount()).isEqualTo((long) writers));
+    }
+
+    @Test
+    void shouldRebuildDriftedStats() {
+        ForumThread thread = saveThread("Réparation", BASE);
+        postRepository.save(ForumPost.builder()
+                .content("Posté sans passer par le service")
+                .author(author)
+                .thread(thread)
+                .edited(false)
+                .build());
+
+        ForumStatsService.RebuildReport report = forumStatsService.rebuild();
+
+        assertThat(report.threads()).isEqualTo(1);
+        assertThat(report.categories()).isEqualTo(1);
+        ForumThreadSummary listed = forumService.listThreads(null, null).items().get(0);
+        assertThat(listed.postCount()).isEqualTo(1);
+        assertThat(listed.lastPostAuthor()).isEqualTo("forumeur");
+        assertThat(forumService.listCategories()).singleElement()
+                .satisfies(c -> assertThat(c.postCount()).isEqualTo(1L));
+    }
+
+    private ForumCategorySummary jardin() {
+        return forumService.listCategories().stream()
+                .filter(c -> c.category().equals("jardin"))
+                .findFirst().orElseThrow();
+    }
+
+    private ForumThread saveThread(String title, LocalDateTime lastActivityAt) {
+        return threadRepository.save(ForumThread.builder()
+                .title(title)
+                .content("Contenu de " + title)
+                .category("general")
+                .pinned(false)
+                .locked(false)
+                .creator(author)
+                .lastActivityAt(lastActivityAt)
+                .build());
+    }
+}
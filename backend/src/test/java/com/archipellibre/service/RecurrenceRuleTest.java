@@ -0,0 +1,72 @@
+package com.archipellibre.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+    // A Tuesday
+    private static final LocalDateTime FIRST = LocalDateTime.of(2030, 1, 1, 18, 30);
+
+    @Test
+    void shouldExpandWeeklyRulesOnTheirDays() {
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:FREQ=WEEKLY;BYDAY=TU,TH;COUNT=5");
+
+        assertThat(rule.toString()).isEqualTo("FREQ=WEEKLY;BYDAY=TU,TH;COUNT=5");
+        assertThat(rule.lastStart(FIRST)).isEqualTo(FIRST.plusDays(14));
+        assertThat(rule.between(FIRST, rule.lastStart(FIRST), FIRST.minusDays(1), FIRST.plusYears(1)))
+                .containsExactly(FIRST, FIRST.plusDays(2), FIRST.plusDays(7), FIRST.plusDays(9), FIRST.plusDays(14));
+    }
+
+    @Test
+    void shouldJumpStraightToALateRange() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,SA");
+        LocalDateTime from = FIRST.plusYears(40);
+
+        assertThat(rule.lastStart(FIRST)).isNull();
+        assertThat(rule.between(FIRST, null, from, from.plusWeeks(4)))
+                .hasSize(4)
+                .allSatisfy(start -> {
+                    assertThat(start.getDayOfWeek()).isIn(DayOfWeek.TUESDAY, DayOfWeek.SATURDAY);
+                    assertThat(start.toLocalTime()).isEqualTo(FIRST.toLocalTime());
+                    assertThat(rule.includes(FIRST, null, start)).isTrue();
+                });
+        assertThat(rule.includes(FIRST, null, from.withHour(9))).isFalse();
+    }
+
+    @Test
+    void shouldSkipMonthsTooShortForTheDay() {
+        LocalDateTime first = LocalDateTime.of(2030, 1, 31, 10, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;UNTIL=20300731");
+
+        assertThat(rule.between(first, rule.lastStart(first), first, first.plusYears(1)))
+                .extracting(LocalDateTime::getMonthValue)
+                .containsExactly(1, 3, 5, 7);
+        assertThat(rule.lastStart(first)).isEqualTo(LocalDateTime.of(2030, 7, 31, 10, 0));
+    }
+
+    @Test
+    void shouldStopAtUntil() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3;UNTIL=20300110T120000Z");
+
+        assertThat(rule.toString()).isEqualTo("FREQ=DAILY;INTERVAL=3;UNTIL=20300110T120000Z");
+        assertThat(rule.lastStart(FIRST.withHour(8).withMinute(0))).isEqualTo(LocalDateTime.of(2030, 1, 10, 8, 0));
+        assertThat(rule.lastStart(FIRST)).isEqualTo(LocalDateTime.of(2030, 1, 7, 18, 30));
+    }
+
+    @Test
+    void shouldRejectUnsupportedRules() {
+        for (String text : new String[]{"", "BYDAY=MO", "FREQ=YEARLY", "FREQ=DAILY;BYDAY=MO",
+                "FREQ=WEEKLY;COUNT=2;UNTIL=20301231", "FREQ=WEEKLY;INTERVAL=0", "FREQ=WEEKLY;BYMONTHDAY=1",
+                "FREQ=WEEKLY;UNTIL=2030"}) {
+            assertThatThrownBy(() -> RecurrenceRule.parse(text)).as(text).isInstanceOf(BadRequestException.class);
+        }
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO").checkFirstStart(FIRST))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,187 @@
+package com.archipellibre.service;
+
+import com.archipellibre.dto.WorkshopRanking;
+import com.archipellibre.model.ProposalStatus;
+import com.archipellibre.model.User;
+import com.archipellibre.model.UserRole;
+import com.archipellibre.model.WorkshopProposal;
+import com.archipellibre.repository.UserRepository;
+import com.archipellibre.repository.WorkshopProposalRepository;
+import com.archipellibre.repository.WorkshopVoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WorkshopVoteServiceTest {
+
+    private static final int VOTERS = 16;
+
+    @Autowired
+    private WorkshopVoteService voteService;
+
+    @Autowired
+    private WorkshopProposalRepository proposalRepository;
+
+    @Autowired
+    private WorkshopVoteRepository voteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<User> voters;
+    private WorkshopProposal compost;
+    private WorkshopProposal soudure;
+
+    @BeforeEach
+    void setUp() {
+        voters = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            voters.add(userRepository.save(User.builder()
+                    .username("votant" + i)
+                    .email("votant" + i + "@example.com")
+                    .passwordHash("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz01234")
+                    .role(UserRole.USER)
+                    .active(true)
+                    .build()));
+        }
+        compost = saveProposal("Compostage");
+        soudure = saveProposal("Soudure");
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteService.flush();
+        voteRepository.deleteAll();
+        proposalRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCountEachMemberOnceUnderConcurrentVotes() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (User voter : voters) {
+                // Every member votes twice; the ledger keeps a single row
+                for (int attempt = 0; attempt < 2; attempt++) {
+                    futures.add(pool.submit(() -> {
+                        try {
+                            voteService.vote(compost.getId(), voter.getId());
+                        } catch (ConflictException ignored) {
+                            // Lost the race against the member's own concurrent vote
+                        }
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        voteService.flush();
+
+        assertThat(voteRepository.count()).isEqualTo(VOTERS);
+        assertThat(storedUpvotes(compost)).isEqualTo(VOTERS);
+        assertThat(voteService.leaderboard(ProposalStatus.PENDING, 10))
+                .extracting(WorkshopRanking::title, WorkshopRanking::votes)
+                .containsExactly(
+                        tuple("Compostage", VOTERS),
+                        tuple("Soudure", 0));
+    }
+
+    @Test
+    void shouldReorderAndMoveBoardsIncrementally() {
+        voteService.vote(soudure.getId(), voters.get(0).getId());
+        voteService.vote(soudure.getId(), voters.get(1).getId());
+        voteService.vote(compost.getId(), voters.get(2).getId());
+        assertThat(voteService.leaderboard(ProposalStatus.PENDING, 1))
+                .extracting(WorkshopRanking::title).containsExactly("Soudure");
+
+        voteService.unvote(soudure.getId(), voters.get(0).getId());
+        voteService.unvote(soudure.getId(), voters.get(1).getId());
+        assertThat(voteService.leaderboard(ProposalStatus.PENDING, 1))
+                .extracting(WorkshopRanking::title).containsExactly("Compostage");
+
+        WorkshopProposal approved = proposalRepository.findById(compost.getId()).orElseThrow();
+        approved.setStatus(ProposalStatus.APPROVED);
+        proposalRepository.save(approved);
+
+        assertThat(voteService.leaderboard(ProposalStatus.APPROVED, 10))
+                .extracting(WorkshopRanking::title, WorkshopRanking::votes)
+                .containsExactly(tuple("Compostage", 1));
+        assertThat(voteService.leaderboard(ProposalStatus.PENDING, 10))
+                .extracting(WorkshopRanking::title).containsExactly("Soudure");
+    }
+
+    @Test
+    void shouldKeepPreLedgerVotesWhenRecounting() {
+        // Votes cast before the ledger existed only live in the baseline
+        jdbcTemplate.update("UPDATE workshop_proposals SET upvotes = 3, legacy_upvotes = 3 WHERE id = ?",
+                soudure.getId());
+        voteService.loadLeaderboard();
+
+        voteService.vote(soudure.getId(), voters.get(0).getId());
+        voteService.flush();
+        assertThat(storedUpvotes(soudure)).isEqualTo(4);
+
+        voteService.reconcile();
+        assertThat(storedUpvotes(soudure)).isEqualTo(4);
+        assertThat(voteService.leaderboard(ProposalStatus.PENDING, 1))
+                .extracting(WorkshopRanking::votes).containsExactly(4);
+    }
+
+    @Test
+    void shouldRepairLostFlushesIdempotently() {
+        for (int i = 0; i < 5; i++) {
+            voteService.vote(soudure.getId(), voters.get(i).getId());
+        }
+        voteService.flush();
+        // Simulate a crash before the next flush: the stored tally is stale
+        jdbcTemplate.update("UPDATE workshop_proposals SET upvotes = 42 WHERE id = ?", soudure.getId());
+
+        voteService.vote(soudure.getId(), voters.get(5).getId());
+        voteService.flush();
+        voteService.flush();
+        assertThat(storedUpvotes(soudure)).isEqualTo(6);
+
+        jdbcTemplate.update("UPDATE workshop_proposals SET upvotes = 42 WHERE id = ?", soudure.getId());
+        voteService.reconcile();
+
+        assertThat(storedUpvotes(soudure)).isEqualTo(6);
+        assertThat(voteService.leaderboard(ProposalStatus.PENDING, 1))
+                .extracting(WorkshopRanking::votes).containsExactly(6);
+    }
+
+    private int storedUpvotes(WorkshopProposal proposal) {
+        return jdbcTemplate.queryForObject("SELECT upvotes FROM workshop_proposals WHERE id = ?",
+                Integer.class, proposal.getId());
+    }
+
+    private WorkshopProposal saveProposal(String title) {
+        return proposalRepository.save(WorkshopProposal.builder()
+                .title(title)
+                .description("Atelier " + title)
+                .objectives("Apprendre ensemble")
+                .status(ProposalStatus.PENDING)
+                .upvotes(0)
+                .proposer(voters.get(0))
+                .build());
+    }
+}
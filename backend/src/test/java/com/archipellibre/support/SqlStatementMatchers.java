@@ -0,0 +1,36 @@
+package com.archipellibre.support;
+
+import com.archipellibre.persistence.SqlRequestStats;
+import com.archipellibre.persistence.SqlStatementsFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers over the SQL recorded by {@link SqlStatementsFilter}, e.g.
+ * {@code mockMvc.perform(get("/api/forum/threads")).andExpect(maxStatements(1))}.
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    public static ResultMatcher maxStatements(int max) {
+        return result -> assertThat(stats(result).getStatements())
+                .as("SQL statements for %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static ResultMatcher noRepeatedSelects(int threshold) {
+        return result -> assertThat(stats(result).repeatedSelects(threshold))
+                .as("SELECTs repeated %d+ times for %s", threshold, result.getRequest().getRequestURI())
+                .isEmpty();
+    }
+
+    private static SqlRequestStats stats(MvcResult result) {
+        SqlRequestStats stats = (SqlRequestStats) result.getRequest().getAttribute(SqlStatementsFilter.STATS_ATTRIBUTE);
+        assertThat(stats).as("SqlStatementsFilter did not run; is MockMvc built with filters?").isNotNull();
+        return stats;
+    }
+}